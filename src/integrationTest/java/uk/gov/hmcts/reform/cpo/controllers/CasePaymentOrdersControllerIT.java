@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.cpo.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hibernate.envers.RevisionType;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
@@ -21,9 +23,11 @@ import uk.gov.hmcts.reform.cpo.auditlog.AuditOperationType;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderAuditRevision;
 import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrderRequest;
+import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrdersRequest;
 import uk.gov.hmcts.reform.cpo.payload.UpdateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersAuditJpaRepository;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersJpaRepository;
+import uk.gov.hmcts.reform.cpo.security.IdamRepository;
 import uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderAuditUtils;
 import uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderEntityGenerator;
 import uk.gov.hmcts.reform.cpo.utils.UIDService;
@@ -32,6 +36,7 @@ import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -49,6 +54,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -57,8 +65,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.BULK_CASE_PAYMENT_ORDERS_PATH;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_ID;
 import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_IDS;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDERS_HISTORY_PATH;
 import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDER_HISTORY_PATH;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CURSOR;
 import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.IDS;
 
 class CasePaymentOrdersControllerIT extends BaseTest {
@@ -84,6 +97,9 @@ class CasePaymentOrdersControllerIT extends BaseTest {
     @Autowired
     private UIDService uidService;
 
+    @MockitoSpyBean
+    private IdamRepository idamRepository;
+
     @BeforeEach
     @Transactional
     public void setUp() {
@@ -160,6 +176,20 @@ class CasePaymentOrdersControllerIT extends BaseTest {
                                  createCasePaymentOrderRequest.getCaseId());
         }
 
+        @DisplayName("Looks up the user info only once per request")
+        @Test
+        void shouldLookUpUserInfoOncePerRequest() throws Exception {
+            mockMvc.perform(post(CASE_PAYMENT_ORDERS_PATH)
+                                .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(createCasePaymentOrderRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created_by", is(IDAM_MOCK_USER_ID)));
+
+            // NB: only while authenticating, the service and log audit then read it from the security context
+            verify(idamRepository, times(1)).getUserInfo(anyString());
+        }
+
         @DisplayName("Null request fields throws errors")
         @Test
         void shouldThrowNotNullErrors() throws Exception {
@@ -215,6 +245,7 @@ class CasePaymentOrdersControllerIT extends BaseTest {
                                                                               ACTION,
                                                                               RESPONSIBLE_PARTY,
                                                                               savedEntity.getOrderReference());
+            long auditEntriesBefore = casePaymentOrdersAuditJpaRepository.count();
 
             mockMvc.perform(post(CASE_PAYMENT_ORDERS_PATH)
                                 .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
@@ -227,6 +258,9 @@ class CasePaymentOrdersControllerIT extends BaseTest {
                                                 AUTHORISED_CRUD_SERVICE,
                                                 null,
                                                 createCasePaymentOrderRequest.getCaseId()));
+
+            // conflict is detected without inserting, so no envers revision is recorded for it
+            assertEquals(auditEntriesBefore, casePaymentOrdersAuditJpaRepository.count());
         }
 
         private void verifyDbCpoValues(UUID id,
@@ -267,6 +301,103 @@ class CasePaymentOrdersControllerIT extends BaseTest {
     }
 
 
+    @Nested
+    @DisplayName("POST /case-payment-orders/bulk")
+    class CreateCasePaymentOrders {
+
+        @DisplayName("Successfully create case payment orders and report conflicting order references per item")
+        @Test
+        void shouldCreateCasePaymentOrdersAndReportConflicts() throws Exception {
+
+            // GIVEN
+            CasePaymentOrderEntity existingEntity =
+                casePaymentOrderEntityGenerator.generateAndSaveEntities(1).get(0);
+            String existingCaseId = existingEntity.getCaseId().toString();
+            String newCaseId = uidService.generateUID();
+
+            CreateCasePaymentOrdersRequest request = new CreateCasePaymentOrdersRequest(List.of(
+                new CreateCasePaymentOrderRequest(existingCaseId, ACTION, RESPONSIBLE_PARTY,
+                                                  existingEntity.getOrderReference()),
+                new CreateCasePaymentOrderRequest(existingCaseId, ACTION, RESPONSIBLE_PARTY, ORDER_REFERENCE_VALID),
+                new CreateCasePaymentOrderRequest(newCaseId, ACTION, RESPONSIBLE_PARTY, ORDER_REFERENCE_VALID),
+                new CreateCasePaymentOrderRequest(newCaseId, ACTION, RESPONSIBLE_PARTY, ORDER_REFERENCE_VALID)
+            ));
+
+            // WHEN
+            MvcResult result = mockMvc.perform(post(BULK_CASE_PAYMENT_ORDERS_PATH)
+                                                   .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
+                                                   .contentType(MediaType.APPLICATION_JSON)
+                                                   .content(objectMapper.writeValueAsString(request)))
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].status", is("CONFLICT")))
+                .andExpect(jsonPath("$[0].error", is(ValidationError.CASE_ID_ORDER_REFERENCE_UNIQUE)))
+                .andExpect(jsonPath("$[1].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].case_payment_order.case_id", is(Long.valueOf(existingCaseId))))
+                .andExpect(jsonPath("$[1].case_payment_order.created_by", is(IDAM_MOCK_USER_ID)))
+                .andExpect(jsonPath("$[2].status", is("CREATED")))
+                .andExpect(jsonPath("$[2].case_payment_order.case_id", is(Long.valueOf(newCaseId))))
+                .andExpect(jsonPath("$[3].status", is("CONFLICT")))
+                .andReturn();
+
+            JsonNode results = objectMapper.readTree(result.getResponse().getContentAsString());
+            UUID firstId = UUID.fromString(results.get(1).get("case_payment_order").get("id").asText());
+            UUID secondId = UUID.fromString(results.get(2).get("case_payment_order").get("id").asText());
+
+            assertEquals(3, casePaymentOrdersJpaRepository.count());
+
+            List<CasePaymentOrderAuditRevision> firstRevisions = auditUtils.getAuditRevisions(firstId);
+            List<CasePaymentOrderAuditRevision> secondRevisions = auditUtils.getAuditRevisions(secondId);
+            assertEquals(1, firstRevisions.size());
+            assertEquals(1, secondRevisions.size());
+            assertEquals(firstRevisions.get(0).getRevisionEntity().getId(),
+                         secondRevisions.get(0).getRevisionEntity().getId());
+
+            verifyLogAuditValues(result,
+                                 AuditOperationType.CREATE_CASE_PAYMENT_ORDER,
+                                 AUTHORISED_CRUD_SERVICE,
+                                 List.of(firstId.toString(), secondId.toString()),
+                                 List.of(existingCaseId, existingCaseId, newCaseId, newCaseId));
+        }
+
+        @DisplayName("Should fail with 400 Bad Request when any item is invalid and create nothing")
+        @Test
+        void shouldThrow400BadRequestWhenAnyItemIsInvalid() throws Exception {
+
+            // GIVEN
+            CreateCasePaymentOrdersRequest request = new CreateCasePaymentOrdersRequest(List.of(
+                new CreateCasePaymentOrderRequest(uidService.generateUID(), ACTION, RESPONSIBLE_PARTY,
+                                                  ORDER_REFERENCE_VALID),
+                new CreateCasePaymentOrderRequest(CASE_ID_INVALID, ACTION, RESPONSIBLE_PARTY, ORDER_REFERENCE_VALID)
+            ));
+
+            // WHEN
+            mockMvc.perform(post(BULK_CASE_PAYMENT_ORDERS_PATH)
+                                .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                // THEN
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath(ERROR_PATH_MESSAGE, is(ValidationError.ARGUMENT_NOT_VALID)))
+                .andExpect(jsonPath(ERROR_PATH_DETAILS, hasItem(ValidationError.CASE_ID_INVALID)));
+
+            assertEquals(0, casePaymentOrdersJpaRepository.count());
+        }
+
+        @DisplayName("Should fail with 400 Bad Request when no case payment orders are supplied")
+        @Test
+        void shouldThrow400BadRequestWhenNoCasePaymentOrdersSupplied() throws Exception {
+            mockMvc.perform(post(BULK_CASE_PAYMENT_ORDERS_PATH)
+                                .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                    new CreateCasePaymentOrdersRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath(ERROR_PATH_DETAILS, hasItem(ValidationError.CPOS_REQUIRED)));
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /case-payment-orders?ids=")
     class DeleteCasePaymentOrdersByIds {
@@ -826,6 +957,192 @@ class CasePaymentOrdersControllerIT extends BaseTest {
     }
 
 
+    @Nested
+    @DisplayName("GET /case-payment-orders?case_ids=&cursor=")
+    class GetCasePaymentOrdersByCursor {
+
+        @DisplayName("Successfully walk all case payment orders for a case id using next_cursor")
+        @Test
+        void shouldWalkAllPagesUsingNextCursor() throws Exception {
+
+            // GIVEN
+            List<CasePaymentOrderEntity> savedEntities =
+                casePaymentOrderEntityGenerator.generateAndSaveEntitiesWithSameCaseId(5);
+            String caseId = savedEntities.get(0).getCaseId().toString();
+
+            List<String> expectedIds = savedEntities.stream()
+                .sorted(Comparator.comparing(CasePaymentOrderEntity::getOrderReference))
+                .map(entity -> entity.getId().toString())
+                .collect(Collectors.toList());
+
+            // WHEN
+            List<String> actualIds = new ArrayList<>();
+            String cursor = "";
+            int pages = 0;
+            do {
+                MvcResult result = mockMvc.perform(get(CASE_PAYMENT_ORDERS_PATH)
+                                                       .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                                                       .queryParam(CASE_IDS, caseId)
+                                                       .queryParam(CURSOR, cursor)
+                                                       .queryParam("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+                JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+                page.get("content").forEach(cpo -> actualIds.add(cpo.get("id").asText()));
+                JsonNode nextCursor = page.path("next_cursor");
+                cursor = nextCursor.isTextual() ? nextCursor.asText() : null;
+                pages++;
+            } while (cursor != null);
+
+            // THEN
+            assertEquals(3, pages);
+            assertEquals(expectedIds, actualIds);
+        }
+
+        @DisplayName("Should fail with 400 Bad Request when the cursor cannot be decoded")
+        @Test
+        void shouldThrow400BadRequestWhenCursorIsInvalid() throws Exception {
+
+            // GIVEN
+            CasePaymentOrderEntity savedEntity =
+                casePaymentOrderEntityGenerator.generateAndSaveEntities(1).get(0);
+
+            // WHEN
+            mockMvc.perform(get(CASE_PAYMENT_ORDERS_PATH)
+                                .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                                .queryParam(CASE_IDS, savedEntity.getCaseId().toString())
+                                .queryParam(CURSOR, "not a cursor"))
+                // THEN
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath(ERROR_PATH_MESSAGE, is(ValidationError.CPO_CURSOR_INVALID)));
+        }
+
+        @DisplayName("Should fail with 404 Not Found if any of the specified CaseIds cannot be found in database")
+        @Test
+        void shouldThrow404NotFoundWhenCaseIdSpecifiedNotFound() throws Exception {
+
+            // GIVEN
+            String caseId = uidService.generateUID();
+
+            // WHEN
+            mockMvc.perform(get(CASE_PAYMENT_ORDERS_PATH)
+                                .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                                .queryParam(CASE_IDS, caseId)
+                                .queryParam(CURSOR, ""))
+                // THEN
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath(ERROR_PATH_MESSAGE, is(ValidationError.CPOS_NOT_FOUND + caseId)));
+        }
+    }
+
+
+    @Nested
+    @DisplayName("GET /case-payment-orders/{id}/history and /case-payment-orders/history?case_id=")
+    class GetCasePaymentOrderHistory {
+
+        @DisplayName("Successfully get the history of a case payment order with only the changed fields")
+        @Test
+        void shouldGetHistoryWithOnlyChangedFields() throws Exception {
+
+            // GIVEN
+            CasePaymentOrderEntity originalEntity =
+                casePaymentOrderEntityGenerator.generateAndSaveEntities(1).get(0);
+            UpdateCasePaymentOrderRequest request = new UpdateCasePaymentOrderRequest(
+                originalEntity.getId().toString(),
+                originalEntity.getCaseId().toString(),
+                "updated action",
+                originalEntity.getResponsibleParty(),
+                originalEntity.getOrderReference()
+            );
+            mockMvc.perform(put(CASE_PAYMENT_ORDERS_PATH)
+                                .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted());
+
+            // WHEN
+            mockMvc.perform(get(CASE_PAYMENT_ORDER_HISTORY_PATH, originalEntity.getId())
+                                .headers(createHttpHeaders(AUTHORISED_READ_SERVICE)))
+                // THEN
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist())
+                .andExpect(jsonPath("$.content[0].revision_type", is(RevisionType.ADD.name())))
+                .andExpect(jsonPath("$.content[0].changes.order_reference", is(originalEntity.getOrderReference())))
+                .andExpect(jsonPath("$.content[1].id", is(originalEntity.getId().toString())))
+                .andExpect(jsonPath("$.content[1].case_id", is(originalEntity.getCaseId())))
+                .andExpect(jsonPath("$.content[1].revision_type", is(RevisionType.MOD.name())))
+                .andExpect(jsonPath("$.content[1].changes.action", is("updated action")))
+                .andExpect(jsonPath("$.content[1].changes.case_id").doesNotExist())
+                .andExpect(jsonPath("$.content[1].changes.responsible_party").doesNotExist())
+                .andExpect(jsonPath("$.content[1].changes.order_reference").doesNotExist());
+        }
+
+        @DisplayName("Successfully walk the history of all case payment orders for a case id using next_cursor")
+        @Test
+        void shouldWalkCaseHistoryUsingNextCursor() throws Exception {
+
+            // GIVEN
+            List<CasePaymentOrderEntity> savedEntities =
+                casePaymentOrderEntityGenerator.generateAndSaveEntitiesWithSameCaseId(5);
+            String caseId = savedEntities.get(0).getCaseId().toString();
+
+            // WHEN
+            List<String> actualIds = new ArrayList<>();
+            String cursor = "";
+            int pages = 0;
+            do {
+                MvcResult result = mockMvc.perform(get(CASE_PAYMENT_ORDERS_HISTORY_PATH)
+                                                       .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                                                       .queryParam(CASE_ID, caseId)
+                                                       .queryParam(CURSOR, cursor)
+                                                       .queryParam("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+                JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+                page.get("content").forEach(revision -> actualIds.add(revision.get("id").asText()));
+                JsonNode nextCursor = page.path("next_cursor");
+                cursor = nextCursor.isTextual() ? nextCursor.asText() : null;
+                pages++;
+            } while (cursor != null);
+
+            // THEN
+            assertEquals(3, pages);
+            assertEquals(savedEntities.stream().map(entity -> entity.getId().toString()).sorted().toList(),
+                         actualIds.stream().sorted().toList());
+        }
+
+        @DisplayName("Should fail with 400 Bad Request when the cursor cannot be decoded")
+        @Test
+        void shouldThrow400BadRequestWhenCursorIsInvalid() throws Exception {
+
+            // GIVEN
+            CasePaymentOrderEntity savedEntity =
+                casePaymentOrderEntityGenerator.generateAndSaveEntities(1).get(0);
+
+            // WHEN
+            mockMvc.perform(get(CASE_PAYMENT_ORDER_HISTORY_PATH, savedEntity.getId())
+                                .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                                .queryParam(CURSOR, "not a cursor"))
+                // THEN
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath(ERROR_PATH_MESSAGE, is(ValidationError.CPO_CURSOR_INVALID)));
+        }
+
+        @DisplayName("Should fail with 404 Not Found when the case payment order has no history")
+        @Test
+        void shouldThrow404NotFoundWhenIdSpecifiedNotFound() throws Exception {
+
+            // WHEN
+            mockMvc.perform(get(CASE_PAYMENT_ORDER_HISTORY_PATH, UUID.randomUUID())
+                                .headers(createHttpHeaders(AUTHORISED_READ_SERVICE)))
+                // THEN
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath(ERROR_PATH_MESSAGE, is(ValidationError.CPO_NOT_FOUND)));
+        }
+    }
+
+
     @Nested
     @DisplayName("PUT /case-payment-orders")
     class UpdateCasePaymentOrder {
@@ -1167,7 +1484,7 @@ class CasePaymentOrdersControllerIT extends BaseTest {
         private void verifyUpdateResponse(UpdateCasePaymentOrderRequest request,
                                           ResultActions result) throws Exception {
             result
-                .andExpect(jsonPath("$.id").value(request.getId()))
+                .andExpect(jsonPath("$.id").value(request.getId().toString()))
                 .andExpect(jsonPath("$.case_id").value(request.getCaseId()))
                 .andExpect(jsonPath("$.order_reference").value(request.getOrderReference()))
                 .andExpect(jsonPath("$.action").value(request.getAction()))
@@ -1182,7 +1499,7 @@ class CasePaymentOrdersControllerIT extends BaseTest {
             Optional<CasePaymentOrderEntity> updatedEntity = casePaymentOrdersJpaRepository.findById(request.getUUID());
 
             assertTrue(updatedEntity.isPresent());
-            assertEquals(request.getId(), updatedEntity.get().getId().toString());
+            assertEquals(request.getId().toString(), updatedEntity.get().getId().toString());
             assertEquals(request.getCaseId(), updatedEntity.get().getCaseId().toString());
             assertEquals(request.getAction(), updatedEntity.get().getAction());
             assertEquals(request.getResponsibleParty(), updatedEntity.get().getResponsibleParty());
@@ -1200,7 +1517,7 @@ class CasePaymentOrdersControllerIT extends BaseTest {
             // expecting an update
             assertEquals(RevisionType.MOD, latestRevision.getRevisionType());
             // verify content
-            assertEquals(request.getId(), latestRevision.getEntity().getId().toString());
+            assertEquals(request.getId().toString(), latestRevision.getEntity().getId().toString());
             assertEquals(request.getCaseId(), latestRevision.getEntity().getCaseId().toString());
             assertEquals(request.getAction(), latestRevision.getEntity().getAction());
             assertEquals(request.getResponsibleParty(), latestRevision.getEntity().getResponsibleParty());
@@ -1216,7 +1533,7 @@ class CasePaymentOrdersControllerIT extends BaseTest {
             verifyLogAuditValues(result.andReturn(),
                                  AuditOperationType.UPDATE_CASE_PAYMENT_ORDER,
                                  AUTHORISED_CRUD_SERVICE,
-                                 request.getId(),
+                                 request.getId().toString(),
                                  request.getCaseId());
         }
     }
@@ -0,0 +1,240 @@
+package uk.gov.hmcts.reform.cpo.controllers;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import uk.gov.hmcts.reform.cpo.BaseTest;
+import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersAuditJpaRepository;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersJpaRepository;
+import uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderEntityGenerator;
+import uk.gov.hmcts.reform.cpo.utils.UIDService;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_IDS;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.IDS;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.INCLUDE_TOTALS;
+
+class CasePaymentOrdersControllerStatementCountIT extends BaseTest {
+
+    private static final int NUMBER_OF_ORDERS = 10;
+
+    private static final int PAGE_SIZE = 3;
+
+    private static final String SIZE = "size";
+
+    // NB: one statement to validate that all identifiers exist and one to load the page (the count query is
+    //     skipped by spring data as the first page is not full)
+    private static final long EXPECTED_GET_STATEMENTS = 2;
+
+    // NB: one statement to delete the orders with their history, which finds any missing identifiers for the 404
+    private static final long EXPECTED_NOT_FOUND_STATEMENTS = 1;
+
+    // NB: one statement to delete the orders with their history and one to notify the other instances
+    private static final long EXPECTED_DELETE_STATEMENTS = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CasePaymentOrdersAuditJpaRepository casePaymentOrdersAuditJpaRepository;
+
+    @Autowired
+    private CasePaymentOrdersJpaRepository casePaymentOrdersJpaRepository;
+
+    @Autowired
+    private CasePaymentOrderEntityGenerator casePaymentOrderEntityGenerator;
+
+    @Autowired
+    private UIDService uidService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        casePaymentOrdersJpaRepository.deleteAllInBatch();
+        casePaymentOrdersAuditJpaRepository.deleteAllInBatch();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("GET by case ids should use a fixed number of statements regardless of the number of case ids")
+    @Test
+    void shouldUseFixedNumberOfStatementsWhenGettingByCaseIds() throws Exception {
+
+        // GIVEN
+        String[] caseIds = casePaymentOrderEntityGenerator.generateAndSaveEntities(NUMBER_OF_ORDERS).stream()
+            .map(entity -> entity.getCaseId().toString())
+            .toArray(String[]::new);
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(get(CASE_PAYMENT_ORDERS_PATH)
+                            .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                            .queryParam(CASE_IDS, caseIds))
+            // THEN
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(NUMBER_OF_ORDERS)));
+
+        assertEquals(EXPECTED_GET_STATEMENTS, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("GET by ids should use a fixed number of statements regardless of the number of ids")
+    @Test
+    void shouldUseFixedNumberOfStatementsWhenGettingByIds() throws Exception {
+
+        // GIVEN
+        String[] ids = casePaymentOrderEntityGenerator.generateAndSaveEntities(NUMBER_OF_ORDERS).stream()
+            .map(entity -> entity.getId().toString())
+            .toArray(String[]::new);
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(get(CASE_PAYMENT_ORDERS_PATH)
+                            .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                            .queryParam(IDS, ids))
+            // THEN
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(NUMBER_OF_ORDERS)));
+
+        assertEquals(EXPECTED_GET_STATEMENTS, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("GET with totals should count the matching rows when the page is full")
+    @Test
+    void shouldCountRowsWhenGettingFullPageWithTotals() throws Exception {
+
+        // GIVEN
+        String[] caseIds = generateCaseIds();
+
+        // WHEN
+        mockMvc.perform(get(CASE_PAYMENT_ORDERS_PATH)
+                            .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                            .queryParam(CASE_IDS, caseIds)
+                            .queryParam(SIZE, String.valueOf(PAGE_SIZE)))
+            // THEN
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(PAGE_SIZE)))
+            .andExpect(jsonPath("$.total_elements", is(NUMBER_OF_ORDERS)));
+
+        assertEquals(EXPECTED_GET_STATEMENTS + 1, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("GET without totals should not count the matching rows when the page is full")
+    @Test
+    void shouldNotCountRowsWhenGettingFullPageWithoutTotals() throws Exception {
+
+        // GIVEN
+        String[] caseIds = generateCaseIds();
+
+        // WHEN
+        mockMvc.perform(get(CASE_PAYMENT_ORDERS_PATH)
+                            .headers(createHttpHeaders(AUTHORISED_READ_SERVICE))
+                            .queryParam(CASE_IDS, caseIds)
+                            .queryParam(INCLUDE_TOTALS, "false")
+                            .queryParam(SIZE, String.valueOf(PAGE_SIZE)))
+            // THEN
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(PAGE_SIZE)))
+            .andExpect(jsonPath("$.last", is(false)))
+            .andExpect(jsonPath("$.total_elements").doesNotExist());
+
+        assertEquals(EXPECTED_GET_STATEMENTS, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("DELETE by case ids should validate all case ids with a single statement")
+    @Test
+    void shouldValidateCaseIdsWithSingleStatementWhenDeleting() throws Exception {
+
+        // GIVEN
+        List<String> caseIds = casePaymentOrderEntityGenerator.generateAndSaveEntities(NUMBER_OF_ORDERS).stream()
+            .map(CasePaymentOrderEntity::getCaseId)
+            .map(String::valueOf)
+            .collect(Collectors.toCollection(ArrayList::new));
+        caseIds.add(uidService.generateUID());
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(delete(CASE_PAYMENT_ORDERS_PATH)
+                            .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
+                            .queryParam(CASE_IDS, caseIds.toArray(String[]::new)))
+            // THEN
+            .andExpect(status().isNotFound());
+
+        assertEquals(EXPECTED_NOT_FOUND_STATEMENTS, statistics.getPrepareStatementCount());
+        // NB: the delete is rolled back along with the 404
+        assertEquals(NUMBER_OF_ORDERS, casePaymentOrdersJpaRepository.count());
+    }
+
+    @DisplayName("DELETE by ids should validate all ids with a single statement")
+    @Test
+    void shouldValidateIdsWithSingleStatementWhenDeleting() throws Exception {
+
+        // GIVEN
+        List<String> ids = casePaymentOrderEntityGenerator.generateAndSaveEntities(NUMBER_OF_ORDERS).stream()
+            .map(CasePaymentOrderEntity::getId)
+            .map(UUID::toString)
+            .collect(Collectors.toCollection(ArrayList::new));
+        ids.add(UUID.randomUUID().toString());
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(delete(CASE_PAYMENT_ORDERS_PATH)
+                            .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
+                            .queryParam(IDS, ids.toArray(String[]::new)))
+            // THEN
+            .andExpect(status().isNotFound());
+
+        assertEquals(EXPECTED_NOT_FOUND_STATEMENTS, statistics.getPrepareStatementCount());
+        // NB: the delete is rolled back along with the 404
+        assertEquals(NUMBER_OF_ORDERS, casePaymentOrdersJpaRepository.count());
+    }
+
+    @DisplayName("DELETE by case ids should remove the orders and their history with a single statement")
+    @Test
+    void shouldDeleteWithHistoryInSingleStatement() throws Exception {
+
+        // GIVEN
+        String[] caseIds = generateCaseIds();
+
+        // WHEN
+        mockMvc.perform(delete(CASE_PAYMENT_ORDERS_PATH)
+                            .headers(createHttpHeaders(AUTHORISED_CRUD_SERVICE))
+                            .queryParam(CASE_IDS, caseIds))
+            // THEN
+            .andExpect(status().isNoContent());
+
+        assertEquals(EXPECTED_DELETE_STATEMENTS, statistics.getPrepareStatementCount());
+        assertEquals(0, casePaymentOrdersJpaRepository.count());
+        assertEquals(0, casePaymentOrdersAuditJpaRepository.count());
+    }
+
+    private String[] generateCaseIds() {
+        String[] caseIds = casePaymentOrderEntityGenerator.generateAndSaveEntities(NUMBER_OF_ORDERS).stream()
+            .map(entity -> entity.getCaseId().toString())
+            .toArray(String[]::new);
+        statistics.clear();
+        return caseIds;
+    }
+
+}
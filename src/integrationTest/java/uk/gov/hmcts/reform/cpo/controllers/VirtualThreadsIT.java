@@ -0,0 +1,149 @@
+package uk.gov.hmcts.reform.cpo.controllers;
+
+import com.nimbusds.jose.JOSEException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import uk.gov.hmcts.reform.cpo.Application;
+import uk.gov.hmcts.reform.cpo.BaseTest;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersAuditJpaRepository;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersJpaRepository;
+import uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderEntityGenerator;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_IDS;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH;
+
+@Slf4j
+@SpringBootTest(classes = Application.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.threads.virtual.enabled=true",
+        // NB: the load test measures raw throughput, so nothing should shed its requests
+        "s2s.bulkhead.enabled=false",
+        "concurrency-limit.enabled=false"
+    })
+class VirtualThreadsIT extends BaseTest {
+
+    private static final int NUMBER_OF_ORDERS = 10;
+
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CasePaymentOrdersJpaRepository casePaymentOrdersJpaRepository;
+
+    @Autowired
+    private CasePaymentOrdersAuditJpaRepository casePaymentOrdersAuditJpaRepository;
+
+    @Autowired
+    private CasePaymentOrderEntityGenerator casePaymentOrderEntityGenerator;
+
+    private HttpClient httpClient;
+
+    private String caseId;
+
+    @BeforeEach
+    void setUp() {
+        casePaymentOrdersJpaRepository.deleteAllInBatch();
+        casePaymentOrdersAuditJpaRepository.deleteAllInBatch();
+
+        caseId = casePaymentOrderEntityGenerator.generateAndSaveEntitiesWithSameCaseId(NUMBER_OF_ORDERS).get(0)
+            .getCaseId().toString();
+        httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+    }
+
+    @Test
+    @DisplayName("Should handle requests on virtual threads")
+    void shouldHandleRequestsOnVirtualThreads() throws Exception {
+
+        // GIVEN
+        List<Thread> requestThreads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            // NB: audit entries are saved on the thread that handled the request
+            requestThreads.add(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(auditRepository).save(any());
+
+        // WHEN
+        HttpResponse<String> response = httpClient.send(createGetRequest(createHttpHeaders(AUTHORISED_READ_SERVICE)),
+                                                        HttpResponse.BodyHandlers.ofString());
+
+        // THEN
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(requestThreads).hasSize(1).allMatch(Thread::isVirtual);
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "CPO_LOAD_TEST", matches = "true")
+    @DisplayName("Should serve 1,000 concurrent clients on virtual threads")
+    void shouldServeThousandConcurrentClients() throws Exception {
+
+        // GIVEN
+        HttpRequest request = createGetRequest(createHttpHeaders(AUTHORISED_READ_SERVICE));
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        // WHEN
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < CLIENTS; client++) {
+                clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        try {
+                            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            (status == 200 ? succeeded : failed).incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        // THEN
+        log.info("{} concurrent clients made {} requests in {}s: {} requests/s, {} failed",
+                 CLIENTS, succeeded.get() + failed.get(), String.format("%.1f", elapsedSeconds),
+                 String.format("%.0f", succeeded.get() / elapsedSeconds), failed.get());
+        assertThat(failed).hasValue(0);
+        assertThat(succeeded).hasValue(CLIENTS * REQUESTS_PER_CLIENT);
+    }
+
+    private HttpRequest createGetRequest(HttpHeaders headers) throws JOSEException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + port + CASE_PAYMENT_ORDERS_PATH + "?" + CASE_IDS + "=" + caseId));
+        headers.forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+        return builder.GET().build();
+    }
+
+}
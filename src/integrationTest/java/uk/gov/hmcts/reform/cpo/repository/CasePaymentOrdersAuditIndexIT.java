@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.cpo.BaseTest;
+import uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderBulkGenerator;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersJpaRepository.DELETE_HISTORY_OF_DELETED;
+
+/**
+ * Guards against the queries on the audit table falling back to reading all of it, which would only show up in
+ * production once the history had grown: the history lookups by order and by case, and the deletes of an order's
+ * history with it.
+ */
+class CasePaymentOrdersAuditIndexIT extends BaseTest {
+
+    private static final int NUMBER_OF_CASES = 2_000;
+    private static final int ORDERS_PER_CASE = 5;
+
+    @Autowired
+    private CasePaymentOrdersJpaRepository casePaymentOrdersJpaRepository;
+
+    @Autowired
+    private CasePaymentOrdersAuditJpaRepository casePaymentOrdersAuditJpaRepository;
+
+    @Autowired
+    private CasePaymentOrderBulkGenerator casePaymentOrderBulkGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> caseIds;
+
+    private String auditPartitionSeqScan;
+
+    @BeforeEach
+    void setUp() {
+        casePaymentOrdersJpaRepository.deleteAllInBatch();
+        casePaymentOrdersAuditJpaRepository.deleteAllInBatch();
+
+        caseIds = casePaymentOrderBulkGenerator.generateAndInsertOrdersWithHistory(NUMBER_OF_CASES, ORDERS_PER_CASE);
+        // NB: without fresh statistics the planner still thinks the tables are empty
+        jdbcTemplate.execute("ANALYZE case_payment_orders, case_payment_orders_audit, revinfo");
+        // NB: only the partition holding the rows counts, as a scan of an empty one costs nothing
+        auditPartitionSeqScan = "Seq Scan on " + jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM case_payment_orders_audit LIMIT 1", String.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        casePaymentOrdersJpaRepository.deleteAllInBatch();
+        casePaymentOrdersAuditJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should use indexes when deleting orders with their history by case id")
+    void shouldUseIndexesWhenDeletingWithHistoryByCaseId() {
+        assertThat(explain("WITH deleted AS (DELETE FROM case_payment_orders WHERE case_id IN (" + someCaseIds()
+                               + ") RETURNING id, case_id)" + DELETE_HISTORY_OF_DELETED))
+            .doesNotContain(auditPartitionSeqScan);
+    }
+
+    @Test
+    @DisplayName("Should use the case_id index when looking up the history of a case")
+    void shouldUseIndexWhenLookingUpHistoryOfCase() {
+        // NB: the shape of the page findRevisionsByCaseId reads for GET /case-payment-orders/history?case_id=,
+        // which is what the case_id index is for
+        assertThat(explain("SELECT * FROM case_payment_orders_audit WHERE case_id = " + caseIds.get(0)
+                               + " ORDER BY rev, id LIMIT 21"))
+            .doesNotContain(auditPartitionSeqScan);
+    }
+
+    @Test
+    @DisplayName("Should use an index when looking up the history of an order")
+    void shouldUseIndexWhenLookingUpHistoryOfOrder() {
+        String id = jdbcTemplate.queryForObject("SELECT id::text FROM case_payment_orders LIMIT 1", String.class);
+
+        assertThat(explain("SELECT * FROM case_payment_orders_audit WHERE id = '" + id + "' ORDER BY rev, id LIMIT 21"))
+            .doesNotContain(auditPartitionSeqScan);
+    }
+
+    private String someCaseIds() {
+        return caseIds.subList(0, 3).stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private String explain(String sql) {
+        // NB: plain EXPLAIN only plans the statement, so the deletes are not run
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+}
@@ -1,22 +1,32 @@
 package uk.gov.hmcts.reform.cpo.repository;
 
 
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import uk.gov.hmcts.reform.cpo.BaseTest;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderAuditEntity;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 import uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderEntityGenerator;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+@Slf4j
 public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
 
     @Autowired
@@ -31,12 +41,31 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
     @Autowired
     private RevInfoRepository revInfoRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     public void setUp() {
         casePaymentOrdersRepository.deleteAllInBatch();
         casePaymentOrdersAuditRepository.deleteAllInBatch();
     }
 
+    private void deleteAuditEntriesByIdIn(List<UUID> ids) {
+        deleteAuditEntries("id", ids);
+    }
+
+    private void deleteAuditEntriesByCaseIdIn(List<Long> caseIds) {
+        deleteAuditEntries("case_id", caseIds);
+    }
+
+    // NB: a single plain DELETE, so the revinfo trigger fires once for the statement as it does for the delete with
+    //     history the service runs
+    private void deleteAuditEntries(String column, List<?> values) {
+        jdbcTemplate.update("DELETE FROM case_payment_orders_audit WHERE " + column + " IN ("
+                                + String.join(",", Collections.nCopies(values.size(), "?")) + ")",
+                            values.toArray());
+    }
+
     @Nested
     @DisplayName("delete from case-payment-orders-audit table using UUIDs")
     class DeleteCasePaymentOrdersByUUIDs {
@@ -53,7 +82,7 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
             assertEquals(persistedEntities.size(), casePaymentOrdersAuditRepository.findAll().size());
 
             // When
-            casePaymentOrdersAuditRepository.deleteByIdIn(List.of(persistedEntities.get(0).getId()));
+            deleteAuditEntriesByIdIn(List.of(persistedEntities.get(0).getId()));
 
             // Then
             assertTrue(casePaymentOrdersAuditRepository.findAll().isEmpty());
@@ -72,8 +101,7 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
             assertEquals(persistedEntities.size(), casePaymentOrdersAuditRepository.findAll().size());
 
             // When
-            casePaymentOrdersAuditRepository.deleteByIdIn(List.of(persistedEntities.get(0).getId(),
-                                                                    persistedEntities.get(1).getId()));
+            deleteAuditEntriesByIdIn(List.of(persistedEntities.get(0).getId(), persistedEntities.get(1).getId()));
 
             // Then
             assertEquals(persistedEntities.size() - 2, casePaymentOrdersAuditRepository.findAll().size());
@@ -97,7 +125,7 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
             assertEquals(persistedEntities.size() + 1, casePaymentOrdersAuditRepository.findAll().size());
 
             // When
-            casePaymentOrdersAuditRepository.deleteByIdIn(List.of(persistedEntities.get(0).getId()));
+            deleteAuditEntriesByIdIn(List.of(persistedEntities.get(0).getId()));
 
             // Then
             assertTrue(casePaymentOrdersAuditRepository.findAll().isEmpty());
@@ -121,8 +149,7 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
             assertEquals(persistedEntities.size() + 2, casePaymentOrdersAuditRepository.findAll().size());
 
             // When
-            casePaymentOrdersAuditRepository.deleteByIdIn(List.of(persistedEntities.get(0).getId(),
-                    persistedEntities.get(1).getId()));
+            deleteAuditEntriesByIdIn(List.of(persistedEntities.get(0).getId(), persistedEntities.get(1).getId()));
 
             // Then
             assertEquals(1, casePaymentOrdersAuditRepository.findAll().size());
@@ -160,7 +187,7 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
             entityToDelete.setCaseId(persistedEntities.get(0).getCaseId());
 
             // When
-            casePaymentOrdersAuditRepository.deleteByCaseIdIn(List.of(persistedEntities.get(0).getCaseId()));
+            deleteAuditEntriesByCaseIdIn(List.of(persistedEntities.get(0).getCaseId()));
 
             // Then
             assertTrue(casePaymentOrdersAuditRepository.findAll().isEmpty());
@@ -185,8 +212,8 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
             entityToDelete2.setCaseId(persistedEntities.get(1).getCaseId());
 
             // When
-            casePaymentOrdersAuditRepository.deleteByCaseIdIn(List.of(persistedEntities.get(0).getCaseId(),
-                                                                        persistedEntities.get(1).getCaseId()));
+            deleteAuditEntriesByCaseIdIn(List.of(persistedEntities.get(0).getCaseId(),
+                                                 persistedEntities.get(1).getCaseId()));
 
             // Then
             assertEquals(persistedEntities.size() - 2, casePaymentOrdersAuditRepository.findAll().size());
@@ -210,7 +237,7 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
             assertEquals(persistedEntities.size() + 1, casePaymentOrdersAuditRepository.findAll().size());
 
             // When
-            casePaymentOrdersAuditRepository.deleteByCaseIdIn(List.of(persistedEntities.get(0).getCaseId()));
+            deleteAuditEntriesByCaseIdIn(List.of(persistedEntities.get(0).getCaseId()));
 
             // Then
             assertTrue(casePaymentOrdersAuditRepository.findAll().isEmpty());
@@ -234,8 +261,8 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
             assertEquals(persistedEntities.size() + 2, casePaymentOrdersAuditRepository.findAll().size());
 
             // When
-            casePaymentOrdersAuditRepository.deleteByCaseIdIn(List.of(persistedEntities.get(0).getCaseId(),
-                                                                        persistedEntities.get(1).getCaseId()));
+            deleteAuditEntriesByCaseIdIn(List.of(persistedEntities.get(0).getCaseId(),
+                                                 persistedEntities.get(1).getCaseId()));
 
             // Then
             assertEquals(1, casePaymentOrdersAuditRepository.findAll().size());
@@ -258,4 +285,105 @@ public class CasePaymentOrdersAuditRepositoryTest extends BaseTest {
                     .collect(Collectors.toList());
         }
     }
+
+    @Nested
+    @DisplayName("remove revinfo rows when entries are deleted from case-payment-orders-audit table")
+    class RemoveRevInfo {
+
+        private static final String ROW_TRIGGER_MIGRATION =
+            "db/migration/V20210329_16__CPO-16-CasePaymentOrdersAUD.sql";
+        private static final String STATEMENT_TRIGGER_MIGRATION =
+            "db/migration/V20261018_1__Revinfo-statement-level-removal.sql";
+
+        private static final int NUMBER_OF_REVISIONS = 5_000;
+        private static final int NUMBER_OF_CASES = 500;
+
+        private static final long FIRST_CASE_ID = 1_000_000_000_000_000L;
+
+        // NB: well clear of the revisions hibernate hands out to the other tests
+        private static final int FIRST_REVISION = 1_000_000;
+
+        @AfterEach
+        public void tearDown() throws IOException {
+            casePaymentOrdersAuditRepository.deleteAllInBatch();
+            runMigration(STATEMENT_TRIGGER_MIGRATION);
+        }
+
+        /**
+         * Deleting half the cases' audit entries - each audit entry has its own revision.
+         */
+        @DisplayName("test statement level trigger removes the same revinfo rows as the row level one it replaced")
+        @Test
+        public void testStatementTriggerRemovesSameRevInfoAsRowTrigger() throws IOException {
+            // Given
+            jdbcTemplate.execute("DROP TRIGGER revinfo_delete ON case_payment_orders_audit");
+            runMigration(ROW_TRIGGER_MIGRATION);
+
+            long rowTriggerNanos = seedAndDeleteHalfTheCases();
+            List<Integer> rowTriggerRevisions = findSeededRevisions();
+            casePaymentOrdersAuditRepository.deleteAllInBatch();
+
+            runMigration(STATEMENT_TRIGGER_MIGRATION);
+
+            // When
+            long statementTriggerNanos = seedAndDeleteHalfTheCases();
+
+            // Then
+            log.info("Deleting {} audit entries removed their revinfo rows in {}ms with a row level trigger"
+                         + " and {}ms with a statement level trigger", NUMBER_OF_REVISIONS / 2,
+                     rowTriggerNanos / 1_000_000, statementTriggerNanos / 1_000_000);
+            assertEquals(NUMBER_OF_REVISIONS / 2, rowTriggerRevisions.size());
+            assertEquals(rowTriggerRevisions, findSeededRevisions());
+            assertEquals(NUMBER_OF_REVISIONS / 2, casePaymentOrdersAuditRepository.count());
+        }
+
+        /**
+         * Deleting one of two audit entries that share a revision, as entries saved in one transaction do.
+         */
+        @DisplayName("test statement level trigger keeps revinfo rows still used by other audit entries")
+        @Test
+        public void testStatementTriggerKeepsSharedRevInfo() {
+            // Given
+            List<CasePaymentOrderEntity> persistedEntities =
+                casePaymentOrderEntityGenerator.generateAndSaveEntities(2);
+            jdbcTemplate.update("UPDATE case_payment_orders_audit SET rev = (SELECT min(rev) FROM"
+                                    + " case_payment_orders_audit)");
+            jdbcTemplate.update("DELETE FROM revinfo WHERE rev NOT IN (SELECT rev FROM case_payment_orders_audit)");
+
+            // When
+            deleteAuditEntriesByIdIn(List.of(persistedEntities.get(0).getId()));
+
+            // Then
+            assertEquals(1, casePaymentOrdersAuditRepository.findAll().size());
+            assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM revinfo WHERE rev IN (SELECT rev FROM case_payment_orders_audit)",
+                Integer.class));
+        }
+
+        private long seedAndDeleteHalfTheCases() {
+            jdbcTemplate.update("INSERT INTO revinfo (rev, revtstmp)"
+                                    + " SELECT ? + n, 0 FROM generate_series(0, ?) n",
+                                FIRST_REVISION, NUMBER_OF_REVISIONS - 1);
+            jdbcTemplate.update("INSERT INTO case_payment_orders_audit (id, rev, revtype, case_id)"
+                                    + " SELECT gen_random_uuid(), ? + n, 0, ? + n % ? FROM generate_series(0, ?) n",
+                                FIRST_REVISION, FIRST_CASE_ID, NUMBER_OF_CASES, NUMBER_OF_REVISIONS - 1);
+            List<Long> caseIds = LongStream.range(FIRST_CASE_ID, FIRST_CASE_ID + NUMBER_OF_CASES / 2)
+                .boxed()
+                .collect(Collectors.toList());
+
+            long start = System.nanoTime();
+            deleteAuditEntriesByCaseIdIn(caseIds);
+            return System.nanoTime() - start;
+        }
+
+        private List<Integer> findSeededRevisions() {
+            return jdbcTemplate.queryForList("SELECT rev FROM revinfo WHERE rev >= ? ORDER BY rev",
+                                             Integer.class, FIRST_REVISION);
+        }
+
+        private void runMigration(String path) throws IOException {
+            // NB: the postgres driver runs the whole script, including its dollar quoted function bodies
+            jdbcTemplate.execute(new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8));
+        }
+    }
 }
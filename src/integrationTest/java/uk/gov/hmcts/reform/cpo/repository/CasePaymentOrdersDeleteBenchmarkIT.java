@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import uk.gov.hmcts.reform.cpo.BaseTest;
+import uk.gov.hmcts.reform.cpo.service.CasePaymentOrdersService;
+import uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderBulkGenerator;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderBulkGenerator.REVISIONS_PER_ORDER;
+
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "CPO_LOAD_TEST", matches = "true")
+class CasePaymentOrdersDeleteBenchmarkIT extends BaseTest {
+
+    private static final int NUMBER_OF_CASES = 1_000;
+    private static final int ORDERS_PER_CASE = 10;
+    private static final int NUMBER_OF_ORDERS = NUMBER_OF_CASES * ORDERS_PER_CASE;
+    private static final int NUMBER_OF_REVISIONS = NUMBER_OF_ORDERS * REVISIONS_PER_ORDER;
+
+    @Autowired
+    private CasePaymentOrdersService casePaymentOrdersService;
+
+    @Autowired
+    private CasePaymentOrdersJpaRepository casePaymentOrdersJpaRepository;
+
+    @Autowired
+    private CasePaymentOrdersAuditJpaRepository casePaymentOrdersAuditJpaRepository;
+
+    @Autowired
+    private RevInfoRepository revInfoRepository;
+
+    @Autowired
+    private CasePaymentOrderBulkGenerator casePaymentOrderBulkGenerator;
+
+    private List<Long> caseIds;
+
+    @BeforeEach
+    void setUp() {
+        casePaymentOrdersJpaRepository.deleteAllInBatch();
+        casePaymentOrdersAuditJpaRepository.deleteAllInBatch();
+
+        // NB: inserted in bulk as saving 10k entities through hibernate would take longer than the delete being timed
+        caseIds = casePaymentOrderBulkGenerator.generateAndInsertOrdersWithHistory(NUMBER_OF_CASES, ORDERS_PER_CASE);
+    }
+
+    @Test
+    @DisplayName("Should delete 10,000 orders across 1,000 cases along with their history")
+    void shouldDeleteTenThousandOrdersAcrossThousandCases() {
+
+        // GIVEN
+        CasePaymentOrderQueryFilter filter = CasePaymentOrderQueryFilter.builder()
+            .cpoIds(List.of())
+            .caseIds(caseIds)
+            .build();
+        assertThat(casePaymentOrdersAuditJpaRepository.count()).isEqualTo(NUMBER_OF_REVISIONS);
+        long revisions = revInfoRepository.count();
+
+        // WHEN
+        long start = System.nanoTime();
+        casePaymentOrdersService.deleteCasePaymentOrders(filter);
+        double elapsedMillis = (System.nanoTime() - start) / 1e6;
+
+        // THEN
+        log.info("Deleted {} orders across {} cases, with {} audit rows, in {}ms",
+                 NUMBER_OF_ORDERS, NUMBER_OF_CASES, NUMBER_OF_REVISIONS, String.format("%.0f", elapsedMillis));
+        assertThat(casePaymentOrdersJpaRepository.count()).isZero();
+        assertThat(casePaymentOrdersAuditJpaRepository.count()).isZero();
+        assertThat(revInfoRepository.count()).isEqualTo(revisions - NUMBER_OF_REVISIONS);
+    }
+
+}
@@ -0,0 +1,105 @@
+package uk.gov.hmcts.reform.cpo.service.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.cpo.BaseTest;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static uk.gov.hmcts.reform.cpo.config.CacheConfiguration.CASE_PAYMENT_ORDERS_CHANNEL;
+
+class CasePaymentOrdersCacheInvalidationIT extends BaseTest {
+
+    private static final long NOTIFICATION_TIMEOUT_MILLIS = 5000;
+    private static final long POLL_GRACE_MILLIS = 1500;
+
+    @MockitoSpyBean
+    private CasePaymentOrdersCache casePaymentOrdersCache;
+
+    @Autowired
+    private CasePaymentOrdersRepository casePaymentOrdersRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should evict case IDs notified by another instance")
+    void shouldEvictCaseIdsNotifiedByAnotherInstance() {
+        notifyAsOtherInstance("1609243447569251,1609243447569252");
+
+        verify(casePaymentOrdersCache, timeout(NOTIFICATION_TIMEOUT_MILLIS))
+            .evictLocal(List.of(1_609_243_447_569_251L, 1_609_243_447_569_252L));
+    }
+
+    @Test
+    @DisplayName("Should not cache a load overtaken by a notification from another instance")
+    void shouldNotCacheLoadOvertakenByNotification() {
+        Long caseId = 1_609_243_447_569_255L;
+        AtomicInteger loads = new AtomicInteger();
+        Function<Set<Long>, Map<Long, List<CasePaymentOrder>>> loader = caseIds -> {
+            loads.incrementAndGet();
+            return Map.of(caseId, List.of());
+        };
+
+        // the load is slow enough for the other instance to commit a write, and its notification to arrive
+        casePaymentOrdersCache.getAll(List.of(caseId), caseIds -> {
+            notifyAsOtherInstance(String.valueOf(caseId));
+            verify(casePaymentOrdersCache, timeout(NOTIFICATION_TIMEOUT_MILLIS)).evictLocal(List.of(caseId));
+            return loader.apply(caseIds);
+        });
+        casePaymentOrdersCache.getAll(List.of(caseId), loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should only evict case IDs once the writing transaction commits")
+    void shouldOnlyEvictCaseIdsOnceWritingTransactionCommits() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            casePaymentOrdersRepository.notifyCaseIdsChanged(List.of(1_609_243_447_569_253L));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(
+            status -> casePaymentOrdersRepository.notifyCaseIdsChanged(List.of(1_609_243_447_569_254L)));
+
+        verify(casePaymentOrdersCache, timeout(NOTIFICATION_TIMEOUT_MILLIS))
+            .evictLocal(List.of(1_609_243_447_569_254L));
+        verify(casePaymentOrdersCache, after(POLL_GRACE_MILLIS).never())
+            .evictLocal(List.of(1_609_243_447_569_253L));
+    }
+
+    private void notifyAsOtherInstance(String payload) {
+        // NB: a separate connection stands in for the other instance
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, CASE_PAYMENT_ORDERS_CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package uk.gov.hmcts.reform.cpo.service.retention;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.cpo.BaseTest;
+import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartition;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartitionRepository;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartitionedTable;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersAuditJpaRepository;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersJpaRepository;
+import uk.gov.hmcts.reform.cpo.service.retention.AuditPartitionMaintenance.RetentionAction;
+import uk.gov.hmcts.reform.cpo.utils.CasePaymentOrderEntityGenerator;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static uk.gov.hmcts.reform.cpo.repository.AuditPartitionedTable.CASE_PAYMENT_ORDERS_AUDIT;
+import static uk.gov.hmcts.reform.cpo.repository.AuditPartitionedTable.REVINFO;
+
+class AuditPartitionMaintenanceIT extends BaseTest {
+
+    private static final int FUTURE_REVISION = 2_000_000;
+
+    @Value("${audit-partitions.months-ahead}")
+    private int monthsAhead;
+
+    @Value("${audit-partitions.lock-timeout}")
+    private Duration lockTimeout;
+
+    @Autowired
+    private AuditPartitionRepository auditPartitionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CasePaymentOrdersJpaRepository casePaymentOrdersJpaRepository;
+
+    @Autowired
+    private CasePaymentOrdersAuditJpaRepository casePaymentOrdersAuditJpaRepository;
+
+    @Autowired
+    private CasePaymentOrderEntityGenerator casePaymentOrderEntityGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<AuditPartitionedTable, AuditPartition> detachedPartitions =
+        new EnumMap<>(AuditPartitionedTable.class);
+
+    private final List<String> createdPartitions = new ArrayList<>();
+
+    private final LocalDateTime thisMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).atStartOfDay();
+
+    @AfterEach
+    void tearDown() {
+        createdPartitions.forEach(partitionName -> jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName));
+        createdPartitions.clear();
+
+        // NB: detached partitions, and the history in them, are put back for the other tests
+        detachedPartitions.forEach((table, partition) -> jdbcTemplate.execute(String.format(
+            "ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM (MINVALUE) TO (%s)",
+            table.getTableName(), partition.getName(), table.toBound(partition.getUpperBound()))));
+        detachedPartitions.clear();
+
+        casePaymentOrdersJpaRepository.deleteAllInBatch();
+        casePaymentOrdersAuditJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should create the partitions for the months ahead at startup")
+    void shouldCreatePartitionsForMonthsAheadAtStartup() {
+        for (AuditPartitionedTable table : AuditPartitionedTable.values()) {
+            List<String> partitionNames = auditPartitionRepository.findPartitions(table).stream()
+                .map(AuditPartition::getName)
+                .toList();
+
+            for (int month = 1; month <= monthsAhead; month++) {
+                assertThat(partitionNames).contains(table.getPartitionName(thisMonth.plusMonths(month)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should give the audit tables, and every partition created for them, a primary key")
+    void shouldGiveTablesAndPartitionsPrimaryKey() {
+        assertThat(primaryKeyOf("case_payment_orders_audit")).isEqualTo("PRIMARY KEY (id, rev, revision_timestamp)");
+        assertThat(primaryKeyOf("revinfo")).isEqualTo("PRIMARY KEY (rev, revision_timestamp)");
+        for (AuditPartitionedTable table : AuditPartitionedTable.values()) {
+            assertThat(primaryKeyOf(table.getPartitionName(thisMonth.plusMonths(1))))
+                .isEqualTo(primaryKeyOf(table.getTableName()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep history saved by envers out of the default partitions")
+    void shouldKeepHistoryOutOfDefaultPartitions() {
+        CasePaymentOrderEntity entity = casePaymentOrderEntityGenerator.generateAndSaveEntities(1).get(0);
+
+        Map<String, Object> audit = jdbcTemplate.queryForMap(
+            "SELECT tableoid::regclass::text AS partition, rev, revision_timestamp FROM case_payment_orders_audit"
+                + " WHERE id = ?", entity.getId());
+        String revinfoPartition = jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM revinfo WHERE rev = ?", String.class, audit.get("rev"));
+
+        assertThat(((Timestamp) audit.get("revision_timestamp")).toLocalDateTime())
+            .isCloseTo(LocalDateTime.now(ZoneOffset.UTC), within(1, ChronoUnit.MINUTES));
+        assertThat(audit.get("partition")).isNotEqualTo("case_payment_orders_audit_default");
+        assertThat(revinfoPartition).isNotEqualTo("revinfo_default");
+    }
+
+    @Test
+    @DisplayName("Should give a revision's history and revinfo rows the same partition key")
+    void shouldGiveRevisionTheSamePartitionKeyInBothTables() {
+        CasePaymentOrderEntity entity = casePaymentOrderEntityGenerator.generateAndSaveEntities(1).get(0);
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT a.revision_timestamp = r.revision_timestamp FROM case_payment_orders_audit a"
+                + " JOIN revinfo r ON r.rev = a.rev WHERE a.id = ?", Boolean.class, entity.getId()))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should move history caught by the default partitions into the partitions then created for it")
+    void shouldMoveHistoryOutOfDefaultPartitions() {
+        // NB: past any month the other tests create partitions for
+        LocalDateTime lateMonth = thisMonth.plusMonths(monthsAhead + 3L);
+        insertRevision(FUTURE_REVISION, lateMonth.plusDays(3));
+        assertThat(partitionOfRevision(CASE_PAYMENT_ORDERS_AUDIT))
+            .isEqualTo(CASE_PAYMENT_ORDERS_AUDIT.getDefaultPartitionName());
+        assertThat(partitionOfRevision(REVINFO)).isEqualTo(REVINFO.getDefaultPartitionName());
+        List<String> partitionsBefore = allPartitionNames();
+
+        // NB: three months on, the partitions for the month the rows are in are due
+        Clock threeMonthsOn = Clock.fixed(thisMonth.plusMonths(3).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        new AuditPartitionMaintenance(auditPartitionRepository, transactionManager, threeMonthsOn, monthsAhead,
+                                      false, 1, RetentionAction.DETACH, lockTimeout).maintainPartitions();
+        allPartitionNames().stream().filter(name -> !partitionsBefore.contains(name)).forEach(createdPartitions::add);
+
+        for (AuditPartitionedTable table : AuditPartitionedTable.values()) {
+            assertThat(partitionOfRevision(table)).isEqualTo(table.getPartitionName(lateMonth));
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + table.getDefaultPartitionName(),
+                                                   Long.class)).isZero();
+        }
+    }
+
+    private void insertRevision(int revision, LocalDateTime revisionTimestamp) {
+        jdbcTemplate.update("INSERT INTO revinfo (rev, revtstmp, revision_timestamp) VALUES (?, ?, ?)",
+                            revision, revisionTimestamp.toInstant(ZoneOffset.UTC).toEpochMilli(),
+                            Timestamp.valueOf(revisionTimestamp));
+        jdbcTemplate.update("INSERT INTO case_payment_orders_audit (id, rev, revtype, case_id, revision_timestamp)"
+                                + " VALUES (?, ?, 0, 1, ?)",
+                            UUID.randomUUID(), revision, Timestamp.valueOf(revisionTimestamp));
+    }
+
+    private List<String> allPartitionNames() {
+        return Arrays.stream(AuditPartitionedTable.values())
+            .flatMap(table -> auditPartitionRepository.findPartitions(table).stream())
+            .map(AuditPartition::getName)
+            .sorted()
+            .toList();
+    }
+
+    private String primaryKeyOf(String tableName) {
+        return jdbcTemplate.queryForObject("SELECT pg_get_constraintdef(oid) FROM pg_constraint"
+                                               + " WHERE conrelid = ?::regclass AND contype = 'p'",
+                                           String.class, tableName);
+    }
+
+    private String partitionOfRevision(AuditPartitionedTable table) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM " + table.getTableName()
+                                               + " WHERE rev = ?", String.class, FUTURE_REVISION);
+    }
+
+}
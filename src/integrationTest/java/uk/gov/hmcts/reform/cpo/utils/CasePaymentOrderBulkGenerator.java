@@ -0,0 +1,58 @@
+package uk.gov.hmcts.reform.cpo.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Inserts orders and their history in bulk, straight into the tables, for tests that need more rows than
+ * saving them one at a time through hibernate allows.
+ */
+@Service
+public class CasePaymentOrderBulkGenerator {
+
+    public static final long FIRST_CASE_ID = 1_000_000_000_000_000L;
+
+    // NB: well clear of the revisions hibernate hands out to the other tests
+    public static final int FIRST_REVISION = 1_000_000;
+
+    // NB: an ADD and a MOD revision for each order, as if every one had been updated once
+    public static final int REVISIONS_PER_ORDER = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the orders, spread evenly over the cases, each with its own revisions.
+     *
+     * @return the case ids the orders were inserted for
+     */
+    public List<Long> generateAndInsertOrdersWithHistory(int numberOfCases, int ordersPerCase) {
+        int numberOfOrders = numberOfCases * ordersPerCase;
+
+        jdbcTemplate.update("INSERT INTO case_payment_orders (id, created_timestamp, case_id, action,"
+                                + " responsible_party, order_reference, created_by, history_exists)"
+                                + " SELECT gen_random_uuid(), now(), ? + n % ?, 'action', 'responsible party',"
+                                + " '2021-' || lpad(n::text, 13, '0'), 'created by', true"
+                                + " FROM generate_series(1, ?) n",
+                            FIRST_CASE_ID, numberOfCases, numberOfOrders);
+        jdbcTemplate.update("INSERT INTO revinfo (rev, revtstmp)"
+                                + " SELECT ? + n, 0 FROM generate_series(0, ?) n",
+                            FIRST_REVISION, REVISIONS_PER_ORDER * numberOfOrders - 1);
+        jdbcTemplate.update("INSERT INTO case_payment_orders_audit (id, rev, revtype, action, case_id,"
+                                + " created_by, created_timestamp, order_reference, responsible_party, history_exists)"
+                                + " SELECT cpo.id, ? + revision.revtype * ? + row_number() OVER (PARTITION BY"
+                                + " revision.revtype ORDER BY cpo.id) - 1, revision.revtype, cpo.action, cpo.case_id,"
+                                + " cpo.created_by, cpo.created_timestamp, cpo.order_reference,"
+                                + " cpo.responsible_party, cpo.history_exists"
+                                + " FROM case_payment_orders cpo CROSS JOIN (VALUES (0), (1)) AS revision(revtype)"
+                                + " WHERE cpo.case_id >= ?",
+                            FIRST_REVISION, numberOfOrders, FIRST_CASE_ID);
+
+        return LongStream.range(FIRST_CASE_ID, FIRST_CASE_ID + numberOfCases).boxed().toList();
+    }
+
+}
@@ -0,0 +1,238 @@
+package uk.gov.hmcts.reform.cpo.auditlog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes audit entries off the request thread.
+ *
+ * <p>Entries are queued in a bounded buffer and written through a {@link LoggerAuditRepository} by a dedicated
+ * thread, which drains the buffer in batches and hands each batch to it in one call, so it goes to the log in one
+ * write. The {@link OverflowPolicy} decides what happens to an entry that arrives while the buffer is full. Any
+ * entries still queued on shutdown are written before the application stops.</p>
+ *
+ * <p>Each entry carries the request thread's {@link MDC} with it, which is restored around its write so the log line
+ * holds the same request context as if it had been written on the request thread. NB: a log event has only the one
+ * context, so a batch is split wherever the context changes from one entry to the next.</p>
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "audit.log.async.enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncAuditRepository implements AuditRepository, InitializingBean, DisposableBean {
+
+    public enum OverflowPolicy {
+        /** Wait for room in the buffer: nothing is lost but the request is held up. */
+        BLOCK,
+        /** Discard the entry, counting it in {@link #DROPPED_METRIC}. */
+        DROP,
+        /** Write the entry on the request thread instead, counting it in {@link #SPILLED_METRIC}. */
+        SPILL
+    }
+
+    public static final String QUEUE_DEPTH_METRIC = "audit.log.queue.depth";
+    public static final String DROPPED_METRIC = "audit.log.dropped";
+    public static final String SPILLED_METRIC = "audit.log.spilled";
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final AuditRepository delegate;
+
+    private final BlockingQueue<QueuedAuditEntry> queue;
+
+    private final int batchSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Counter droppedCounter;
+
+    private final Counter spilledCounter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Thread writerThread;
+
+    @Autowired
+    public AsyncAuditRepository(AuditLogFormatter auditLogFormatter,
+                                MeterRegistry meterRegistry,
+                                @Value("${audit.log.async.queue-capacity}") int queueCapacity,
+                                @Value("${audit.log.async.batch-size}") int batchSize,
+                                @Value("${audit.log.async.overflow-policy}") OverflowPolicy overflowPolicy) {
+        this(new LoggerAuditRepository(auditLogFormatter), meterRegistry, queueCapacity, batchSize, overflowPolicy);
+    }
+
+    AsyncAuditRepository(AuditRepository delegate, MeterRegistry meterRegistry, int queueCapacity, int batchSize,
+                         OverflowPolicy overflowPolicy) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+
+        Gauge.builder(QUEUE_DEPTH_METRIC, queue, Collection::size)
+            .description("Audit entries waiting to be written")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder(DROPPED_METRIC)
+            .description("Audit entries discarded because the audit buffer was full")
+            .register(meterRegistry);
+        this.spilledCounter = Counter.builder(SPILLED_METRIC)
+            .description("Audit entries written on the request thread because the audit buffer was full")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running.set(true);
+        writerThread = Thread.ofPlatform()
+            .name("audit-log-writer")
+            .daemon()
+            .start(this::writeEntries);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running.set(false);
+        writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        // NB: picks up anything queued as the writer was finishing
+        List<QueuedAuditEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+    }
+
+    @Override
+    public void save(final AuditEntry auditEntry) {
+        if (!running.get()) {
+            // NB: no writer to hand over to, e.g. a request completing during shutdown
+            delegate.save(auditEntry);
+            return;
+        }
+
+        QueuedAuditEntry queuedAuditEntry = new QueuedAuditEntry(auditEntry, MDC.getCopyOfContextMap());
+        switch (overflowPolicy) {
+            case BLOCK -> enqueueOrWait(queuedAuditEntry);
+            case DROP -> {
+                if (!queue.offer(queuedAuditEntry)) {
+                    droppedCounter.increment();
+                }
+            }
+            case SPILL -> {
+                if (!queue.offer(queuedAuditEntry)) {
+                    spilledCounter.increment();
+                    delegate.save(auditEntry);
+                }
+            }
+        }
+    }
+
+    private void enqueueOrWait(QueuedAuditEntry queuedAuditEntry) {
+        try {
+            // NB: waits a little at a time so a full buffer cannot hold the request up past shutdown
+            while (!queue.offer(queuedAuditEntry, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!running.get()) {
+                    delegate.save(queuedAuditEntry.auditEntry);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delegate.save(queuedAuditEntry.auditEntry);
+        }
+    }
+
+    private void writeEntries() {
+        List<QueuedAuditEntry> batch = new ArrayList<>(batchSize);
+        while (running.get() || !queue.isEmpty()) {
+            try {
+                QueuedAuditEntry next = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<QueuedAuditEntry> batch) {
+        // NB: put back afterwards, as on shutdown this runs on a thread with a context of its own
+        Map<String, String> ownContext = MDC.getCopyOfContextMap();
+        try {
+            int start = 0;
+            while (start < batch.size()) {
+                Map<String, String> context = batch.get(start).context;
+                int end = start + 1;
+                while (end < batch.size() && Objects.equals(batch.get(end).context, context)) {
+                    end++;
+                }
+
+                setContext(context);
+                writeSameContext(batch.subList(start, end));
+                start = end;
+            }
+        } finally {
+            setContext(ownContext);
+        }
+    }
+
+    private void writeSameContext(List<QueuedAuditEntry> entries) {
+        List<AuditEntry> auditEntries = new ArrayList<>(entries.size());
+        entries.forEach(queuedAuditEntry -> auditEntries.add(queuedAuditEntry.auditEntry));
+        try {
+            delegate.saveAll(auditEntries);
+        } catch (RuntimeException batchFailure) {
+            // NB: one bad entry must not stop the writer, nor lose the entries batched with it. None of them has been
+            // written, as the log repository formats them all before writing any
+            for (QueuedAuditEntry queuedAuditEntry : entries) {
+                try {
+                    delegate.save(queuedAuditEntry.auditEntry);
+                } catch (RuntimeException e) {
+                    log.error("Failed to write audit entry for request {}",
+                              queuedAuditEntry.auditEntry.getRequestId(), e);
+                }
+            }
+        }
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    private static final class QueuedAuditEntry {
+
+        private final AuditEntry auditEntry;
+
+        private final Map<String, String> context;
+
+        private QueuedAuditEntry(AuditEntry auditEntry, Map<String, String> context) {
+            this.auditEntry = auditEntry;
+            this.context = context;
+        }
+    }
+
+}
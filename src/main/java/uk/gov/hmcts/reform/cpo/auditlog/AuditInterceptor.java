@@ -33,7 +33,7 @@ public class AuditInterceptor implements AsyncHandlerInterceptor {
         if (config.isAuditLogEnabled() && hasAuditAnnotation(handler)) {
             if (!config.isHttpStatusIgnored(response.getStatus())) {
 
-                var auditContext = AuditContextHolder.getAuditContext();
+                var auditContext = AuditContextHolder.getAuditContext(request);
                 auditContext = populateHttpSemantics(auditContext, request, response);
 
                 var logAuditAnnotation = ((HandlerMethod) handler).getMethodAnnotation((LogAudit.class));
@@ -48,7 +48,7 @@ public class AuditInterceptor implements AsyncHandlerInterceptor {
                 }
             }
 
-            AuditContextHolder.remove();
+            AuditContextHolder.remove(request);
         }
     }
 
@@ -1,66 +1,214 @@
 package uk.gov.hmcts.reform.cpo.auditlog;
 
-import com.microsoft.applicationinsights.core.dependencies.google.common.collect.Lists;
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.collections.PredicateUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+/**
+ * Formats an {@link AuditEntry} as a single log line, leaving out blank values. The {@link Format} is either the
+ * original <code>LA-CPO label:value,...</code> line or a JSON object.
+ *
+ * <p>Each line is written straight into a builder, or JSON generator, kept per thread, so no per-entry collections or
+ * intermediate strings are created.</p>
+ */
 @Component
 public class AuditLogFormatter {
 
+    public enum Format {
+        LINE,
+        JSON
+    }
+
     public static final String TAG = "LA-CPO";
 
-    private static final String COMMA = ",";
-    private static final String COLON = ":";
+    private static final char COMMA = ',';
+    private static final char COLON = ':';
+
+    private static final int INITIAL_CAPACITY = 512;
+    // NB: a builder grown past this by an unusually large entry is not kept, so it cannot pin the memory
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    private static final ThreadLocal<StringBuilder> BUILDER =
+        ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final ThreadLocal<JsonLineWriter> JSON_WRITER = ThreadLocal.withInitial(JsonLineWriter::new);
 
     private final int auditLogMaxListSize;
 
+    private final Format format;
+
+    public AuditLogFormatter(int auditLogMaxListSize) {
+        this(auditLogMaxListSize, Format.LINE);
+    }
+
     @Autowired
-    public AuditLogFormatter(@Value("${audit.log.max-list-size:0}") int auditLogMaxListSize) {
+    public AuditLogFormatter(@Value("${audit.log.max-list-size:0}") int auditLogMaxListSize,
+                             @Value("${audit.log.format:LINE}") Format format) {
         this.auditLogMaxListSize = auditLogMaxListSize;
+        this.format = format;
     }
 
     public String format(AuditEntry entry) {
-        List<String> formattedPairs = Lists.newArrayList(
-            getPair("dateTime", entry.getDateTime()),
-            getPair("operationType", entry.getOperationType()),
-            getPair("idamId", entry.getIdamId()),
-            getPair("invokingService", entry.getInvokingService()),
-            getPair("endpointCalled", entry.getHttpMethod() + " " + entry.getRequestPath()),
-            getPair("operationalOutcome", String.valueOf(entry.getHttpStatus())),
-            getPair("cpoId", commaSeparatedList(entry.getCpoIds())),
-            getPair("caseId", commaSeparatedList(entry.getCaseIds())),
-            getPair("X-Request-ID", entry.getRequestId())
-        );
-
-        CollectionUtils.filter(formattedPairs, PredicateUtils.notNullPredicate());
-
-        return TAG + " " + String.join(COMMA, formattedPairs);
+        return format == Format.JSON ? formatJson(entry) : formatLine(entry);
+    }
+
+    private String formatLine(AuditEntry entry) {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+
+        builder.append(TAG).append(' ');
+        int firstPair = builder.length();
+        appendPair(builder, firstPair, "dateTime", entry.getDateTime());
+        appendPair(builder, firstPair, "operationType", entry.getOperationType());
+        appendPair(builder, firstPair, "idamId", entry.getIdamId());
+        appendPair(builder, firstPair, "invokingService", entry.getInvokingService());
+
+        int pairStart = appendLabel(builder, firstPair, "endpointCalled");
+        int valueStart = builder.length();
+        builder.append(entry.getHttpMethod()).append(' ').append(entry.getRequestPath());
+        dropPairIfBlank(builder, pairStart, valueStart);
+
+        appendLabel(builder, firstPair, "operationalOutcome");
+        builder.append(entry.getHttpStatus());
+        appendListPair(builder, firstPair, "cpoId", entry.getCpoIds());
+        appendListPair(builder, firstPair, "caseId", entry.getCaseIds());
+        appendPair(builder, firstPair, "X-Request-ID", entry.getRequestId());
+
+        String formatted = builder.toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            BUILDER.remove();
+        }
+        return formatted;
+    }
+
+    private void appendPair(StringBuilder builder, int firstPair, String label, String value) {
+        if (value != null) {
+            int pairStart = appendLabel(builder, firstPair, label);
+            int valueStart = builder.length();
+            builder.append(value);
+            dropPairIfBlank(builder, pairStart, valueStart);
+        }
+    }
+
+    private void appendListPair(StringBuilder builder, int firstPair, String label, List<String> values) {
+        if (values == null) {
+            return;
+        }
+
+        int pairStart = appendLabel(builder, firstPair, label);
+        int valueStart = builder.length();
+        int size = auditLogMaxListSize > 0 ? Math.min(values.size(), auditLogMaxListSize) : values.size();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(COMMA);
+            }
+            builder.append(values.get(i));
+        }
+        dropPairIfBlank(builder, pairStart, valueStart);
+    }
+
+    /**
+     * Appends the separator and label for a pair, returning where the pair starts.
+     */
+    private int appendLabel(StringBuilder builder, int firstPair, String label) {
+        int pairStart = builder.length();
+        if (pairStart > firstPair) {
+            builder.append(COMMA);
+        }
+        builder.append(label).append(COLON);
+        return pairStart;
+    }
+
+    /**
+     * Takes the pair just appended back out again if its value is blank.
+     */
+    private void dropPairIfBlank(StringBuilder builder, int pairStart, int valueStart) {
+        for (int i = valueStart; i < builder.length(); i++) {
+            if (!Character.isWhitespace(builder.charAt(i))) {
+                return;
+            }
+        }
+        builder.setLength(pairStart);
+    }
+
+    private String formatJson(AuditEntry entry) {
+        JsonLineWriter jsonWriter = JSON_WRITER.get();
+        JsonGenerator generator = jsonWriter.generator;
+        try {
+            generator.writeStartObject();
+            writeStringField(generator, "tag", TAG);
+            writeStringField(generator, "dateTime", entry.getDateTime());
+            writeStringField(generator, "operationType", entry.getOperationType());
+            writeStringField(generator, "idamId", entry.getIdamId());
+            writeStringField(generator, "invokingService", entry.getInvokingService());
+            writeStringField(generator, "httpMethod", entry.getHttpMethod());
+            writeStringField(generator, "requestPath", entry.getRequestPath());
+            generator.writeNumberField("httpStatus", entry.getHttpStatus());
+            writeArrayField(generator, "cpoIds", entry.getCpoIds());
+            writeArrayField(generator, "caseIds", entry.getCaseIds());
+            writeStringField(generator, "requestId", entry.getRequestId());
+            generator.writeEndObject();
+            generator.flush();
+            StringBuffer buffer = jsonWriter.writer.getBuffer();
+            String formatted = buffer.toString();
+            buffer.setLength(0);
+            return formatted;
+        } catch (IOException e) {
+            // NB: the generator may be part way through an object, so start the next entry on a fresh one
+            JSON_WRITER.remove();
+            throw new UncheckedIOException("Failed to write audit entry as JSON", e);
+        }
     }
 
-    private String commaSeparatedList(List<String> list) {
-        if (list == null) {
-            return null;
+    private void writeStringField(JsonGenerator generator, String name, String value) throws IOException {
+        if (isNotBlank(value)) {
+            generator.writeStringField(name, value);
         }
+    }
 
-        Stream<String> stream = list.stream();
-        if (this.auditLogMaxListSize > 0) {
-            stream = stream.limit(this.auditLogMaxListSize);
+    private void writeArrayField(JsonGenerator generator, String name, List<String> values) throws IOException {
+        if (values == null || values.isEmpty()) {
+            return;
         }
 
-        return stream.collect(Collectors.joining(COMMA));
+        int size = auditLogMaxListSize > 0 ? Math.min(values.size(), auditLogMaxListSize) : values.size();
+        generator.writeArrayFieldStart(name);
+        for (int i = 0; i < size; i++) {
+            generator.writeString(values.get(i));
+        }
+        generator.writeEndArray();
     }
 
-    private String getPair(String label, String value) {
-        return isNotBlank(value) ? label + COLON + value : null;
+    /**
+     * A JSON generator bound to the writer it fills, kept per thread and reused for every entry.
+     */
+    private static final class JsonLineWriter {
+
+        private final StringWriter writer = new StringWriter(INITIAL_CAPACITY);
+
+        private final JsonGenerator generator;
+
+        private JsonLineWriter() {
+            try {
+                generator = JSON_FACTORY.createGenerator(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // NB: each entry is its own line, so nothing goes between one entry and the next
+            generator.setRootValueSeparator(null);
+        }
+
     }
 
 }
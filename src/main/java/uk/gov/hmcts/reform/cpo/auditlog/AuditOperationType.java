@@ -4,6 +4,7 @@ public enum AuditOperationType {
     CREATE_CASE_PAYMENT_ORDER("CreateCasePaymentOrder"),
     DELETE_CASE_PAYMENT_ORDER("DeleteCasePaymentOrder"),
     GET_CASE_PAYMENT_ORDER("GetCasePaymentOrder"),
+    GET_CASE_PAYMENT_ORDER_HISTORY("GetCasePaymentOrderHistory"),
     UPDATE_CASE_PAYMENT_ORDER("UpdateCasePaymentOrder");
 
     private final String label;
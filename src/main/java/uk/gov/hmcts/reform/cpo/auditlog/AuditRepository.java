@@ -1,7 +1,16 @@
 package uk.gov.hmcts.reform.cpo.auditlog;
 
+import java.util.List;
+
 public interface AuditRepository {
 
     void save(AuditEntry auditEntry);
 
+    /**
+     * Saves several audit entries at once, by default one at a time.
+     */
+    default void saveAll(List<AuditEntry> auditEntries) {
+        auditEntries.forEach(this::save);
+    }
+
 }
@@ -2,10 +2,18 @@ package uk.gov.hmcts.reform.cpo.auditlog;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
+/**
+ * Writes audit entries straight to the log on the calling thread. Used on its own when the asynchronous audit log is
+ * switched off, otherwise as the sink behind {@link AsyncAuditRepository}.
+ */
 @Repository
 @Slf4j
+@ConditionalOnProperty(name = "audit.log.async.enabled", havingValue = "false")
 public class LoggerAuditRepository implements AuditRepository {
 
     private final AuditLogFormatter logFormatter;
@@ -20,4 +28,24 @@ public class LoggerAuditRepository implements AuditRepository {
         log.info(logFormatter.format(auditEntry));
     }
 
+    /**
+     * Writes the entries as one log event, each on a line of its own, so the appender writes them all in one go.
+     */
+    @Override
+    public void saveAll(final List<AuditEntry> auditEntries) {
+        if (auditEntries.size() <= 1) {
+            auditEntries.forEach(this::save);
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (AuditEntry auditEntry : auditEntries) {
+            if (!lines.isEmpty()) {
+                lines.append(System.lineSeparator());
+            }
+            lines.append(logFormatter.format(auditEntry));
+        }
+        log.info(lines.toString());
+    }
+
 }
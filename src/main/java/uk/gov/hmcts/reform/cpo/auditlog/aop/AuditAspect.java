@@ -1,31 +1,24 @@
 package uk.gov.hmcts.reform.cpo.auditlog.aop;
 
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.expression.AnnotatedElementKey;
-import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.cpo.auditlog.LogAudit;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
 @ConditionalOnProperty(name = "audit.log.enabled", havingValue = "true")
-@Slf4j
 public class AuditAspect {
 
-    private static final String RESULT_VARIABLE = "result";
-
-    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+    private final Map<Method, AuditExtractionPlan> extractionPlans = new ConcurrentHashMap<>(64);
 
     @Around(value = "@annotation(logAudit)")
     public Object audit(ProceedingJoinPoint joinPoint, LogAudit logAudit) throws Throwable {
@@ -36,59 +29,18 @@ public class AuditAspect {
             return result;
 
         } finally {
-            String cpoId =  getValue(joinPoint, logAudit.cpoId(), result, String.class);
-            List<String> cpoIds =  getValueAsList(joinPoint, logAudit.cpoIds(), result);
-            String caseId =  getValue(joinPoint, logAudit.caseId(), result, String.class);
-            List<String> caseIds =  getValueAsList(joinPoint, logAudit.caseIds(), result);
-
-            AuditContextHolder.setAuditContext(AuditContext.auditContextWith()
-                                                   .auditOperationType(logAudit.operationType())
-                                                   .cpoIds(combineStringAndList(cpoIds, cpoId))
-                                                   .caseIds(combineStringAndList(caseIds, caseId))
-                                                   .build());
-        }
-    }
-
-    private <T> T getValue(JoinPoint joinPoint, String condition, Object result, Class<T> returnType) {
-        if (StringUtils.isNotBlank(condition) && !(result == null && condition.contains(RESULT_VARIABLE))) {
-            var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
-
-            try {
-                var evaluationContext = evaluator.createEvaluationContext(joinPoint.getThis(),
-                                                                                        joinPoint.getThis().getClass(),
-                                                                                        method,
-                                                                                        joinPoint.getArgs());
-                evaluationContext.setVariable(RESULT_VARIABLE, result);
-                var methodKey = new AnnotatedElementKey(method, joinPoint.getThis().getClass());
-                return evaluator.condition(condition, methodKey, evaluationContext, returnType);
-
-            } catch (SpelEvaluationException ex) {
-                log.warn("Error evaluating LogAudit annotation expression:{} on method:{}",
-                         condition, method.getName(), ex);
-                return null;
-            }
-
+            AuditContextHolder.setAuditContext(getExtractionPlan(joinPoint, logAudit)
+                                                   .createAuditContext(joinPoint.getThis(),
+                                                                       joinPoint.getArgs(),
+                                                                       result));
         }
-
-        return null;
     }
 
-    private List<String> getValueAsList(JoinPoint joinPoint, String condition, Object result) {
-        List<?> response = getValue(joinPoint, condition, result, List.class);
+    private AuditExtractionPlan getExtractionPlan(ProceedingJoinPoint joinPoint, LogAudit logAudit) {
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
 
-        return response != null ? response.stream().map(Object::toString).collect(Collectors.toList()) : null;
-    }
-
-    private List<String> combineStringAndList(List<String> list, String value) {
-        if (StringUtils.isNotBlank(value)) {
-            if (list == null) {
-                list = new ArrayList<>();
-            }
-            list.add(value);
-        }
-
-        return list;
+        return extractionPlans.computeIfAbsent(method, m -> AuditExtractionPlan.of(
+            AopUtils.getMostSpecificMethod(m, joinPoint.getThis().getClass()), logAudit));
     }
 
 }
-
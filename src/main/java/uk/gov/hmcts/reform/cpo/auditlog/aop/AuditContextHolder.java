@@ -1,22 +1,42 @@
 package uk.gov.hmcts.reform.cpo.auditlog.aop;
 
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Carries the {@link AuditContext} of a request from the {@link AuditAspect}, which fills in its IDs, to the
+ * {@link uk.gov.hmcts.reform.cpo.auditlog.AuditInterceptor}, which logs it.
+ *
+ * <p>The context is held as an attribute of the request itself, so it is discarded along with the request and is
+ * never seen by another one. Nothing is kept against the thread, whether a pooled platform thread or a virtual
+ * thread, nor copied to the threads it starts.</p>
+ */
 public class AuditContextHolder {
 
+    static final String AUDIT_CONTEXT_ATTRIBUTE = AuditContextHolder.class.getName() + ".AUDIT_CONTEXT";
+
     private AuditContextHolder() {
     }
 
-    private static final InheritableThreadLocal<AuditContext> threadLocal = new InheritableThreadLocal<>();
-
+    /**
+     * Sets the audit context on the request being handled by the current thread, if there is one.
+     */
     public static void setAuditContext(AuditContext auditContext) {
-        threadLocal.set(auditContext);
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        // NB: outside of a request there is no interceptor to log the context, so there is nothing to keep
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(AUDIT_CONTEXT_ATTRIBUTE, auditContext, RequestAttributes.SCOPE_REQUEST);
+        }
     }
 
-    public static AuditContext getAuditContext() {
-        return threadLocal.get();
+    public static AuditContext getAuditContext(HttpServletRequest request) {
+        return (AuditContext) request.getAttribute(AUDIT_CONTEXT_ATTRIBUTE);
     }
 
-    public static void remove() {
-        threadLocal.remove();
+    public static void remove(HttpServletRequest request) {
+        request.removeAttribute(AUDIT_CONTEXT_ATTRIBUTE);
     }
 
 }
@@ -0,0 +1,254 @@
+package uk.gov.hmcts.reform.cpo.auditlog.aop;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ReflectionUtils;
+import uk.gov.hmcts.reform.cpo.auditlog.LogAudit;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * How {@link AuditAspect} pulls the IDs for a {@link LogAudit} method out of its arguments and result, worked out
+ * once per method.
+ *
+ * <p>Simple forms such as <code>#result.id</code> or <code>#requestPayload.caseId</code> are read with a direct
+ * getter call. Anything else is a SpEL expression, parsed once and compiled to bytecode once it has run a number of
+ * times. NB: compiled for the argument types it has seen, so it is interpreted again should a later call pass other
+ * types, e.g. a different implementation of a declared interface.</p>
+ */
+@Slf4j
+final class AuditExtractionPlan {
+
+    static final String RESULT_VARIABLE = "result";
+
+    private static final int RESULT_INDEX = -1;
+
+    // #variable or #variable.property
+    private static final Pattern SIMPLE_FORM = Pattern.compile("#(\\w+)(?:\\.(\\w+))?");
+
+    // shared param discoverer since it caches data internally
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private final LogAudit logAudit;
+
+    private final String methodName;
+
+    private final Map<String, Integer> variableIndexes;
+
+    private final SpelExpressionParser parser;
+
+    private final Extractor cpoId;
+    private final Extractor cpoIds;
+    private final Extractor caseId;
+    private final Extractor caseIds;
+
+    private AuditExtractionPlan(Method method, LogAudit logAudit) {
+        this.logAudit = logAudit;
+        this.methodName = method.getName();
+        this.variableIndexes = variableIndexes(method);
+        this.parser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, method.getDeclaringClass().getClassLoader()));
+
+        this.cpoId = extractor(method, logAudit.cpoId(), false);
+        this.cpoIds = extractor(method, logAudit.cpoIds(), true);
+        this.caseId = extractor(method, logAudit.caseId(), false);
+        this.caseIds = extractor(method, logAudit.caseIds(), true);
+    }
+
+    /**
+     * Builds the plan for a method, which should be the most specific method for the target class so that its
+     * parameter names can be found.
+     */
+    static AuditExtractionPlan of(Method method, LogAudit logAudit) {
+        return new AuditExtractionPlan(method, logAudit);
+    }
+
+    AuditContext createAuditContext(Object target, Object[] args, Object result) {
+        Invocation invocation = new Invocation(target, args, result);
+
+        return AuditContext.auditContextWith()
+            .auditOperationType(logAudit.operationType())
+            .cpoIds(combineStringAndList(asList(cpoIds.extract(invocation)), asString(cpoId.extract(invocation))))
+            .caseIds(combineStringAndList(asList(caseIds.extract(invocation)), asString(caseId.extract(invocation))))
+            .build();
+    }
+
+    private Extractor extractor(Method method, String expression, boolean list) {
+        if (StringUtils.isBlank(expression)) {
+            return invocation -> null;
+        }
+
+        Matcher simpleForm = SIMPLE_FORM.matcher(expression);
+        if (simpleForm.matches() && variableIndexes.containsKey(simpleForm.group(1))) {
+            int index = variableIndexes.get(simpleForm.group(1));
+            Class<?> variableType = index == RESULT_INDEX ? method.getReturnType() : method.getParameterTypes()[index];
+            Extractor direct = directExtractor(index, variableType, simpleForm.group(2), list);
+            if (direct != null) {
+                return direct;
+            }
+        }
+
+        return spelExtractor(expression, list);
+    }
+
+    /**
+     * Reads the variable, or one of its properties, straight off the invocation. Returns null when that cannot be
+     * done safely for the declared types, in which case the expression is left to SpEL.
+     */
+    private Extractor directExtractor(int index, Class<?> variableType, String property, boolean list) {
+        if (property == null) {
+            return !list || Collection.class.isAssignableFrom(variableType)
+                ? invocation -> invocation.variable(index)
+                : null;
+        }
+
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(variableType, property);
+        Method getter = descriptor != null ? descriptor.getReadMethod() : null;
+        if (getter == null || (list && !Collection.class.isAssignableFrom(getter.getReturnType()))) {
+            return null;
+        }
+
+        ReflectionUtils.makeAccessible(getter);
+        return invocation -> {
+            Object value = invocation.variable(index);
+            return value != null ? ReflectionUtils.invokeMethod(getter, value) : null;
+        };
+    }
+
+    private Extractor spelExtractor(String expressionString, boolean list) {
+        Expression expression = parser.parseExpression(expressionString);
+        Class<?> returnType = list ? List.class : String.class;
+        boolean usesResult = expressionString.contains(RESULT_VARIABLE);
+
+        return invocation -> {
+            if (usesResult && invocation.result == null) {
+                return null;
+            }
+
+            try {
+                return expression.getValue(invocation.evaluationContext(), returnType);
+            } catch (SpelEvaluationException ex) {
+                log.warn("Error evaluating LogAudit annotation expression:{} on method:{}",
+                         expressionString, methodName, ex);
+                return null;
+            }
+        };
+    }
+
+    private String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private List<String> asList(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        Collection<?> values = (Collection<?>) value;
+        List<String> strings = new ArrayList<>(values.size() + 1);
+        for (Object element : values) {
+            strings.add(element.toString());
+        }
+        return strings;
+    }
+
+    private List<String> combineStringAndList(List<String> list, String value) {
+        if (StringUtils.isNotBlank(value)) {
+            if (list == null) {
+                list = new ArrayList<>();
+            }
+            list.add(value);
+        }
+
+        return list;
+    }
+
+    /**
+     * Maps each name an argument can be referred to by, i.e. its parameter name, <code>a0</code> or
+     * <code>p0</code>, to its index. The result is mapped to {@link #RESULT_INDEX}.
+     */
+    private static Map<String, Integer> variableIndexes(Method method) {
+        Map<String, Integer> indexes = new HashMap<>();
+        String[] parameterNames = PARAMETER_NAME_DISCOVERER.getParameterNames(method);
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            indexes.put("a" + i, i);
+            indexes.put("p" + i, i);
+            if (parameterNames != null) {
+                indexes.put(parameterNames[i], i);
+            }
+        }
+        indexes.put(RESULT_VARIABLE, RESULT_INDEX);
+        return Map.copyOf(indexes);
+    }
+
+    @FunctionalInterface
+    private interface Extractor {
+        Object extract(Invocation invocation);
+    }
+
+    /**
+     * The arguments and result of one call, along with the evaluation context for any SpEL expressions, created on
+     * first use and shared by them all.
+     */
+    private final class Invocation {
+
+        private final Object target;
+        private final Object[] args;
+        private final Object result;
+
+        private StandardEvaluationContext evaluationContext;
+
+        private Invocation(Object target, Object[] args, Object result) {
+            this.target = target;
+            this.args = args;
+            this.result = result;
+        }
+
+        private Object variable(int index) {
+            if (index == RESULT_INDEX) {
+                return result;
+            }
+            return index < args.length ? args[index] : null;
+        }
+
+        private StandardEvaluationContext evaluationContext() {
+            if (evaluationContext == null) {
+                evaluationContext = new StandardEvaluationContext(new ExpressionRootObject(target, args)) {
+                    @Override
+                    public Object lookupVariable(String name) {
+                        Integer index = variableIndexes.get(name);
+                        return index != null ? variable(index) : super.lookupVariable(name);
+                    }
+                };
+            }
+            return evaluationContext;
+        }
+    }
+
+    @AllArgsConstructor
+    @Getter
+    private static class ExpressionRootObject {
+        private final Object object;
+        private final Object[] args;
+    }
+
+}
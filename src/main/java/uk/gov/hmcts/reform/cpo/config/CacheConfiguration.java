@@ -1,17 +1,92 @@
 package uk.gov.hmcts.reform.cpo.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.cpo.security.UserInfoCacheKey;
+
+import java.time.Clock;
+import java.time.Duration;
 
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    public static final String USER_INFO_CACHE = "userInfoCache";
+
+    public static final String CASE_PAYMENT_ORDERS_CACHE = "casePaymentOrdersByCaseIdCache";
+
+    // postgres channel carrying the case ids written to, so every instance can evict its own cache entries
+    public static final String CASE_PAYMENT_ORDERS_CHANNEL = "cpo_case_ids_changed";
+
+    @Value("${cache.user-info.maximum-size}")
+    private long userInfoMaximumSize;
+
+    @Value("${cache.user-info.max-time-to-live}")
+    private Duration userInfoMaxTimeToLive;
+
+    @Value("${cache.case-payment-orders.maximum-weight}")
+    private long casePaymentOrdersMaximumWeight;
+
+    @Value("${cache.case-payment-orders.expire-after-write}")
+    private Duration casePaymentOrdersExpireAfterWrite;
+
     @Bean
     public CacheManagerCustomizer<CaffeineCacheManager> cacheManagerCustomizer() {
-        return cacheManager -> cacheManager.setAllowNullValues(false);
+        return cacheManager -> {
+            cacheManager.setAllowNullValues(false);
+            // NB: async so that concurrent misses for one token can wait on a single IDAM call, see IdamRepository
+            cacheManager.registerCustomCache(USER_INFO_CACHE, Caffeine.newBuilder()
+                .maximumSize(userInfoMaximumSize)
+                .expireAfter(new UserInfoExpiry(Clock.systemUTC(), userInfoMaxTimeToLive))
+                .recordStats()
+                .buildAsync());
+            cacheManager.registerCustomCache(CASE_PAYMENT_ORDERS_CACHE, Caffeine.newBuilder()
+                // weighed by the number of case payment orders held, so a few large cases cannot crowd out the rest
+                .maximumWeight(casePaymentOrdersMaximumWeight)
+                .weigher((Object caseId, Object casePaymentOrders) ->
+                             casePaymentOrders instanceof Object[] array ? Math.max(1, array.length) : 1)
+                .expireAfterWrite(casePaymentOrdersExpireAfterWrite)
+                .recordStats()
+                .build());
+        };
+    }
+
+    /**
+     * Expires each user info entry when its token does, see {@link UserInfoCacheKey#timeToLive(Clock, Duration)}.
+     */
+    public static class UserInfoExpiry implements Expiry<Object, Object> {
+
+        private final Clock clock;
+
+        private final Duration maxTimeToLive;
+
+        public UserInfoExpiry(Clock clock, Duration maxTimeToLive) {
+            this.clock = clock;
+            this.maxTimeToLive = maxTimeToLive;
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            Duration timeToLive = key instanceof UserInfoCacheKey userInfoCacheKey
+                ? userInfoCacheKey.timeToLive(clock, maxTimeToLive)
+                : maxTimeToLive;
+            return timeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
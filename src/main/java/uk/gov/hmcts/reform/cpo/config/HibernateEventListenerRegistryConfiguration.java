@@ -24,11 +24,11 @@ public class HibernateEventListenerRegistryConfiguration {
      * <p>This ensures Envers does not get triggered when entities are deleted, and so the audit table
      * is not updated with audit entries relating to entity deletion.</p>
      *
-     * <p>On deletion of an entity, all audit related entries in the audit table are deleted by calls to
+     * <p>On deletion of an entity, all audit related entries in the audit table are deleted along with it by
      *
      * <ul>
-     *     <li>{@code void deleteAuditEntriesByUuids(List<UUID> uuids)}</li>
-     *     <li>{@code void deleteAuditEntriesByCaseIds(List<Long> caseIds)}</li>
+     *     <li>{@code List<Long> deleteByUuids(List<UUID> uuids)}</li>
+     *     <li>{@code void deleteByCaseIds(List<Long> caseIds)}</li>
      * </ul>
      *
      * <p>on the {@code CasePaymentOrdersRepository} by the {@code CasePaymentOrdersServiceImpl}</p>
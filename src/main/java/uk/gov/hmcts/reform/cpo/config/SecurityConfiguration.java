@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.cpo.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -14,12 +15,14 @@ import org.springframework.security.oauth2.jwt.JwtDecoders;
 import org.springframework.security.oauth2.jwt.JwtIssuerValidator;
 import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
 import uk.gov.hmcts.reform.authorisation.filters.ServiceAuthFilter;
-import uk.gov.hmcts.reform.cpo.security.JwtGrantedAuthoritiesConverter;
+import uk.gov.hmcts.reform.cpo.security.SecurityUtils;
+import uk.gov.hmcts.reform.cpo.security.ServiceBulkheadFilter;
+import uk.gov.hmcts.reform.cpo.security.ServiceBulkheads;
+import uk.gov.hmcts.reform.cpo.security.UserInfoJwtAuthenticationConverter;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
@@ -33,7 +36,8 @@ public class SecurityConfiguration {
     private String issuerOverride;
 
     private final ServiceAuthFilter serviceAuthFilter;
-    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+    private final UserInfoJwtAuthenticationConverter userInfoJwtAuthenticationConverter;
+    private final ServiceBulkheadFilter serviceBulkheadFilter;
 
     private static final String[] AUTH_ALLOWED_LIST = {
         "/**/webjars/**",
@@ -52,10 +56,14 @@ public class SecurityConfiguration {
 
     @Autowired
     public SecurityConfiguration(final ServiceAuthFilter serviceAuthFilter,
-            final JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter) {
+            final UserInfoJwtAuthenticationConverter userInfoJwtAuthenticationConverter,
+            final ServiceBulkheads serviceBulkheads,
+            final SecurityUtils securityUtils,
+            final ObjectMapper objectMapper) {
         this.serviceAuthFilter = serviceAuthFilter;
-        jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter);
+        // NB: attaches the user info to the authentication so it is only looked up once per request
+        this.userInfoJwtAuthenticationConverter = userInfoJwtAuthenticationConverter;
+        this.serviceBulkheadFilter = new ServiceBulkheadFilter(serviceBulkheads, securityUtils, objectMapper);
     }
 
     @Bean
@@ -72,6 +80,9 @@ public class SecurityConfiguration {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .addFilterBefore(serviceAuthFilter, BearerTokenAuthenticationFilter.class)
+            // NB: limits each S2S service once its token is verified, but before the user is looked up in IDAM. Filters
+            // added at the same place run in the order they were added, so this runs after the ServiceAuthFilter
+            .addFilterBefore(serviceBulkheadFilter, BearerTokenAuthenticationFilter.class)
             .sessionManagement((sessionManagement) -> sessionManagement.sessionCreationPolicy(STATELESS))
             .csrf((csrf) -> csrf.disable())
             .formLogin((formLogin) -> formLogin.disable())
@@ -79,7 +90,7 @@ public class SecurityConfiguration {
             .authorizeHttpRequests((authHttp) -> authHttp.anyRequest().authenticated())
             .oauth2ResourceServer((oauth2) ->
                                       oauth2.jwt((jwt) ->
-                                                     jwt.jwtAuthenticationConverter(jwtAuthenticationConverter)));
+                                                     jwt.jwtAuthenticationConverter(userInfoJwtAuthenticationConverter)));
         return http.build();
     }
 
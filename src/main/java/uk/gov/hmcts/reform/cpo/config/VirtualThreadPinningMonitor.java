@@ -0,0 +1,124 @@
+package uk.gov.hmcts.reform.cpo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, e.g. blocking inside a <code>synchronized</code>
+ * block, as pinned virtual threads hold up every other virtual thread waiting for a carrier.
+ *
+ * <p>Streams JFR's <code>jdk.VirtualThreadPinned</code> events for pins longer than the threshold, counting them all
+ * in {@link #PINNED_METRIC} and logging the stack trace the first time each call site pins.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    public static final String PINNED_METRIC = "jvm.threads.virtual.pinned";
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_LOGGED_CALL_SITES = 100;
+    private static final int MAX_LOGGED_FRAMES = 20;
+
+    private final Duration threshold;
+
+    private final Counter pinnedCounter;
+
+    private final Set<String> loggedCallSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning.threshold}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder(PINNED_METRIC)
+            .description("Virtual threads pinned to their carrier thread for longer than " + threshold.toMillis()
+                             + "ms")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void stop() {
+        recordingStream.close();
+        recordingStream = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String callSite = callSite(frames);
+        // NB: bounded so a stream of distinct call sites cannot grow it, later ones are still counted
+        if (loggedCallSites.size() < MAX_LOGGED_CALL_SITES && loggedCallSites.add(callSite)) {
+            log.warn("Virtual thread pinned to its carrier for {}ms at {}\n\tat {}",
+                     event.getDuration().toMillis(),
+                     callSite,
+                     frames.stream()
+                         .limit(MAX_LOGGED_FRAMES)
+                         .map(this::describe)
+                         .collect(Collectors.joining("\n\tat ")));
+        }
+    }
+
+    private List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    /**
+     * The first frame outside of the JDK, which is where the pin was caused rather than where it was noticed.
+     */
+    private String callSite(List<RecordedFrame> frames) {
+        return frames.stream()
+            .filter(frame -> !isJdkFrame(frame))
+            .findFirst()
+            .or(() -> frames.stream().findFirst())
+            .map(this::describe)
+            .orElse("unknown");
+    }
+
+    private boolean isJdkFrame(RecordedFrame frame) {
+        String typeName = frame.getMethod().getType().getName();
+        return typeName.startsWith("java.") || typeName.startsWith("jdk.") || typeName.startsWith("sun.");
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + ":" + frame.getLineNumber();
+    }
+
+}
@@ -9,14 +9,18 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -26,19 +30,27 @@ import org.springframework.web.bind.annotation.RestController;
 import uk.gov.hmcts.reform.cpo.auditlog.AuditOperationType;
 import uk.gov.hmcts.reform.cpo.auditlog.LogAudit;
 import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderCreateResult;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderCursorPage;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderHistoryPage;
+import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrdersFilterException;
 import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrderRequest;
+import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrdersRequest;
 import uk.gov.hmcts.reform.cpo.payload.UpdateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderQueryFilter;
 import uk.gov.hmcts.reform.cpo.security.AuthError;
 import uk.gov.hmcts.reform.cpo.service.CasePaymentOrdersService;
+import uk.gov.hmcts.reform.cpo.validators.CaseId;
+import uk.gov.hmcts.reform.cpo.validators.CpoId;
 import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 import uk.gov.hmcts.reform.cpo.validators.annotation.ValidCaseId;
 import uk.gov.hmcts.reform.cpo.validators.annotation.ValidCpoId;
 
 import jakarta.validation.Valid;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -52,8 +64,14 @@ public class CasePaymentOrdersController {
 
     @SuppressWarnings({"squid:S1075"})
     public static final String CASE_PAYMENT_ORDERS_PATH = "/case-payment-orders";
+    public static final String BULK_CASE_PAYMENT_ORDERS_PATH = CASE_PAYMENT_ORDERS_PATH + "/bulk";
+    public static final String CASE_PAYMENT_ORDER_HISTORY_PATH = CASE_PAYMENT_ORDERS_PATH + "/{id}/history";
+    public static final String CASE_PAYMENT_ORDERS_HISTORY_PATH = CASE_PAYMENT_ORDERS_PATH + "/history";
+    public static final String CASE_ID = "case_id";
     public static final String CASE_IDS = "case_ids";
     public static final String IDS = "ids";
+    public static final String CURSOR = "cursor";
+    public static final String INCLUDE_TOTALS = "include_totals";
 
     private final CasePaymentOrdersService casePaymentOrdersService;
 
@@ -114,6 +132,54 @@ public class CasePaymentOrdersController {
         return casePaymentOrdersService.createCasePaymentOrder(requestPayload);
     }
 
+    @PostMapping(path = BULK_CASE_PAYMENT_ORDERS_PATH, consumes = APPLICATION_JSON_VALUE,
+        produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create Case Payment Orders",
+        description = "Create a list of Case Payment Orders in a single transaction. Each item reports whether it "
+            + "was created or conflicts with an existing Order Reference on the case.")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Result of creating each Case Payment Order, in request order"
+            ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "One or more of the following reasons:"
+                + "\n1) " + ValidationError.CPOS_REQUIRED
+                + "\n2) " + ValidationError.CPOS_TOO_MANY
+                + "\n3) " + ValidationError.CASE_ID_INVALID
+                + "\n4) " + ValidationError.CASE_ID_REQUIRED
+                + "\n5) " + ValidationError.ACTION_REQUIRED
+                + "\n6) " + ValidationError.RESPONSIBLE_PARTY_REQUIRED
+                + "\n7) " + ValidationError.ORDER_REFERENCE_INVALID
+                + "\n8) " + ValidationError.ORDER_REFERENCE_REQUIRED
+                + "\n9) " + ValidationError.IDAM_ID_RETRIEVE_ERROR
+            ),
+        @ApiResponse(
+            responseCode = "401",
+            description = AuthError.AUTHENTICATION_TOKEN_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "403",
+            description = AuthError.UNAUTHORISED_S2S_SERVICE
+            ),
+        @ApiResponse(
+            responseCode = "409",
+            description = ValidationError.CASE_ID_ORDER_REFERENCE_UNIQUE
+            )
+    })
+    @LogAudit(
+        operationType = AuditOperationType.CREATE_CASE_PAYMENT_ORDER,
+        cpoIds = "#result.?[casePaymentOrder != null].![casePaymentOrder.id]",
+        caseIds = "#requestPayload.casePaymentOrders.![caseId]"
+    )
+    @PreAuthorize("@securityUtils.hasCreatePermission()")
+    public List<CasePaymentOrderCreateResult> createCasePaymentOrdersRequest(@Valid @RequestBody
+                                                                             CreateCasePaymentOrdersRequest
+                                                                                 requestPayload) {
+        return casePaymentOrdersService.createCasePaymentOrders(requestPayload.getCasePaymentOrders());
+    }
+
     @GetMapping(path = CASE_PAYMENT_ORDERS_PATH, produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get payment orders for a case", description = "Get payment orders for a case")
     @ApiResponses({
@@ -161,18 +227,18 @@ public class CasePaymentOrdersController {
     public Page<CasePaymentOrder> getCasePaymentOrders(@Parameter(description = "list of case payment orders ids")
                                                        @ValidCpoId
                                                        @RequestParam(name = IDS, required = false)
-                                                           Optional<List<String>> ids,
+                                                           Optional<List<CpoId>> ids,
                                                        @Parameter(description = "list of ccd case reference numbers")
                                                        @ValidCaseId
                                                        @RequestParam(name = CASE_IDS, required = false)
-                                                           Optional<List<String>> caseIds,
+                                                           Optional<List<CaseId>> caseIds,
                                                        @Parameter(hidden = true) Pageable pageable
 
     ) {
 
         final var casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
-            .cpoIds(ids.orElse(Collections.emptyList()))
-            .caseIds(caseIds.orElse(Collections.emptyList()))
+            .cpoIds(toUuids(ids))
+            .caseIds(toLongs(caseIds))
             .pageable(pageable)
             .build();
 
@@ -183,6 +249,235 @@ public class CasePaymentOrdersController {
         return casePaymentOrdersService.getCasePaymentOrders(casePaymentOrderQueryFilter);
     }
 
+    @GetMapping(path = CASE_PAYMENT_ORDERS_PATH, params = {INCLUDE_TOTALS + "=false", "!" + CURSOR},
+        produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get payment orders for a case without totals",
+        description = "Get payment orders for a case as a slice: the total element and page counts are not "
+            + "calculated, so only whether this is the last slice is reported.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "One or more of the following reasons:"
+                + "\n1) " + ValidationError.CPO_FILTER_ERROR
+                + "\n2) " + ValidationError.CASE_ID_INVALID
+                + "\n3) " + ValidationError.ID_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "401",
+            description = AuthError.AUTHENTICATION_TOKEN_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "403",
+            description = AuthError.UNAUTHORISED_S2S_SERVICE
+            ),
+        @ApiResponse(
+            responseCode = "404",
+            description = ValidationError.CPOS_NOT_FOUND
+            ),
+    })
+    @Parameters({
+        @Parameter(name = "page", description = "page number, indexes from (0,1) to page-size.",
+            in = ParameterIn.QUERY),
+        @Parameter(name = "size", description = "page size", in = ParameterIn.QUERY),
+        @Parameter(name = INCLUDE_TOTALS, description = "must be false: total element and page counts are skipped",
+            in = ParameterIn.QUERY, required = true)
+    })
+    @LogAudit(
+        operationType = AuditOperationType.GET_CASE_PAYMENT_ORDER,
+        cpoIds = "T(uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController).buildOptionalIds(#ids)",
+        caseIds  = "T(uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController).buildOptionalIds(#caseIds)"
+    )
+    @PreAuthorize("@securityUtils.hasReadPermission()")
+    public Slice<CasePaymentOrder> getCasePaymentOrdersSlice(
+        @Parameter(description = "list of case payment orders ids")
+        @ValidCpoId
+        @RequestParam(name = IDS, required = false)
+            Optional<List<CpoId>> ids,
+        @Parameter(description = "list of ccd case reference numbers")
+        @ValidCaseId
+        @RequestParam(name = CASE_IDS, required = false)
+            Optional<List<CaseId>> caseIds,
+        @Parameter(hidden = true) Pageable pageable
+    ) {
+
+        final var casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+            .cpoIds(toUuids(ids))
+            .caseIds(toLongs(caseIds))
+            .pageable(pageable)
+            .build();
+
+        if (casePaymentOrderQueryFilter.noFilters()) {
+            return new SliceImpl<>(emptyList());
+        }
+        casePaymentOrderQueryFilter.validateCasePaymentOrdersFiltering();
+        return casePaymentOrdersService.getCasePaymentOrdersSlice(casePaymentOrderQueryFilter);
+    }
+
+    @GetMapping(path = CASE_PAYMENT_ORDERS_PATH, params = CURSOR, produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get payment orders for a case using keyset pagination",
+        description = "Get payment orders for a case, ordered by case ID and order reference. Supply an empty "
+            + "cursor for the first page then the returned next_cursor for each following page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "One or more of the following reasons:"
+                + "\n1) " + ValidationError.CPO_FILTER_ERROR
+                + "\n2) " + ValidationError.CASE_ID_INVALID
+                + "\n3) " + ValidationError.ID_INVALID
+                + "\n4) " + ValidationError.CPO_CURSOR_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "401",
+            description = AuthError.AUTHENTICATION_TOKEN_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "403",
+            description = AuthError.UNAUTHORISED_S2S_SERVICE
+            ),
+        @ApiResponse(
+            responseCode = "404",
+            description = ValidationError.CPOS_NOT_FOUND
+            ),
+    })
+    @Parameters({
+        @Parameter(name = "size", description = "page size", in = ParameterIn.QUERY)
+    })
+    @LogAudit(
+        operationType = AuditOperationType.GET_CASE_PAYMENT_ORDER,
+        cpoIds = "T(uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController).buildOptionalIds(#ids)",
+        caseIds  = "T(uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController).buildOptionalIds(#caseIds)"
+    )
+    @PreAuthorize("@securityUtils.hasReadPermission()")
+    public CasePaymentOrderCursorPage getCasePaymentOrdersByCursor(
+        @Parameter(description = "list of case payment orders ids")
+        @ValidCpoId
+        @RequestParam(name = IDS, required = false)
+            Optional<List<CpoId>> ids,
+        @Parameter(description = "list of ccd case reference numbers")
+        @ValidCaseId
+        @RequestParam(name = CASE_IDS, required = false)
+            Optional<List<CaseId>> caseIds,
+        @Parameter(description = "next_cursor from the previous page, or empty for the first page")
+        @RequestParam(name = CURSOR, defaultValue = "")
+            String cursor,
+        @Parameter(hidden = true) Pageable pageable
+    ) {
+
+        final var casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+            .cpoIds(toUuids(ids))
+            .caseIds(toLongs(caseIds))
+            .pageable(pageable)
+            .cursor(cursor)
+            .build();
+
+        if (casePaymentOrderQueryFilter.noFilters()) {
+            return CasePaymentOrderCursorPage.builder().content(emptyList()).build();
+        }
+        casePaymentOrderQueryFilter.validateCasePaymentOrdersFiltering();
+        return casePaymentOrdersService.getCasePaymentOrdersByCursor(casePaymentOrderQueryFilter);
+    }
+
+    @GetMapping(path = CASE_PAYMENT_ORDER_HISTORY_PATH, produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the history of a payment order",
+        description = "Get the revisions of a payment order, oldest first, each with only the fields it changed. "
+            + "Supply no cursor for the first page then the returned next_cursor for each following page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "One or more of the following reasons:"
+                + "\n1) " + ValidationError.ID_INVALID
+                + "\n2) " + ValidationError.CPO_CURSOR_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "401",
+            description = AuthError.AUTHENTICATION_TOKEN_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "403",
+            description = AuthError.UNAUTHORISED_S2S_SERVICE
+            ),
+        @ApiResponse(
+            responseCode = "404",
+            description = ValidationError.CPO_NOT_FOUND
+            ),
+    })
+    @Parameters({
+        @Parameter(name = "size", description = "page size", in = ParameterIn.QUERY)
+    })
+    @LogAudit(
+        operationType = AuditOperationType.GET_CASE_PAYMENT_ORDER_HISTORY,
+        cpoId = "#id"
+    )
+    @PreAuthorize("@securityUtils.hasReadPermission()")
+    public CasePaymentOrderHistoryPage getCasePaymentOrderHistory(
+        @Parameter(description = "case payment order id")
+        @ValidCpoId
+        @PathVariable(name = "id")
+            CpoId id,
+        @Parameter(description = "next_cursor from the previous page, or empty for the first page")
+        @RequestParam(name = CURSOR, defaultValue = "")
+            String cursor,
+        @Parameter(hidden = true) Pageable pageable
+    ) {
+        return casePaymentOrdersService.getCasePaymentOrderHistory(id.toUuid(), cursor,
+                                                                   pageable.getPageSize());
+    }
+
+    @GetMapping(path = CASE_PAYMENT_ORDERS_HISTORY_PATH, produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the history of the payment orders for a case",
+        description = "Get the revisions of every payment order on a case, oldest first, each with only the fields "
+            + "it changed. Supply no cursor for the first page then the returned next_cursor for each following "
+            + "page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "One or more of the following reasons:"
+                + "\n1) " + ValidationError.CASE_ID_INVALID
+                + "\n2) " + ValidationError.CASE_ID_REQUIRED
+                + "\n3) " + ValidationError.CPO_CURSOR_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "401",
+            description = AuthError.AUTHENTICATION_TOKEN_INVALID
+            ),
+        @ApiResponse(
+            responseCode = "403",
+            description = AuthError.UNAUTHORISED_S2S_SERVICE
+            ),
+        @ApiResponse(
+            responseCode = "404",
+            description = ValidationError.CPO_NOT_FOUND
+            ),
+    })
+    @Parameters({
+        @Parameter(name = "size", description = "page size", in = ParameterIn.QUERY)
+    })
+    @LogAudit(
+        operationType = AuditOperationType.GET_CASE_PAYMENT_ORDER_HISTORY,
+        caseId = "#caseId"
+    )
+    @PreAuthorize("@securityUtils.hasReadPermission()")
+    public CasePaymentOrderHistoryPage getCasePaymentOrderHistoryByCaseId(
+        @Parameter(description = "ccd case reference number")
+        @ValidCaseId
+        @RequestParam(name = CASE_ID)
+            CaseId caseId,
+        @Parameter(description = "next_cursor from the previous page, or empty for the first page")
+        @RequestParam(name = CURSOR, defaultValue = "")
+            String cursor,
+        @Parameter(hidden = true) Pageable pageable
+    ) {
+        if (StringUtils.isBlank(caseId)) {
+            throw new CasePaymentOrdersFilterException(ValidationError.CASE_ID_REQUIRED);
+        }
+        return casePaymentOrdersService.getCasePaymentOrderHistoryByCaseId(caseId.toLong(), cursor,
+                                                                           pageable.getPageSize());
+    }
+
     @DeleteMapping(path = CASE_PAYMENT_ORDERS_PATH, produces = APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Delete specified case payment orders")
@@ -228,15 +523,15 @@ public class CasePaymentOrdersController {
     @PreAuthorize("@securityUtils.hasDeletePermission()")
     public void deleteCasePaymentOrdersById(@Parameter(description = "list of IDs")
                                             @ValidCpoId
-                                            @RequestParam(name = IDS, required = false) Optional<List<String>> ids,
+                                            @RequestParam(name = IDS, required = false) Optional<List<CpoId>> ids,
                                             @Parameter(description = "list of Case IDs")
                                             @ValidCaseId
                                             @RequestParam(name = CASE_IDS, required = false)
-                                                Optional<List<String>> caseIds) {
+                                                Optional<List<CaseId>> caseIds) {
 
         final var casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
-            .cpoIds(ids.orElse(emptyList()))
-            .caseIds(caseIds.orElse(emptyList()))
+            .cpoIds(toUuids(ids))
+            .caseIds(toLongs(caseIds))
             .build();
 
         casePaymentOrdersService.deleteCasePaymentOrders(casePaymentOrderQueryFilter);
@@ -300,8 +595,19 @@ public class CasePaymentOrdersController {
         return casePaymentOrdersService.updateCasePaymentOrder(requestPayload);
     }
 
-    public static List<String> buildOptionalIds(Optional<List<String>> optionalIds) {
-        return optionalIds.orElseGet(Lists::newArrayList);
+    public static List<String> buildOptionalIds(Optional<? extends List<? extends CharSequence>> optionalIds) {
+        return optionalIds
+            .map(ids -> ids.stream().map(Object::toString).collect(Collectors.toList()))
+            .orElseGet(Lists::newArrayList);
+    }
+
+    // NB: the IDs were parsed when bound and have been validated by now
+    private static List<UUID> toUuids(Optional<List<CpoId>> ids) {
+        return ids.map(cpoIds -> cpoIds.stream().map(CpoId::toUuid).toList()).orElse(emptyList());
+    }
+
+    private static List<Long> toLongs(Optional<List<CaseId>> caseIds) {
+        return caseIds.map(ids -> ids.stream().map(CaseId::toLong).toList()).orElse(emptyList());
     }
 
 }
@@ -22,8 +22,13 @@ import java.util.UUID;
 public class CasePaymentOrderEntity {
 
     public static final String UNIQUE_CASE_ID_ORDER_REF_CONSTRAINT = "unique_case_id_order_reference";
+    public static final String CREATED_TIMESTAMP = "createdTimestamp";
     public static final String CASE_ID = "caseId";
+    public static final String ACTION = "action";
+    public static final String RESPONSIBLE_PARTY = "responsibleParty";
     public static final String ORDER_REFERENCE = "orderReference";
+    public static final String CREATED_BY = "createdBy";
+    public static final String HISTORY_EXISTS = "historyExists";
 
     @Id
     @GeneratedValue
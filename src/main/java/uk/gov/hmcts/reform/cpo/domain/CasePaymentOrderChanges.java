@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.cpo.domain;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The new values of the properties a revision changed: any it left as they were are null, and left out.
+ */
+@Builder
+@Getter
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CasePaymentOrderChanges {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime createdTimestamp;
+
+    private Long caseId;
+
+    private String action;
+
+    private String responsibleParty;
+
+    private String orderReference;
+
+    private String createdBy;
+
+    private Boolean historyExists;
+}
@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.cpo.domain;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class CasePaymentOrderCreateResult {
+
+    public enum Status {
+        CREATED,
+        CONFLICT
+    }
+
+    private Status status;
+
+    private Long caseId;
+
+    private String orderReference;
+
+    private CasePaymentOrder casePaymentOrder;
+
+    private String error;
+}
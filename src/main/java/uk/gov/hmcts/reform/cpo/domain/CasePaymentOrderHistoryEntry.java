@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.cpo.domain;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.hibernate.envers.RevisionType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class CasePaymentOrderHistoryEntry {
+
+    private UUID id;
+
+    private Long caseId;
+
+    private int revision;
+
+    private RevisionType revisionType;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime revisionTimestamp;
+
+    private CasePaymentOrderChanges changes;
+}
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.cpo.domain;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class CasePaymentOrderHistoryPage {
+
+    private List<CasePaymentOrderHistoryEntry> content;
+
+    private String nextCursor;
+}
@@ -34,6 +34,19 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
             .body(error);
     }
 
+    @ExceptionHandler({ServiceOverloadedException.class})
+    @ResponseBody
+    public ResponseEntity<HttpError<Serializable>> handleServiceOverloadedException(final HttpServletRequest request,
+                                                                                    final Exception exception) {
+        // NB: no stack trace, as these come in bursts whenever load is being shed
+        log.warn(exception.getMessage());
+        final HttpError<Serializable> error = new HttpError<>(exception, request);
+        return ResponseEntity
+            .status(error.getStatus())
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ServiceOverloadedException.RETRY_AFTER_SECONDS))
+            .body(error);
+    }
+
     @ExceptionHandler({
         ConstraintViolationException.class,
         MethodArgumentTypeMismatchException.class
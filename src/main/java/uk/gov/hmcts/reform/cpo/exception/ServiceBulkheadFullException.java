@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.cpo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(
+    code = HttpStatus.TOO_MANY_REQUESTS
+)
+public class ServiceBulkheadFullException extends ApiException {
+
+    public ServiceBulkheadFullException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.cpo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(
+    code = HttpStatus.SERVICE_UNAVAILABLE
+)
+public class ServiceOverloadedException extends ApiException {
+
+    public static final long RETRY_AFTER_SECONDS = 1;
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+
+}
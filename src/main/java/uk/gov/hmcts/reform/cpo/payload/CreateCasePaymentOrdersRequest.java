@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.cpo.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.cpo.validators.ValidationError;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "Create Case Payment Orders Request")
+public class CreateCasePaymentOrdersRequest {
+
+    public static final int MAX_CASE_PAYMENT_ORDERS = 100;
+
+    @NotEmpty(message = ValidationError.CPOS_REQUIRED)
+    @Size(max = MAX_CASE_PAYMENT_ORDERS, message = ValidationError.CPOS_TOO_MANY)
+    @Schema(name = "Case payment orders to create", required = true)
+    private List<@NotNull @Valid CreateCasePaymentOrderRequest> casePaymentOrders;
+
+}
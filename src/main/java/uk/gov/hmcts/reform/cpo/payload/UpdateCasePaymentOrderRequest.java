@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.cpo.payload;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
+import uk.gov.hmcts.reform.cpo.validators.CpoId;
 import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 import uk.gov.hmcts.reform.cpo.validators.annotation.ValidCpoId;
 
@@ -17,7 +18,7 @@ public class UpdateCasePaymentOrderRequest extends BaseCasePaymentOrderRequest {
     @ValidCpoId
     @Schema(name = "Case Payment Order ID to update", required = true,
         example = "77d30e7f-ead9-4529-a499-6bf8b0f2d08e")
-    private final String id;
+    private final CpoId id;
 
     public UpdateCasePaymentOrderRequest(String id,
                                          String caseId,
@@ -29,12 +30,12 @@ public class UpdateCasePaymentOrderRequest extends BaseCasePaymentOrderRequest {
               responsibleParty,
               orderReference);
 
-        this.id = id;
+        this.id = CpoId.valueOf(id);
     }
 
     @JsonIgnore
     public UUID getUUID() {
-        return UUID.fromString(this.id);
+        return id.toUuid();
     }
 
 }
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A partition of one of the {@link AuditPartitionedTable}s, which holds revisions up to, but not including, its
+ * upper bound.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AuditPartition {
+
+    private final String name;
+
+    private final LocalDateTime upperBound;
+
+}
@@ -0,0 +1,123 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static uk.gov.hmcts.reform.cpo.repository.AuditPartitionedTable.PARTITION_KEY;
+
+/**
+ * Creates and removes the monthly partitions of the {@link AuditPartitionedTable}s.
+ *
+ * <p>NB: table and partition names are only ever built from {@link AuditPartitionedTable}, never from input, as
+ * DDL cannot take them as bind parameters.</p>
+ */
+@Repository
+public class AuditPartitionRepository {
+
+    // NB: any key will do, as long as every instance uses the same one
+    static final long MAINTENANCE_LOCK_KEY = 7_105_148_217_245_327_213L;
+
+    // NB: postgres prints the bounds quoted, e.g. FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00')
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('?([^')]+)'?\\)$");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AuditPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes the lock that stops more than one instance maintaining the partitions at once, until the current
+     * transaction ends.
+     *
+     * @return <code>false</code> if another instance holds it
+     */
+    public boolean tryMaintenanceLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                                                               Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    /**
+     * Bounds how long the statements of the current transaction wait for a lock, after which they fail rather than
+     * keep every write to the table they are waiting on queued behind them.
+     */
+    public void setLockTimeout(Duration lockTimeout) {
+        jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                                    lockTimeout.toMillis() + "ms");
+    }
+
+    /**
+     * Finds the partitions of a table, leaving out its default partition as that has no bounds.
+     */
+    public List<AuditPartition> findPartitions(AuditPartitionedTable table) {
+        return jdbcTemplate.query(
+            "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i"
+                + " JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+            (resultSet, rowNumber) -> toPartition(table, resultSet.getString(1), resultSet.getString(2)),
+            table.getTableName()
+        ).stream().filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Creates a partition, first moving into it any of its rows the default partition caught while it was missing, as
+     * postgres will not create a partition for rows the default partition holds.
+     *
+     * @return the number of rows moved out of the default partition
+     */
+    public int createPartition(AuditPartitionedTable table, String partitionName,
+                               LocalDateTime from, LocalDateTime to) {
+        String inRange = String.format("%s >= %s AND %s < %s", PARTITION_KEY, table.toBound(from),
+                                       PARTITION_KEY, table.toBound(to));
+        String createPartition = String.format("CREATE TABLE %s PARTITION OF %s FOR VALUES FROM (%s) TO (%s)",
+                                               partitionName, table.getTableName(),
+                                               table.toBound(from), table.toBound(to));
+
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            String.format("SELECT EXISTS (SELECT 1 FROM %s WHERE %s)", table.getDefaultPartitionName(), inRange),
+            Boolean.class))) {
+            jdbcTemplate.execute(createPartition);
+            return 0;
+        }
+
+        // NB: detaching locks the table against writes until the transaction ends, so no rows can slip in meanwhile.
+        // The rows are deleted from the detached table itself, so the revinfo_delete trigger does not see them.
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", table.getTableName(),
+                                           table.getDefaultPartitionName()));
+        jdbcTemplate.execute(createPartition);
+        int moved = jdbcTemplate.update(String.format("WITH moved AS (DELETE FROM %s WHERE %s RETURNING *)"
+                                                          + " INSERT INTO %s SELECT * FROM moved",
+                                                      table.getDefaultPartitionName(), inRange, partitionName));
+        jdbcTemplate.execute(String.format("ALTER TABLE %s ATTACH PARTITION %s DEFAULT", table.getTableName(),
+                                           table.getDefaultPartitionName()));
+        return moved;
+    }
+
+    /**
+     * Detaches a partition, leaving its rows in a table of its own to be archived.
+     *
+     * <p>NB: not <code>DETACH PARTITION ... CONCURRENTLY</code>, which postgres does not allow on a table with a
+     * default partition, nor inside a transaction. It waits no longer than the lock timeout for its lock instead.</p>
+     */
+    public void detachPartition(AuditPartitionedTable table, String partitionName) {
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", table.getTableName(), partitionName));
+    }
+
+    public void dropPartition(String partitionName) {
+        jdbcTemplate.execute(String.format("DROP TABLE %s", partitionName));
+    }
+
+    private static AuditPartition toPartition(AuditPartitionedTable table, String name, String bounds) {
+        Matcher upperBound = UPPER_BOUND.matcher(bounds);
+        return upperBound.find() ? new AuditPartition(name, table.fromBound(upperBound.group(1))) : null;
+    }
+
+}
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The audit tables partitioned by month of revision, in the order their partitions should be removed.
+ *
+ * <p>Both are partitioned on <code>revision_timestamp</code>, which defaults to the UTC start of the transaction
+ * inserting the row. Envers writes a revision's revinfo row and its audit rows in one transaction, so they always fall
+ * in the same month, and the partitions of a month can be removed from both tables together.</p>
+ *
+ * <p>NB: each partition gets the primary key of its table, which takes in <code>revision_timestamp</code> as postgres
+ * requires, see the migration partitioning them.</p>
+ */
+public enum AuditPartitionedTable {
+
+    CASE_PAYMENT_ORDERS_AUDIT("case_payment_orders_audit"),
+
+    REVINFO("revinfo");
+
+    public static final String PARTITION_KEY = "revision_timestamp";
+
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String tableName;
+
+    AuditPartitionedTable(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getPartitionName(LocalDateTime monthStart) {
+        return tableName + "_p" + DateTimeFormatter.ofPattern("yyyyMM").format(monthStart);
+    }
+
+    /**
+     * The partition that catches rows no monthly partition is there for yet.
+     */
+    public String getDefaultPartitionName() {
+        return tableName + "_default";
+    }
+
+    /**
+     * The SQL literal of a partition bound at the given UTC timestamp.
+     */
+    public String toBound(LocalDateTime timestamp) {
+        return "'" + BOUND_FORMAT.format(timestamp) + "'";
+    }
+
+    /**
+     * The UTC timestamp of a partition bound, as postgres prints it without any quotes.
+     */
+    public LocalDateTime fromBound(String bound) {
+        return LocalDateTime.parse(bound, BOUND_FORMAT);
+    }
+
+}
@@ -0,0 +1,12 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+/**
+ * Projection of the columns covered by the {@code unique_case_id_order_reference} constraint.
+ */
+public interface CaseIdOrderReference {
+
+    Long getCaseId();
+
+    String getOrderReference();
+
+}
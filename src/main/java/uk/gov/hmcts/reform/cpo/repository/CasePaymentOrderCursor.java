@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
+import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrdersFilterException;
+import uk.gov.hmcts.reform.cpo.validators.ValidationError;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position used by the keyset (seek) pagination of case payment orders.
+ *
+ * <p>Holds the last {@code (case_id, order_reference)} pair returned to the caller, which matches the column
+ * order of the {@code unique_case_id_order_reference} index, so the next page can seek straight past it.</p>
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CasePaymentOrderCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final Long caseId;
+    private final String orderReference;
+
+    public static CasePaymentOrderCursor from(CasePaymentOrderEntity entity) {
+        return new CasePaymentOrderCursor(entity.getCaseId(), entity.getOrderReference());
+    }
+
+    public String encode() {
+        String value = caseId + SEPARATOR + orderReference;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CasePaymentOrderCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // NB: case ID is numeric so the first separator always ends it
+            int separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 1) {
+                throw new CasePaymentOrdersFilterException(ValidationError.CPO_CURSOR_INVALID);
+            }
+            return new CasePaymentOrderCursor(Long.parseLong(value.substring(0, separatorIndex)),
+                                              value.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException exception) {
+            throw new CasePaymentOrdersFilterException(ValidationError.CPO_CURSOR_INVALID);
+        }
+    }
+
+}
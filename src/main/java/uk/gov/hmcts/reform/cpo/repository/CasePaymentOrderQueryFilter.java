@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.cpo.repository;
 
 import lombok.Builder;
 import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -11,17 +12,29 @@ import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
-@Builder
 @Getter
 public class CasePaymentOrderQueryFilter {
 
+    // NB: the order pages are cut in, also used to load the cache of orders by case ID so it holds them the same way
+    static final Sort CASE_ID_AND_ORDER_REFERENCE = Sort.by(
+        Sort.Order.asc(CasePaymentOrderEntity.CASE_ID),
+        Sort.Order.asc(CasePaymentOrderEntity.ORDER_REFERENCE)
+    );
 
-    private List<String> cpoIds;
-    private List<String> caseIds;
+    // NB: already parsed when the request was bound, see CpoId and CaseId
+    private List<UUID> cpoIds;
+    private List<Long> caseIds;
     private Pageable pageable;
-
+    private String cursor;
+
+    @Builder
+    public CasePaymentOrderQueryFilter(List<UUID> cpoIds, List<Long> caseIds, Pageable pageable, String cursor) {
+        this.cpoIds = cpoIds;
+        this.caseIds = caseIds;
+        this.pageable = pageable;
+        this.cursor = cursor;
+    }
 
     public boolean isFindByCaseIdQuery() {
         return !caseIds.isEmpty();
@@ -39,25 +52,22 @@ public class CasePaymentOrderQueryFilter {
         return cpoIds.isEmpty() && caseIds.isEmpty();
     }
 
-    public List<UUID> getListUUID() {
-        return cpoIds.stream().map(UUID::fromString).collect(Collectors.toList());
-    }
-
-    public List<Long> getListOfLongCasesIds() {
-        return caseIds.stream().map(Long::parseLong).collect(Collectors.toList());
-    }
-
     public Pageable getPageRequest() {
         return PageRequest.of(
             pageable.getPageNumber(),
             pageable.getPageSize(),
-            Sort.by(
-                Sort.Order.asc(CasePaymentOrderEntity.CASE_ID),
-                Sort.Order.asc(CasePaymentOrderEntity.ORDER_REFERENCE)
-            )
+            CASE_ID_AND_ORDER_REFERENCE
         );
     }
 
+    public boolean isFirstKeysetPage() {
+        return StringUtils.isBlank(cursor);
+    }
+
+    public CasePaymentOrderCursor getKeysetCursor() {
+        return isFirstKeysetPage() ? null : CasePaymentOrderCursor.decode(cursor);
+    }
+
     public void validateCasePaymentOrdersFiltering() {
         if (this.isFilterByBothIdAndCaseId()) {
             throw new CasePaymentOrdersFilterException(ValidationError.CPO_FILTER_ERROR);
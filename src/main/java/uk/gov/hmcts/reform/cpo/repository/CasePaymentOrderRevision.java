@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.hibernate.envers.RevisionType;
+import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * The state of a case payment order as of one of its revisions, along with the properties that revision changed.
+ */
+@Getter
+@AllArgsConstructor
+public class CasePaymentOrderRevision {
+
+    private final CasePaymentOrderEntity entity;
+
+    private final int revision;
+
+    private final LocalDateTime revisionTimestamp;
+
+    private final RevisionType revisionType;
+
+    private final Set<String> changedProperties;
+
+}
@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrdersFilterException;
+import uk.gov.hmcts.reform.cpo.validators.CpoIdFormat;
+import uk.gov.hmcts.reform.cpo.validators.ValidationError;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque position used by the keyset (seek) pagination of case payment order history.
+ *
+ * <p>Holds the last {@code (rev, id)} pair returned to the caller. The id breaks ties between orders saved in the
+ * same transaction, which share a revision.</p>
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CasePaymentOrderRevisionCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final int revision;
+    private final UUID id;
+
+    public static CasePaymentOrderRevisionCursor from(CasePaymentOrderRevision revision) {
+        return new CasePaymentOrderRevisionCursor(revision.getRevision(), revision.getEntity().getId());
+    }
+
+    public String encode() {
+        String value = revision + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CasePaymentOrderRevisionCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            UUID id = separatorIndex < 1 ? null : CpoIdFormat.parse(value.substring(separatorIndex + 1));
+            if (id == null) {
+                throw new CasePaymentOrdersFilterException(ValidationError.CPO_CURSOR_INVALID);
+            }
+            return new CasePaymentOrderRevisionCursor(Integer.parseInt(value.substring(0, separatorIndex)), id);
+        } catch (IllegalArgumentException exception) {
+            throw new CasePaymentOrdersFilterException(ValidationError.CPO_CURSOR_INVALID);
+        }
+    }
+
+}
@@ -2,23 +2,105 @@ package uk.gov.hmcts.reform.cpo.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CasePaymentOrdersJpaRepository extends JpaRepository<CasePaymentOrderEntity, UUID> {
-    int deleteByIdIsIn(Collection<UUID> id);
 
-    int deleteByCaseIdIsIn(Collection<Long> caseIds);
+    // NB: the rest of a delete with history, once the `deleted` CTE holds the orders removed: drops their audit
+    //     rows and then any revision no other audit row still points at. Postgres runs every data-modifying CTE
+    //     against the same snapshot, so the audit rows being removed here are excluded by id
+    String DELETE_HISTORY_OF_DELETED = ", deleted_audit AS ("
+        + " DELETE FROM case_payment_orders_audit WHERE id IN (SELECT id FROM deleted) RETURNING rev)"
+        + " , deleted_revinfo AS ("
+        + " DELETE FROM revinfo WHERE rev IN (SELECT rev FROM deleted_audit)"
+        + " AND NOT EXISTS (SELECT 1 FROM case_payment_orders_audit cpoa"
+        + " WHERE cpoa.rev = revinfo.rev AND cpoa.id NOT IN (SELECT id FROM deleted)))"
+        + " SELECT id AS \"id\", case_id AS \"caseId\" FROM deleted";
 
-    boolean existsByCaseId(Long caseId);
+    // NB: not @Modifying as the deleted rows are read back, to find any ids that did not exist
+    @Transactional
+    @Query(nativeQuery = true, value = "WITH deleted AS ("
+        + " DELETE FROM case_payment_orders WHERE id IN (:ids) RETURNING id, case_id)"
+        + DELETE_HISTORY_OF_DELETED)
+    List<DeletedCasePaymentOrder> deleteWithHistoryByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Transactional
+    @Query(nativeQuery = true, value = "WITH deleted AS ("
+        + " DELETE FROM case_payment_orders WHERE case_id IN (:caseIds) RETURNING id, case_id)"
+        + DELETE_HISTORY_OF_DELETED)
+    List<DeletedCasePaymentOrder> deleteWithHistoryByCaseIdIn(@Param("caseIds") Collection<Long> caseIds);
+
+    @Query("SELECT DISTINCT cpo.caseId FROM CasePaymentOrderEntity cpo WHERE cpo.caseId IN :caseIds")
+    List<Long> findExistingCaseIds(@Param("caseIds") Collection<Long> caseIds);
+
+    @Query("SELECT cpo.id FROM CasePaymentOrderEntity cpo WHERE cpo.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // NB: pg_notify is transactional, so the notification is only delivered once the caller commits
+    @Query(nativeQuery = true, value = "SELECT 1 FROM pg_notify(:channel, :payload)")
+    Integer notifyChannel(@Param("channel") String channel, @Param("payload") String payload);
+
+    // NB: not @Modifying as the id of the inserted row is read back, which is empty when the pair already exists
+    @Transactional
+    @Query(nativeQuery = true, value = "INSERT INTO case_payment_orders"
+        + " (id, created_timestamp, case_id, action, responsible_party, order_reference, created_by, history_exists)"
+        + " VALUES (:id, :createdTimestamp, :caseId, :action, :responsibleParty, :orderReference, :createdBy, false)"
+        + " ON CONFLICT (case_id, order_reference) DO NOTHING RETURNING id")
+    Optional<UUID> insertIfAbsent(@Param("id") UUID id,
+                                  @Param("createdTimestamp") LocalDateTime createdTimestamp,
+                                  @Param("caseId") Long caseId,
+                                  @Param("action") String action,
+                                  @Param("responsibleParty") String responsibleParty,
+                                  @Param("orderReference") String orderReference,
+                                  @Param("createdBy") String createdBy);
+
+    List<CaseIdOrderReference> findCaseIdOrderReferencesByCaseIdIn(Collection<Long> caseIds);
 
     Page<CasePaymentOrderEntity> findByIdIn(List<UUID> ids, Pageable pageable);
 
     Page<CasePaymentOrderEntity> findByCaseIdIn(List<Long> casesId, Pageable pageable);
+
+    List<CasePaymentOrderEntity> findAllByCaseIdIn(Collection<Long> caseIds, Pageable pageable);
+
+    Slice<CasePaymentOrderEntity> findSliceByIdIn(List<UUID> ids, Pageable pageable);
+
+    Slice<CasePaymentOrderEntity> findSliceByCaseIdIn(List<Long> casesId, Pageable pageable);
+
+    @Query("SELECT cpo FROM CasePaymentOrderEntity cpo WHERE cpo.id IN :ids"
+        + " ORDER BY cpo.caseId, cpo.orderReference")
+    List<CasePaymentOrderEntity> findFirstKeysetPageByIdIn(@Param("ids") List<UUID> ids, Pageable pageable);
+
+    @Query("SELECT cpo FROM CasePaymentOrderEntity cpo WHERE cpo.id IN :ids"
+        + " AND (cpo.caseId, cpo.orderReference) > (:afterCaseId, :afterOrderReference)"
+        + " ORDER BY cpo.caseId, cpo.orderReference")
+    List<CasePaymentOrderEntity> findKeysetPageByIdIn(@Param("ids") List<UUID> ids,
+                                                      @Param("afterCaseId") Long afterCaseId,
+                                                      @Param("afterOrderReference") String afterOrderReference,
+                                                      Pageable pageable);
+
+    @Query("SELECT cpo FROM CasePaymentOrderEntity cpo WHERE cpo.caseId IN :caseIds"
+        + " ORDER BY cpo.caseId, cpo.orderReference")
+    List<CasePaymentOrderEntity> findFirstKeysetPageByCaseIdIn(@Param("caseIds") List<Long> caseIds,
+                                                               Pageable pageable);
+
+    @Query("SELECT cpo FROM CasePaymentOrderEntity cpo WHERE cpo.caseId IN :caseIds"
+        + " AND (cpo.caseId, cpo.orderReference) > (:afterCaseId, :afterOrderReference)"
+        + " ORDER BY cpo.caseId, cpo.orderReference")
+    List<CasePaymentOrderEntity> findKeysetPageByCaseIdIn(@Param("caseIds") List<Long> caseIds,
+                                                          @Param("afterCaseId") Long afterCaseId,
+                                                          @Param("afterOrderReference") String afterOrderReference,
+                                                          Pageable pageable);
 }
@@ -2,26 +2,69 @@ package uk.gov.hmcts.reform.cpo.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CasePaymentOrdersRepository {
-    void deleteByUuids(List<UUID> uuids);
-
-    void deleteAuditEntriesByUuids(List<UUID> uuids);
+    /**
+     * Deletes the case payment orders with the given ids, along with their audit history.
+     *
+     * @return the case ids the deleted orders belonged to
+     */
+    List<Long> deleteByUuids(List<UUID> uuids);
 
+    /**
+     * Deletes the case payment orders for the given cases, along with their audit history.
+     */
     void deleteByCaseIds(List<Long> caseIds);
 
-    void deleteAuditEntriesByCaseIds(List<Long> caseIds);
-
     Optional<CasePaymentOrderEntity> findById(UUID id);
 
     Page<CasePaymentOrderEntity> findByIdIn(List<UUID> ids, Pageable pageable);
 
     Page<CasePaymentOrderEntity> findByCaseIdIn(List<Long> casesId, Pageable pageable);
 
+    /**
+     * Finds the case payment orders for the given cases, in the same order as the paged queries, up to a limit.
+     */
+    List<CasePaymentOrderEntity> findAllByCaseIdIn(Collection<Long> caseIds, int limit);
+
+    void notifyCaseIdsChanged(Collection<Long> caseIds);
+
+    Slice<CasePaymentOrderEntity> findSliceByIdIn(List<UUID> ids, Pageable pageable);
+
+    Slice<CasePaymentOrderEntity> findSliceByCaseIdIn(List<Long> casesId, Pageable pageable);
+
+    List<CasePaymentOrderEntity> findKeysetPageByIdIn(List<UUID> ids, CasePaymentOrderCursor after, int limit);
+
+    List<CasePaymentOrderEntity> findKeysetPageByCaseIdIn(List<Long> caseIds, CasePaymentOrderCursor after, int limit);
+
+    List<CaseIdOrderReference> findCaseIdOrderReferencesByCaseIdIn(Collection<Long> caseIds);
+
+    /**
+     * Finds the revisions of a case payment order, in revision order, starting after the given cursor.
+     *
+     * @param after <code>null</code> for the first page
+     */
+    List<CasePaymentOrderRevision> findRevisionsById(UUID id, CasePaymentOrderRevisionCursor after, int limit);
+
+    /**
+     * Finds the revisions of every case payment order on a case, in revision then id order, starting after the given
+     * cursor.
+     *
+     * @param after <code>null</code> for the first page
+     */
+    List<CasePaymentOrderRevision> findRevisionsByCaseId(Long caseId, CasePaymentOrderRevisionCursor after,
+                                                         int limit);
+
+    List<CasePaymentOrderEntity> saveAllAndFlush(List<CasePaymentOrderEntity> casePaymentOrderEntities);
+
+    Optional<CasePaymentOrderEntity> insertIfAbsent(CasePaymentOrderEntity casePaymentOrderEntity);
+
     CasePaymentOrderEntity saveAndFlush(CasePaymentOrderEntity casePaymentOrderEntity);
 }
@@ -1,66 +1,99 @@
 package uk.gov.hmcts.reform.cpo.repository;
 
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.boot.internal.EnversService;
+import org.hibernate.envers.internal.synchronization.work.AddWorkUnit;
+import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.query.AuditQuery;
+import org.hibernate.envers.query.criteria.AuditCriterion;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrderCouldNotBeFoundException;
 import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.cpo.config.CacheConfiguration.CASE_PAYMENT_ORDERS_CHANNEL;
 
 @Repository
 public class CasePaymentOrdersRepositoryImpl implements CasePaymentOrdersRepository {
+
+    // NB: keeps each payload well inside postgres' 8000 byte limit for a notification
+    static final int MAX_CASE_IDS_PER_NOTIFICATION = 300;
+
     private final CasePaymentOrdersJpaRepository casePaymentOrdersJpaRepository;
 
-    private final CasePaymentOrdersAuditJpaRepository casePaymentOrdersAuditJpaRepository;
+    private final EntityManager entityManager;
 
     @Autowired
     public CasePaymentOrdersRepositoryImpl(CasePaymentOrdersJpaRepository casePaymentOrdersJpaRepository,
-                                       CasePaymentOrdersAuditJpaRepository casePaymentOrdersAuditJpaRepository) {
+                                       EntityManager entityManager) {
         this.casePaymentOrdersJpaRepository = casePaymentOrdersJpaRepository;
-        this.casePaymentOrdersAuditJpaRepository = casePaymentOrdersAuditJpaRepository;
-    }
-
-    @Override
-    public void deleteByUuids(List<UUID> uuids) {
-        validateAllEntriesExistByUuid(uuids);
-        casePaymentOrdersJpaRepository.deleteByIdIsIn(uuids);
+        this.entityManager = entityManager;
     }
 
     @Override
-    public void deleteAuditEntriesByUuids(List<UUID> uuids) {
-        casePaymentOrdersAuditJpaRepository.deleteByIdIn(uuids);
+    public List<Long> deleteByUuids(List<UUID> uuids) {
+        List<DeletedCasePaymentOrder> deleted = casePaymentOrdersJpaRepository.deleteWithHistoryByIdIn(uuids);
+        // NB: the caller's transaction rolls the delete back if any of the ids were not there
+        throwExceptionIfCposNotFound(findMissing(uuids, deleted.stream()
+            .map(DeletedCasePaymentOrder::getId)
+            .collect(Collectors.toSet())));
+        return deleted.stream()
+            .map(DeletedCasePaymentOrder::getCaseId)
+            .distinct()
+            .collect(Collectors.toList());
     }
 
     @Override
     public void deleteByCaseIds(List<Long> caseIds) {
-        validateAllEntriesExistByCaseIds(caseIds);
-        casePaymentOrdersJpaRepository.deleteByCaseIdIsIn(caseIds);
+        List<DeletedCasePaymentOrder> deleted = casePaymentOrdersJpaRepository.deleteWithHistoryByCaseIdIn(caseIds);
+        // NB: the caller's transaction rolls the delete back if any of the case ids were not there
+        throwExceptionIfCposNotFound(findMissing(caseIds, deleted.stream()
+            .map(DeletedCasePaymentOrder::getCaseId)
+            .collect(Collectors.toSet())));
     }
 
     private void validateAllEntriesExistByCaseIds(List<Long> caseIds) {
-        List<String> nonExistentCaseIds = new ArrayList<>();
-        for (Long cid : caseIds) {
-            if (!casePaymentOrdersJpaRepository.existsByCaseId(cid)) {
-                nonExistentCaseIds.add(String.valueOf(cid));
-            }
-        }
-        throwExceptionIfCposNotFound(nonExistentCaseIds);
+        // NB: single round trip to find which case ids exist, the missing ones are then worked out in memory
+        throwExceptionIfCposNotFound(findMissing(
+            caseIds, new HashSet<>(casePaymentOrdersJpaRepository.findExistingCaseIds(caseIds))));
     }
 
     private void validateAllEntriesExistByUuid(List<UUID> uuids) {
-        List<String> nonExistentUuids = new ArrayList<>();
-        for (UUID uuid : uuids) {
-            if (!casePaymentOrdersJpaRepository.existsById(uuid)) {
-                nonExistentUuids.add(uuid.toString());
+        // NB: single round trip to find which ids exist, the missing ones are then worked out in memory
+        throwExceptionIfCposNotFound(findMissing(
+            uuids, new HashSet<>(casePaymentOrdersJpaRepository.findExistingIds(uuids))));
+    }
+
+    private static <T> List<String> findMissing(List<T> requested, Set<T> found) {
+        List<String> missing = new ArrayList<>();
+        for (T identifier : requested) {
+            if (!found.contains(identifier)) {
+                missing.add(String.valueOf(identifier));
             }
         }
-        throwExceptionIfCposNotFound(nonExistentUuids);
+        return missing;
     }
 
     private void throwExceptionIfCposNotFound(List<String> nonExistentCpoIdentitifers) {
@@ -70,11 +103,6 @@ public class CasePaymentOrdersRepositoryImpl implements CasePaymentOrdersReposit
         }
     }
 
-    @Override
-    public void deleteAuditEntriesByCaseIds(List<Long> caseIds) {
-        casePaymentOrdersAuditJpaRepository.deleteByCaseIdIn(caseIds);
-    }
-
     @Override
     public Optional<CasePaymentOrderEntity> findById(UUID id) {
         return casePaymentOrdersJpaRepository.findById(id);
@@ -92,6 +120,159 @@ public class CasePaymentOrdersRepositoryImpl implements CasePaymentOrdersReposit
         return casePaymentOrdersJpaRepository.findByCaseIdIn(caseIds, pageable);
     }
 
+    @Override
+    public Slice<CasePaymentOrderEntity> findSliceByIdIn(List<UUID> ids, Pageable pageable) {
+        validateAllEntriesExistByUuid(ids);
+        return casePaymentOrdersJpaRepository.findSliceByIdIn(ids, pageable);
+    }
+
+    @Override
+    public Slice<CasePaymentOrderEntity> findSliceByCaseIdIn(List<Long> caseIds, Pageable pageable) {
+        validateAllEntriesExistByCaseIds(caseIds);
+        return casePaymentOrdersJpaRepository.findSliceByCaseIdIn(caseIds, pageable);
+    }
+
+    @Override
+    public List<CasePaymentOrderEntity> findAllByCaseIdIn(Collection<Long> caseIds, int limit) {
+        // NB: a list rather than a page, so no count is run
+        return casePaymentOrdersJpaRepository.findAllByCaseIdIn(
+            caseIds, PageRequest.of(0, limit, CasePaymentOrderQueryFilter.CASE_ID_AND_ORDER_REFERENCE));
+    }
+
+    @Override
+    public void notifyCaseIdsChanged(Collection<Long> caseIds) {
+        List<Long> distinctCaseIds = caseIds.stream().distinct().collect(Collectors.toList());
+        for (int from = 0; from < distinctCaseIds.size(); from += MAX_CASE_IDS_PER_NOTIFICATION) {
+            String payload = distinctCaseIds
+                .subList(from, Math.min(from + MAX_CASE_IDS_PER_NOTIFICATION, distinctCaseIds.size()))
+                .stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+            casePaymentOrdersJpaRepository.notifyChannel(CASE_PAYMENT_ORDERS_CHANNEL, payload);
+        }
+    }
+
+    @Override
+    public List<CasePaymentOrderEntity> findKeysetPageByIdIn(List<UUID> ids, CasePaymentOrderCursor after, int limit) {
+        validateAllEntriesExistByUuid(ids);
+        // NB: sort is part of the query so only the limit is taken from the page request, and no count is run
+        Pageable firstRows = PageRequest.of(0, limit);
+        if (after == null) {
+            return casePaymentOrdersJpaRepository.findFirstKeysetPageByIdIn(ids, firstRows);
+        }
+        return casePaymentOrdersJpaRepository.findKeysetPageByIdIn(ids,
+                                                                   after.getCaseId(),
+                                                                   after.getOrderReference(),
+                                                                   firstRows);
+    }
+
+    @Override
+    public List<CasePaymentOrderEntity> findKeysetPageByCaseIdIn(List<Long> caseIds,
+                                                                 CasePaymentOrderCursor after,
+                                                                 int limit) {
+        validateAllEntriesExistByCaseIds(caseIds);
+        // NB: sort is part of the query so only the limit is taken from the page request, and no count is run
+        Pageable firstRows = PageRequest.of(0, limit);
+        if (after == null) {
+            return casePaymentOrdersJpaRepository.findFirstKeysetPageByCaseIdIn(caseIds, firstRows);
+        }
+        return casePaymentOrdersJpaRepository.findKeysetPageByCaseIdIn(caseIds,
+                                                                       after.getCaseId(),
+                                                                       after.getOrderReference(),
+                                                                       firstRows);
+    }
+
+    @Override
+    public List<CasePaymentOrderRevision> findRevisionsById(UUID id, CasePaymentOrderRevisionCursor after,
+                                                            int limit) {
+        return findRevisions(AuditEntity.id().eq(id), after, limit);
+    }
+
+    @Override
+    public List<CasePaymentOrderRevision> findRevisionsByCaseId(Long caseId, CasePaymentOrderRevisionCursor after,
+                                                                int limit) {
+        return findRevisions(AuditEntity.property(CasePaymentOrderEntity.CASE_ID).eq(caseId), after, limit);
+    }
+
+    private List<CasePaymentOrderRevision> findRevisions(AuditCriterion criterion,
+                                                         CasePaymentOrderRevisionCursor after,
+                                                         int limit) {
+        // NB: the *_mod columns give the properties each revision changed, without diffing it against the one before
+        AuditQuery query = AuditReaderFactory.get(entityManager)
+            .createQuery()
+            .forRevisionsOfEntityWithChanges(CasePaymentOrderEntity.class, true)
+            .add(criterion)
+            .addOrder(AuditEntity.revisionNumber().asc())
+            .addOrder(AuditEntity.id().asc())
+            .setMaxResults(limit);
+        if (after != null) {
+            // NB: seeks past the last revision returned, so each page reads no more than its own rows
+            query.add(AuditEntity.or(
+                AuditEntity.revisionNumber().gt(after.getRevision()),
+                AuditEntity.and(AuditEntity.revisionNumber().eq(after.getRevision()),
+                                AuditEntity.id().gt(after.getId()))
+            ));
+        }
+
+        List<?> rows = query.getResultList();
+        return rows.stream()
+            .map(row -> toRevision((Object[]) row))
+            .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CasePaymentOrderRevision toRevision(Object[] row) {
+        DefaultRevisionEntity revisionEntity = (DefaultRevisionEntity) row[1];
+        return new CasePaymentOrderRevision(
+            (CasePaymentOrderEntity) row[0],
+            revisionEntity.getId(),
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(revisionEntity.getTimestamp()), ZoneOffset.UTC),
+            (RevisionType) row[2],
+            (Set<String>) row[3]
+        );
+    }
+
+    @Override
+    public List<CaseIdOrderReference> findCaseIdOrderReferencesByCaseIdIn(Collection<Long> caseIds) {
+        return casePaymentOrdersJpaRepository.findCaseIdOrderReferencesByCaseIdIn(caseIds);
+    }
+
+    @Override
+    public List<CasePaymentOrderEntity> saveAllAndFlush(List<CasePaymentOrderEntity> casePaymentOrderEntities) {
+        return casePaymentOrdersJpaRepository.saveAllAndFlush(casePaymentOrderEntities);
+    }
+
+    @Override
+    public Optional<CasePaymentOrderEntity> insertIfAbsent(CasePaymentOrderEntity casePaymentOrderEntity) {
+        UUID id = UUID.randomUUID();
+        casePaymentOrderEntity.setCreatedTimestamp(LocalDateTime.now());
+        casePaymentOrderEntity.setHistoryExists(false);
+        Optional<UUID> insertedId = casePaymentOrdersJpaRepository.insertIfAbsent(
+            id,
+            casePaymentOrderEntity.getCreatedTimestamp(),
+            casePaymentOrderEntity.getCaseId(),
+            casePaymentOrderEntity.getAction(),
+            casePaymentOrderEntity.getResponsibleParty(),
+            casePaymentOrderEntity.getOrderReference(),
+            casePaymentOrderEntity.getCreatedBy()
+        );
+        if (insertedId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // NB: the insert bypasses hibernate so envers never sees it: hand envers the same ADD work unit a persist
+        //     raises, so it records the row against this transaction's revision exactly as it would have
+        EventSource session = entityManager.unwrap(EventSource.class);
+        EntityPersister persister = session.getEntityPersister(null, casePaymentOrderEntity);
+        persister.setIdentifier(casePaymentOrderEntity, id, session);
+        EnversService enversService = session.getFactory().getServiceRegistry().getService(EnversService.class);
+        enversService.getAuditProcessManager().get(session).addWorkUnit(new AddWorkUnit(
+            session, persister.getEntityName(), enversService, id, persister,
+            persister.getValues(casePaymentOrderEntity)));
+
+        return Optional.of(casePaymentOrderEntity);
+    }
+
     @Override
     public CasePaymentOrderEntity saveAndFlush(CasePaymentOrderEntity casePaymentOrderEntity) {
         return casePaymentOrdersJpaRepository.saveAndFlush(casePaymentOrderEntity);
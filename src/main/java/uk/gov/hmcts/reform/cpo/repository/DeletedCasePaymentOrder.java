@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of the rows returned by the set-based deletes in {@code CasePaymentOrdersJpaRepository}.
+ */
+public interface DeletedCasePaymentOrder {
+
+    UUID getId();
+
+    Long getCaseId();
+
+}
@@ -10,6 +10,9 @@ public final class AuthError {
 
     public static final String UNAUTHORISED_S2S_SERVICE = "Unauthorised S2S service.";
 
+    public static final String TOO_MANY_S2S_SERVICE_REQUESTS
+        = "Too many concurrent requests from S2S service, please retry later.";
+
     // Hide Utility Class Constructor : Utility classes should not have a public or default constructor (squid:S1118)
     private AuthError() {
     }
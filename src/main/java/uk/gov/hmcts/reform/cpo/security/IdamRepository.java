@@ -1,23 +1,135 @@
 package uk.gov.hmcts.reform.cpo.security;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
+import static uk.gov.hmcts.reform.cpo.config.CacheConfiguration.USER_INFO_CACHE;
+
+/**
+ * Looks up user info from IDAM, caching it against a digest of the token (see {@link UserInfoCacheKey}).
+ *
+ * <p>Concurrent misses for the same token share a single IDAM call: the first caller makes the call on its own
+ * thread and the rest wait on its result. An entry that is about to reach the cache's maximum time to live, while
+ * its token has plenty of life left, is reloaded in the background so readers never wait on IDAM for it.</p>
+ */
+@Slf4j
 @Component
 public class IdamRepository {
 
     private final IdamClient idamClient;
 
+    private final AsyncCache<Object, Object> userInfoCache;
+
+    private final Executor refreshExecutor;
+
+    private final Duration maxTimeToLive;
+
+    private final Duration refreshAhead;
+
+    private final Clock clock;
+
+    private final Set<UserInfoCacheKey> refreshing = ConcurrentHashMap.newKeySet();
+
     @Autowired
-    public IdamRepository(IdamClient idamClient) {
+    public IdamRepository(IdamClient idamClient,
+                          CacheManager cacheManager,
+                          // NB: runs on virtual threads when they are switched on, see spring.threads.virtual.enabled
+                          @Qualifier(APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor refreshExecutor,
+                          @Value("${cache.user-info.max-time-to-live}") Duration maxTimeToLive,
+                          @Value("${cache.user-info.refresh-ahead}") Duration refreshAhead) {
+        this(idamClient, cacheManager, refreshExecutor, maxTimeToLive, refreshAhead, Clock.systemUTC());
+    }
+
+    IdamRepository(IdamClient idamClient, CacheManager cacheManager, Executor refreshExecutor, Duration maxTimeToLive,
+                   Duration refreshAhead, Clock clock) {
         this.idamClient = idamClient;
+        this.refreshExecutor = refreshExecutor;
+        Cache cache = cacheManager.getCache(USER_INFO_CACHE);
+        // NB: no async cache when caching is switched off, in which case every lookup goes to IDAM
+        this.userInfoCache = cache instanceof CaffeineCache caffeineCache ? caffeineCache.getAsyncCache() : null;
+        this.maxTimeToLive = maxTimeToLive;
+        this.refreshAhead = refreshAhead;
+        this.clock = clock;
     }
 
-    @Cacheable("userInfoCache")
     public UserInfo getUserInfo(String bearerToken) {
-        return idamClient.getUserInfo(bearerToken);
+        if (userInfoCache == null) {
+            return idamClient.getUserInfo(bearerToken);
+        }
+
+        UserInfoCacheKey key = UserInfoCacheKey.of(bearerToken);
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> cached = userInfoCache.get(key, (k, executor) -> load);
+        if (cached == load) {
+            // NB: this caller missed, so it makes the IDAM call on its own thread to keep the request context
+            try {
+                load.complete(idamClient.getUserInfo(bearerToken));
+            } catch (RuntimeException e) {
+                // NB: a failed future is dropped from the cache, so the next caller tries again
+                load.completeExceptionally(e);
+            }
+            return (UserInfo) join(load);
+        }
+
+        UserInfo userInfo = (UserInfo) join(cached);
+        refreshIfExpiringSoon(key, bearerToken);
+        return userInfo;
+    }
+
+    private void refreshIfExpiringSoon(UserInfoCacheKey key, String bearerToken) {
+        Optional<Duration> expiresAfter = userInfoCache.synchronous().policy().expireVariably()
+            .flatMap(policy -> policy.getExpiresAfter(key));
+        if (expiresAfter.isEmpty()) {
+            return;
+        }
+
+        Duration remaining = expiresAfter.get();
+        // NB: only worth reloading when a fresh entry would outlive this one, i.e. not when the token itself expires
+        if (remaining.compareTo(refreshAhead) <= 0
+            && key.timeToLive(clock, maxTimeToLive).compareTo(remaining.plus(refreshAhead)) > 0
+            && refreshing.add(key)) {
+            CompletableFuture
+                .supplyAsync(() -> idamClient.getUserInfo(bearerToken), refreshExecutor)
+                .whenComplete((userInfo, error) -> {
+                    if (error == null) {
+                        userInfoCache.put(key, CompletableFuture.completedFuture(userInfo));
+                    } else {
+                        // NB: the current entry is left to expire as normal, so the next miss tries again
+                        log.warn("Failed to refresh user info ahead of expiry", error);
+                    }
+                    refreshing.remove(key);
+                });
+        }
+    }
+
+    private Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // NB: rethrow what IDAM threw so callers see the same errors as before
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
@@ -33,10 +33,19 @@ public class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection
 
     @Override
     public Collection<GrantedAuthority> convert(Jwt jwt) {
+        return extractAuthorities(getUserInfo(jwt));
+    }
+
+    /**
+     * Look up the user info for an IDAM access token.
+     *
+     * @param jwt token to look up the user info for
+     * @return user info, or null if the token is not an IDAM access token
+     */
+    public UserInfo getUserInfo(Jwt jwt) {
         if (Boolean.TRUE.equals(jwt.hasClaim(TOKEN_NAME)) && jwt.getClaim(TOKEN_NAME).equals(ACCESS_TOKEN)) {
-            UserInfo userInfo;
             try {
-                userInfo = idamRepository.getUserInfo(BEARER + jwt.getTokenValue());
+                return idamRepository.getUserInfo(BEARER + jwt.getTokenValue());
 
             } catch (Exception ex) {
                 // NB: catch, log and then throw a recognised spring authentication error as exception during
@@ -44,9 +53,12 @@ public class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection
                 log.error("IDAM error", ex);
                 throw new AuthenticationServiceException("IDAM error", ex);
             }
-            return extractAuthorityFromClaims(userInfo.getRoles());
         }
-        return Collections.emptyList();
+        return null;
+    }
+
+    public List<GrantedAuthority> extractAuthorities(UserInfo userInfo) {
+        return userInfo == null ? Collections.emptyList() : extractAuthorityFromClaims(userInfo.getRoles());
     }
 
     private List<GrantedAuthority> extractAuthorityFromClaims(List<String> roles) {
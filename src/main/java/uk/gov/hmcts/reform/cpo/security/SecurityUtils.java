@@ -43,6 +43,11 @@ public class SecurityUtils {
     }
 
     public UserInfo getUserInfo() {
+        // NB: normally already looked up while authenticating the request, see UserInfoJwtAuthenticationConverter
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof UserInfoJwtAuthenticationToken token
+            && token.getUserInfo() != null) {
+            return token.getUserInfo();
+        }
         return idamRepository.getUserInfo(getUserToken());
     }
 
@@ -5,7 +5,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Objects;
 
 import static java.util.stream.Collectors.toMap;
 
@@ -14,17 +16,50 @@ import static java.util.stream.Collectors.toMap;
 @ConfigurationProperties(prefix = "s2s")
 public class ServiceAuthorizationConfig {
 
+    private static final ServiceBulkheadLimits FALLBACK_BULKHEAD_LIMITS = fallbackBulkheadLimits();
+
     private Map<String, String> permissions;
 
+    private Map<String, ServiceBulkheadLimits> bulkheadLimits = Map.of();
+
+    private ServiceBulkheadLimits defaultBulkheadLimits = FALLBACK_BULKHEAD_LIMITS;
+
     public boolean hasPermissions(String serviceId, Permission crudPermission) {
         return permissions.containsKey(serviceId) && permissions.get(serviceId).contains(crudPermission.getLabel());
     }
 
+    /**
+     * The concurrency limits for a service: its own limits, falling back to the <code>s2s.bulkhead</code> defaults.
+     */
+    public ServiceBulkheadLimits getBulkheadLimits(String serviceId) {
+        ServiceBulkheadLimits limits = bulkheadLimits.get(serviceId);
+        return limits != null ? limits.withDefaults(defaultBulkheadLimits) : defaultBulkheadLimits;
+    }
+
     public void setAuthorizations(Map<String, @Valid ServicePermissionInfo> authorizations) {
         permissions = authorizations
                 .values()
                 .stream()
                 .collect(toMap(ServicePermissionInfo::getId, ServicePermissionInfo::getPermission));
+        bulkheadLimits = authorizations
+                .values()
+                .stream()
+                .filter(info -> Objects.nonNull(info.getBulkhead()))
+                .collect(toMap(ServicePermissionInfo::getId, ServicePermissionInfo::getBulkhead));
+    }
+
+    public void setBulkhead(@Valid ServiceBulkheadLimits bulkhead) {
+        defaultBulkheadLimits = bulkhead.withDefaults(FALLBACK_BULKHEAD_LIMITS);
     }
-}
 
+    private static ServiceBulkheadLimits fallbackBulkheadLimits() {
+        // NB: bulkheads are off unless switched on in config
+        ServiceBulkheadLimits limits = new ServiceBulkheadLimits();
+        limits.setEnabled(false);
+        limits.setMaxConcurrentRequests(50);
+        limits.setMaxQueuedRequests(100);
+        limits.setMaxQueueWait(Duration.ofSeconds(1));
+        limits.setRetryAfter(Duration.ofSeconds(1));
+        return limits;
+    }
+}
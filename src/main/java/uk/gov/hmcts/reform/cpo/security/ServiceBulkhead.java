@@ -0,0 +1,103 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of requests a single S2S service can have in flight, so one busy service cannot take all the
+ * request threads and DB connections from the others.
+ *
+ * <p>Requests over the limit wait in a bounded first-come first-served queue for a while, and are turned away if the
+ * queue is full or the wait runs out.</p>
+ */
+public class ServiceBulkhead {
+
+    public static final String IN_FLIGHT_METRIC = "s2s.bulkhead.in.flight";
+    public static final String QUEUED_METRIC = "s2s.bulkhead.queued";
+    public static final String QUEUE_WAIT_METRIC = "s2s.bulkhead.queue.wait";
+    public static final String REJECTED_METRIC = "s2s.bulkhead.rejected";
+    public static final String SERVICE_TAG = "service";
+
+    private final int maxConcurrentRequests;
+    private final int maxQueuedRequests;
+    private final long maxQueueWaitNanos;
+    private final long retryAfterSeconds;
+
+    // NB: fair, so queued requests are let in the order they arrived
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    ServiceBulkhead(String serviceName, ServiceBulkheadLimits limits, MeterRegistry meterRegistry) {
+        this.maxConcurrentRequests = limits.getMaxConcurrentRequests();
+        this.maxQueuedRequests = limits.getMaxQueuedRequests();
+        this.maxQueueWaitNanos = limits.getMaxQueueWait().toNanos();
+        this.retryAfterSeconds = Math.max(1, (long) Math.ceil(limits.getRetryAfter().toMillis() / 1000.0));
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+
+        Gauge.builder(IN_FLIGHT_METRIC, permits, p -> maxConcurrentRequests - p.availablePermits())
+            .description("Requests from the service currently being handled")
+            .tag(SERVICE_TAG, serviceName)
+            .register(meterRegistry);
+        Gauge.builder(QUEUED_METRIC, queued, AtomicInteger::get)
+            .description("Requests from the service waiting for one of its in flight requests to finish")
+            .tag(SERVICE_TAG, serviceName)
+            .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder(QUEUE_WAIT_METRIC)
+            .description("Time requests from the service waited before being handled")
+            .tag(SERVICE_TAG, serviceName)
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(REJECTED_METRIC)
+            .description("Requests from the service turned away as it had too many in flight")
+            .tag(SERVICE_TAG, serviceName)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Takes a place for a request, waiting in the queue if need be. Every successful call must be matched by a call
+     * to {@link #release()}.
+     *
+     * @return <code>false</code> if the request has been turned away
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        long start = System.nanoTime();
+        // NB: a timed tryAcquire, as the untimed one jumps ahead of any requests already queued
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            queueWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return true;
+        }
+
+        if (queued.incrementAndGet() > maxQueuedRequests) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxQueueWaitNanos, TimeUnit.NANOSECONDS)) {
+                queueWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return true;
+            }
+            rejectedCounter.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,90 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import uk.gov.hmcts.reform.cpo.exception.HttpError;
+import uk.gov.hmcts.reform.cpo.exception.ServiceBulkheadFullException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Optional;
+
+import static uk.gov.hmcts.reform.cpo.security.SecurityUtils.SERVICE_AUTHORIZATION;
+
+/**
+ * Holds each request in the {@link ServiceBulkhead} of the S2S service that sent it, answering with a
+ * <code>429 Too Many Requests</code> and a <code>Retry-After</code> header when the service has too many requests in
+ * flight.
+ *
+ * <p>NB: must run after the S2S token has been verified, so it is added to the security filter chain rather than
+ * being a bean that would also be registered with the servlet container.</p>
+ */
+@Slf4j
+public class ServiceBulkheadFilter extends OncePerRequestFilter {
+
+    private final ServiceBulkheads serviceBulkheads;
+    private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
+
+    public ServiceBulkheadFilter(ServiceBulkheads serviceBulkheads,
+                                 SecurityUtils securityUtils,
+                                 ObjectMapper objectMapper) {
+        this.serviceBulkheads = serviceBulkheads;
+        this.securityUtils = securityUtils;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String serviceName = securityUtils.getServiceNameFromS2SToken(request.getHeader(SERVICE_AUTHORIZATION));
+        Optional<ServiceBulkhead> bulkhead = serviceBulkheads.forService(serviceName);
+        if (bulkhead.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!tryAcquire(bulkhead.get())) {
+            log.warn("Turned away request from S2S service {}: too many concurrent requests", serviceName);
+            writeTooManyRequests(request, response, bulkhead.get());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.get().release();
+        }
+    }
+
+    private boolean tryAcquire(ServiceBulkhead bulkhead) {
+        try {
+            return bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeTooManyRequests(HttpServletRequest request,
+                                      HttpServletResponse response,
+                                      ServiceBulkhead bulkhead) throws IOException {
+        HttpError<Serializable> error = new HttpError<>(
+            new ServiceBulkheadFullException(AuthError.TOO_MANY_S2S_SERVICE_REQUESTS), request);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(bulkhead.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+}
@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import lombok.Data;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
+
+/**
+ * Concurrency limits for the requests of a single S2S service, configured under <code>s2s.bulkhead</code> for every
+ * service and optionally overridden under <code>s2s.authorizations.&lt;service&gt;.bulkhead</code>.
+ */
+@Data
+public class ServiceBulkheadLimits {
+
+    private Boolean enabled;
+
+    @Positive
+    private Integer maxConcurrentRequests;
+
+    @PositiveOrZero
+    private Integer maxQueuedRequests;
+
+    private Duration maxQueueWait;
+
+    private Duration retryAfter;
+
+    /**
+     * Fills in any limit that has not been set from the given defaults.
+     */
+    ServiceBulkheadLimits withDefaults(ServiceBulkheadLimits defaults) {
+        ServiceBulkheadLimits limits = new ServiceBulkheadLimits();
+        limits.setEnabled(enabled != null ? enabled : defaults.getEnabled());
+        limits.setMaxConcurrentRequests(maxConcurrentRequests != null
+                                            ? maxConcurrentRequests : defaults.getMaxConcurrentRequests());
+        limits.setMaxQueuedRequests(maxQueuedRequests != null ? maxQueuedRequests : defaults.getMaxQueuedRequests());
+        limits.setMaxQueueWait(maxQueueWait != null ? maxQueueWait : defaults.getMaxQueueWait());
+        limits.setRetryAfter(retryAfter != null ? retryAfter : defaults.getRetryAfter());
+        return limits;
+    }
+
+    boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+}
@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the {@link ServiceBulkhead} of each S2S service, created the first time the service calls in.
+ */
+@Component
+public class ServiceBulkheads {
+
+    private final ServiceAuthorizationConfig serviceAuthorizationConfig;
+    private final MeterRegistry meterRegistry;
+
+    // NB: only services whose requests are limited get an entry, the others just have their limits checked each time
+    private final Map<String, ServiceBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceBulkheads(ServiceAuthorizationConfig serviceAuthorizationConfig, MeterRegistry meterRegistry) {
+        this.serviceAuthorizationConfig = serviceAuthorizationConfig;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The bulkhead for a service, or empty if the service's requests are not limited.
+     *
+     * <p>NB: only call with service names from verified S2S tokens, as a bulkhead is kept for every name seen.</p>
+     */
+    public Optional<ServiceBulkhead> forService(String serviceName) {
+        if (serviceName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(bulkheads.computeIfAbsent(serviceName, this::createBulkhead));
+    }
+
+    /**
+     * Creates the bulkhead for a service, or returns <code>null</code> so that none is kept if the service's requests
+     * are not limited.
+     */
+    private ServiceBulkhead createBulkhead(String serviceName) {
+        ServiceBulkheadLimits limits = serviceAuthorizationConfig.getBulkheadLimits(serviceName);
+        return limits.isEnabled() ? new ServiceBulkhead(serviceName, limits, meterRegistry) : null;
+    }
+
+}
@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.cpo.security;
 import lombok.Data;
 import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 
 @Data
@@ -11,4 +12,7 @@ class ServicePermissionInfo {
 
     @Pattern(regexp = "^[crudCRUD]+", message = ValidationError.INVALID_PERMISSION_WHITELIST_VALUE)
     private String permission;
+
+    @Valid
+    private ServiceBulkheadLimits bulkhead;
 }
@@ -0,0 +1,76 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import static uk.gov.hmcts.reform.cpo.security.JwtGrantedAuthoritiesConverter.BEARER;
+
+/**
+ * Key for the user info cache: a fixed size digest of the bearer token rather than the token itself, along with the
+ * token's expiry so that the cached user info can be dropped no later than the token stops being valid.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class UserInfoCacheKey {
+
+    private final String tokenHash;
+
+    // NB: derived from the token so never differs between two keys with the same hash
+    @EqualsAndHashCode.Exclude
+    private final Instant expiresAt;
+
+    public static UserInfoCacheKey of(String bearerToken) {
+        return new UserInfoCacheKey(hash(bearerToken), readExpiry(bearerToken));
+    }
+
+    /**
+     * How long the user info may be cached for: until the token expires, but never longer than the given maximum.
+     *
+     * @param clock          clock to read the current time from
+     * @param maxTimeToLive  longest time to cache for, also used if the token carries no expiry
+     * @return time to live, which is zero if the token has already expired
+     */
+    public Duration timeToLive(Clock clock, Duration maxTimeToLive) {
+        if (expiresAt == null) {
+            return maxTimeToLive;
+        }
+        Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+        if (untilExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(maxTimeToLive) < 0 ? untilExpiry : maxTimeToLive;
+    }
+
+    private static String hash(String bearerToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(bearerToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // NB: every JVM has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Instant readExpiry(String bearerToken) {
+        String token = bearerToken.startsWith(BEARER) ? bearerToken.substring(BEARER.length()) : bearerToken;
+        try {
+            // NB: no need to verify the signature as the token has already been validated by the time it gets here
+            return JWT.decode(token).getExpiresAtAsInstant();
+        } catch (JWTDecodeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+@Component
+public class UserInfoJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
+
+    @Autowired
+    public UserInfoJwtAuthenticationConverter(JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter) {
+        this.jwtGrantedAuthoritiesConverter = jwtGrantedAuthoritiesConverter;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        UserInfo userInfo = jwtGrantedAuthoritiesConverter.getUserInfo(jwt);
+        return new UserInfoJwtAuthenticationToken(jwt,
+                                                  jwtGrantedAuthoritiesConverter.extractAuthorities(userInfo),
+                                                  userInfo);
+    }
+}
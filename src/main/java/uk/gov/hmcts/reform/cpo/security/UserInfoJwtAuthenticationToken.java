@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+import java.util.Collection;
+
+/**
+ * JWT authentication that carries the user info looked up while authenticating, so the rest of the request can
+ * read it from the security context rather than looking it up again.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class UserInfoJwtAuthenticationToken extends JwtAuthenticationToken {
+
+    // NB: null when the token is not an IDAM access token
+    private final transient UserInfo userInfo;
+
+    public UserInfoJwtAuthenticationToken(Jwt jwt,
+                                          Collection<? extends GrantedAuthority> authorities,
+                                          UserInfo userInfo) {
+        super(jwt, authorities);
+        this.userInfo = userInfo;
+    }
+}
@@ -1,17 +1,45 @@
 package uk.gov.hmcts.reform.cpo.service;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderCreateResult;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderCursorPage;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderHistoryPage;
 import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.payload.UpdateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderQueryFilter;
 
+import java.util.List;
+import java.util.UUID;
+
 public interface CasePaymentOrdersService {
 
     CasePaymentOrder createCasePaymentOrder(CreateCasePaymentOrderRequest request);
 
+    List<CasePaymentOrderCreateResult> createCasePaymentOrders(
+        List<CreateCasePaymentOrderRequest> createCasePaymentOrderRequests);
+
     Page<CasePaymentOrder> getCasePaymentOrders(CasePaymentOrderQueryFilter casePaymentOrderQueryFilter);
 
+    Slice<CasePaymentOrder> getCasePaymentOrdersSlice(CasePaymentOrderQueryFilter casePaymentOrderQueryFilter);
+
+    CasePaymentOrderCursorPage getCasePaymentOrdersByCursor(CasePaymentOrderQueryFilter casePaymentOrderQueryFilter);
+
+    /**
+     * Gets a page of the history of a case payment order, oldest first.
+     *
+     * @param cursor next_cursor from the previous page, or blank for the first page
+     */
+    CasePaymentOrderHistoryPage getCasePaymentOrderHistory(UUID id, String cursor, int pageSize);
+
+    /**
+     * Gets a page of the history of every case payment order on a case, oldest first.
+     *
+     * @param cursor next_cursor from the previous page, or blank for the first page
+     */
+    CasePaymentOrderHistoryPage getCasePaymentOrderHistoryByCaseId(Long caseId, String cursor, int pageSize);
+
     CasePaymentOrder updateCasePaymentOrder(UpdateCasePaymentOrderRequest request);
 
     void deleteCasePaymentOrders(CasePaymentOrderQueryFilter casePaymentOrderQueryFilter);
@@ -0,0 +1,165 @@
+package uk.gov.hmcts.reform.cpo.service.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import static uk.gov.hmcts.reform.cpo.config.CacheConfiguration.CASE_PAYMENT_ORDERS_CACHE;
+
+/**
+ * Read-through cache of the case payment orders held against each case ID.
+ *
+ * <p>Entries are evicted straight away when a case is written to and again once the transaction completes. Every
+ * eviction also moves on the generation of the case ID, and a read only stores what it loaded if the generation is
+ * still the one it saw before loading, so a read that loaded rows from before a write cannot cache them once the
+ * write has been evicted, whether locally or by another instance. When caching is switched off the loader is simply
+ * called for every read.</p>
+ */
+@Component
+public class CasePaymentOrdersCache {
+
+    // NB: case IDs share generations by hash, which bounds the memory used and at worst skips storing a load
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final Cache cache;
+
+    private final ConcurrentMap<Object, Object> entries;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Autowired
+    public CasePaymentOrdersCache(CacheManager cacheManager) {
+        Cache configuredCache = cacheManager.getCache(CASE_PAYMENT_ORDERS_CACHE);
+        this.cache = configuredCache != null ? configuredCache : new NoOpCache(CASE_PAYMENT_ORDERS_CACHE);
+        this.entries = asMap(this.cache.getNativeCache());
+    }
+
+    /**
+     * Get the case payment orders for each case ID, loading all the misses with a single call to the loader.
+     *
+     * @param caseIds case IDs to look up
+     * @param loader  loads the case payment orders for the case IDs not yet cached, which must include an entry
+     *                (empty if needs be) for every case ID it is given, or <code>null</code> if there are too many
+     *                to cache
+     * @return case payment orders keyed by case ID, with an empty list for cases that have none, or
+     *         <code>null</code> if the loader found too many, in which case nothing is stored
+     */
+    public Map<Long, List<CasePaymentOrder>> getAll(Collection<Long> caseIds,
+                                                    Function<Set<Long>, Map<Long, List<CasePaymentOrder>>> loader) {
+        Map<Long, List<CasePaymentOrder>> result = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+
+        for (Long caseId : caseIds) {
+            CasePaymentOrder[] cached = cache.get(caseId, CasePaymentOrder[].class);
+            if (cached != null) {
+                result.put(caseId, List.of(cached));
+            } else {
+                misses.add(caseId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<Long, Long> generationsBeforeLoad = new HashMap<>();
+            misses.forEach(caseId -> generationsBeforeLoad.put(caseId, generation(caseId)));
+
+            Map<Long, List<CasePaymentOrder>> loaded = loader.apply(misses);
+            if (loaded == null) {
+                return null;
+            }
+            for (Long caseId : misses) {
+                List<CasePaymentOrder> casePaymentOrders = Objects.requireNonNull(loaded.get(caseId));
+                storeIfNotEvicted(caseId, generationsBeforeLoad.get(caseId), casePaymentOrders);
+                result.put(caseId, casePaymentOrders);
+            }
+        }
+
+        return result;
+    }
+
+    public void evict(Collection<Long> caseIds) {
+        List<Long> caseIdsToEvict = List.copyOf(caseIds);
+        evictNow(caseIdsToEvict);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(caseIdsToEvict);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evict entries without waiting on any transaction, as used when another instance reports a write.
+     *
+     * @param caseIds case IDs to evict
+     */
+    public void evictLocal(Collection<Long> caseIds) {
+        evictNow(List.copyOf(caseIds));
+    }
+
+    public void clear() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        cache.clear();
+    }
+
+    private void evictNow(List<Long> caseIds) {
+        caseIds.forEach(caseId -> {
+            // NB: the generation must move on before the entry goes, see storeIfNotEvicted
+            generations.incrementAndGet(stripe(caseId));
+            cache.evict(caseId);
+        });
+    }
+
+    /**
+     * Store what was loaded unless the case ID has been evicted since, checked atomically with the store so that an
+     * eviction either stops it or, coming after it, removes it.
+     */
+    private void storeIfNotEvicted(Long caseId, long generationBeforeLoad, List<CasePaymentOrder> casePaymentOrders) {
+        if (entries == null) {
+            return;
+        }
+        CasePaymentOrder[] value = casePaymentOrders.toArray(CasePaymentOrder[]::new);
+        entries.compute(caseId, (key, current) -> generation(caseId) == generationBeforeLoad ? value : current);
+    }
+
+    private long generation(Long caseId) {
+        return generations.get(stripe(caseId));
+    }
+
+    private static int stripe(Long caseId) {
+        return Math.floorMod(Long.hashCode(caseId), GENERATION_STRIPES);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Object, Object> asMap(Object nativeCache) {
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return (ConcurrentMap<Object, Object>) caffeineCache.asMap();
+        }
+        if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+            return (ConcurrentMap<Object, Object>) map;
+        }
+        // NB: caching is switched off
+        return null;
+    }
+
+}
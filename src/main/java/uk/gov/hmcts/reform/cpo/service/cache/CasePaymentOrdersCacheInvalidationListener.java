@@ -0,0 +1,124 @@
+package uk.gov.hmcts.reform.cpo.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+import static uk.gov.hmcts.reform.cpo.config.CacheConfiguration.CASE_PAYMENT_ORDERS_CHANNEL;
+
+/**
+ * Keeps this instance's {@link CasePaymentOrdersCache} in step with writes made by the other instances.
+ *
+ * <p>Holds one connection from the pool on which it <code>LISTEN</code>s to the case payment orders channel, evicting
+ * the case IDs carried by each notification. Notifications sent while the connection is down are lost, so the whole
+ * cache is cleared every time it (re)connects.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.case-payment-orders.invalidation.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class CasePaymentOrdersCacheInvalidationListener implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+
+    private final CasePaymentOrdersCache casePaymentOrdersCache;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    @Autowired
+    public CasePaymentOrdersCacheInvalidationListener(DataSource dataSource,
+                                                      CasePaymentOrdersCache casePaymentOrdersCache) {
+        this.dataSource = dataSource;
+        this.casePaymentOrdersCache = casePaymentOrdersCache;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+            .name("cpo-cache-invalidation")
+            .daemon()
+            .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            // NB: not interrupted as that can leave the connection in a bad state, the poll times out soon enough
+            listenerThread.join(POLL_TIMEOUT_MILLIS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CASE_PAYMENT_ORDERS_CHANNEL);
+                }
+                casePaymentOrdersCache.clear();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            casePaymentOrdersCache.evictLocal(parseCaseIds(notification.getParameter()));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost connection listening for case payment order changes, retrying in {}ms",
+                             RECONNECT_DELAY_MILLIS, e);
+                    pauseBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void pauseBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private List<Long> parseCaseIds(String payload) {
+        List<Long> caseIds = new ArrayList<>();
+        for (String caseId : payload.split(",")) {
+            try {
+                caseIds.add(Long.parseLong(caseId.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid case id '{}' in case payment order change notification", caseId);
+            }
+        }
+        return caseIds;
+    }
+}
@@ -1,30 +1,52 @@
 package uk.gov.hmcts.reform.cpo.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderCreateResult;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderCursorPage;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderHistoryPage;
 import uk.gov.hmcts.reform.cpo.exception.CaseIdOrderReferenceUniqueConstraintException;
 import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrderCouldNotBeFoundException;
 import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrdersFilterException;
 import uk.gov.hmcts.reform.cpo.exception.IdAMIdCannotBeRetrievedException;
 import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.payload.UpdateCasePaymentOrderRequest;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderCursor;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderQueryFilter;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderRevision;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderRevisionCursor;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersRepository;
 import uk.gov.hmcts.reform.cpo.security.SecurityUtils;
 import uk.gov.hmcts.reform.cpo.service.CasePaymentOrdersService;
+import uk.gov.hmcts.reform.cpo.service.cache.CasePaymentOrdersCache;
 import uk.gov.hmcts.reform.cpo.service.mapper.CasePaymentOrderMapper;
 import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity.UNIQUE_CASE_ID_ORDER_REF_CONSTRAINT;
 import static uk.gov.hmcts.reform.cpo.validators.ValidationError.CANNOT_DELETE_USING_IDS_AND_CASE_IDS;
@@ -40,12 +62,19 @@ public class CasePaymentOrdersServiceImpl implements CasePaymentOrdersService {
 
     private final CasePaymentOrdersRepository casePaymentOrdersRepository;
 
+    private final CasePaymentOrdersCache casePaymentOrdersCache;
+
+    @Value("${cache.case-payment-orders.max-orders-per-load}")
+    private int maxOrdersPerCacheLoad;
+
     @Autowired
     public CasePaymentOrdersServiceImpl(CasePaymentOrdersRepository casePaymentOrdersRepository,
-                                        SecurityUtils securityUtils, CasePaymentOrderMapper mapper) {
+                                        SecurityUtils securityUtils, CasePaymentOrderMapper mapper,
+                                        CasePaymentOrdersCache casePaymentOrdersCache) {
         this.casePaymentOrdersRepository = casePaymentOrdersRepository;
         this.securityUtils = securityUtils;
         this.mapper = mapper;
+        this.casePaymentOrdersCache = casePaymentOrdersCache;
     }
 
     @Transactional
@@ -54,13 +83,81 @@ public class CasePaymentOrdersServiceImpl implements CasePaymentOrdersService {
         String createdBy = getUserId();
 
         CasePaymentOrderEntity requestEntity = mapper.toEntity(createCasePaymentOrderRequest, createdBy);
-        requestEntity.setHistoryExists(false);
 
-        CasePaymentOrderEntity savedEntity = saveEntity(requestEntity);
+        // NB: a clashing case id and order reference pairing is reported as an empty result by the insert rather
+        //     than a constraint violation, so the transaction is never left in a failed state
+        CasePaymentOrderEntity savedEntity = casePaymentOrdersRepository.insertIfAbsent(requestEntity)
+            .orElseThrow(() -> new CaseIdOrderReferenceUniqueConstraintException(
+                ValidationError.CASE_ID_ORDER_REFERENCE_UNIQUE));
+        evictCasePaymentOrders(List.of(savedEntity.getCaseId()));
 
         return mapper.toDomainModel(savedEntity);
     }
 
+    @Transactional
+    @Override
+    public List<CasePaymentOrderCreateResult> createCasePaymentOrders(
+        List<CreateCasePaymentOrderRequest> createCasePaymentOrderRequests) {
+
+        String createdBy = getUserId();
+
+        // NB: load the order references already held for these cases up front so that conflicts are reported per
+        //     item, rather than failing the whole batch when the unique constraint fires on flush
+        Map<Long, Set<String>> orderReferencesByCaseId = new HashMap<>();
+        casePaymentOrdersRepository.findCaseIdOrderReferencesByCaseIdIn(
+            createCasePaymentOrderRequests.stream()
+                .map(request -> Long.parseLong(request.getCaseId()))
+                .collect(Collectors.toSet())
+        ).forEach(existing -> orderReferencesByCaseId
+            .computeIfAbsent(existing.getCaseId(), caseId -> new HashSet<>())
+            .add(existing.getOrderReference()));
+
+        List<CasePaymentOrderEntity> requestEntities = new ArrayList<>();
+        for (CreateCasePaymentOrderRequest request : createCasePaymentOrderRequests) {
+            CasePaymentOrderEntity requestEntity = mapper.toEntity(request, createdBy);
+            requestEntity.setHistoryExists(false);
+            boolean isNewOrderReference = orderReferencesByCaseId
+                .computeIfAbsent(requestEntity.getCaseId(), caseId -> new HashSet<>())
+                .add(requestEntity.getOrderReference());
+            requestEntities.add(isNewOrderReference ? requestEntity : null);
+        }
+
+        // single flush so that hibernate can batch the inserts and envers records one revision for them all
+        List<CasePaymentOrderEntity> entitiesToSave = requestEntities.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (!entitiesToSave.isEmpty()) {
+            saveEntities(entitiesToSave);
+            evictCasePaymentOrders(entitiesToSave.stream()
+                                       .map(CasePaymentOrderEntity::getCaseId)
+                                       .collect(Collectors.toSet()));
+        }
+
+        List<CasePaymentOrderCreateResult> results = new ArrayList<>();
+        for (int i = 0; i < createCasePaymentOrderRequests.size(); i++) {
+            results.add(createResult(createCasePaymentOrderRequests.get(i), requestEntities.get(i)));
+        }
+        return results;
+    }
+
+    private CasePaymentOrderCreateResult createResult(CreateCasePaymentOrderRequest request,
+                                                      CasePaymentOrderEntity savedEntity) {
+        if (savedEntity == null) {
+            return CasePaymentOrderCreateResult.builder()
+                .status(CasePaymentOrderCreateResult.Status.CONFLICT)
+                .caseId(Long.parseLong(request.getCaseId()))
+                .orderReference(request.getOrderReference())
+                .error(ValidationError.CASE_ID_ORDER_REFERENCE_UNIQUE)
+                .build();
+        }
+        return CasePaymentOrderCreateResult.builder()
+            .status(CasePaymentOrderCreateResult.Status.CREATED)
+            .caseId(savedEntity.getCaseId())
+            .orderReference(savedEntity.getOrderReference())
+            .casePaymentOrder(mapper.toDomainModel(savedEntity))
+            .build();
+    }
+
 
     @Transactional
     @Override
@@ -68,12 +165,16 @@ public class CasePaymentOrdersServiceImpl implements CasePaymentOrdersService {
         String createdBy = getUserId();
 
         var casePaymentOrderEntity = verifyCpoExists(updateCasePaymentOrderRequest.getUUID());
+        // NB: the update may move the order to another case so both cases are evicted
+        Long previousCaseId = casePaymentOrderEntity.getCaseId();
 
         mapper.mergeIntoEntity(casePaymentOrderEntity, updateCasePaymentOrderRequest, createdBy);
         casePaymentOrderEntity.setCreatedTimestamp(java.time.LocalDateTime.now());
         casePaymentOrderEntity.setHistoryExists(true);
 
         CasePaymentOrderEntity updatedEntity = saveEntity(casePaymentOrderEntity);
+        evictCasePaymentOrders(Stream.of(previousCaseId, updatedEntity.getCaseId())
+                                   .collect(Collectors.toSet()));
 
         return mapper.toDomainModel(updatedEntity);
     }
@@ -84,20 +185,20 @@ public class CasePaymentOrdersServiceImpl implements CasePaymentOrdersService {
         validateCasePaymentOrderQueryFilter(casePaymentOrderQueryFilter);
 
         if (casePaymentOrderQueryFilter.isACasesIdQuery()) {
-            deleteCasePaymentOrdersByCaseIds(casePaymentOrderQueryFilter.getListOfLongCasesIds());
+            deleteCasePaymentOrdersByCaseIds(casePaymentOrderQueryFilter.getCaseIds());
         } else {
-            deleteCasePaymentOrdersByIds(casePaymentOrderQueryFilter.getListUUID());
+            deleteCasePaymentOrdersByIds(casePaymentOrderQueryFilter.getCpoIds());
         }
     }
 
     private void deleteCasePaymentOrdersByIds(List<UUID> ids) {
-        casePaymentOrdersRepository.deleteByUuids(ids);
-        casePaymentOrdersRepository.deleteAuditEntriesByUuids(ids);
+        List<Long> deletedCaseIds = casePaymentOrdersRepository.deleteByUuids(ids);
+        evictCasePaymentOrders(deletedCaseIds);
     }
 
     private void deleteCasePaymentOrdersByCaseIds(List<Long> caseIds) {
         casePaymentOrdersRepository.deleteByCaseIds(caseIds);
-        casePaymentOrdersRepository.deleteAuditEntriesByCaseIds(caseIds);
+        evictCasePaymentOrders(caseIds);
     }
 
     private String getUserId() {
@@ -125,23 +226,172 @@ public class CasePaymentOrdersServiceImpl implements CasePaymentOrdersService {
     public Page<CasePaymentOrder> getCasePaymentOrders(final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter) {
 
         try {
-            final Page<CasePaymentOrderEntity> casePaymentOrderEntities;
             final Pageable pageRequest = casePaymentOrderQueryFilter.getPageRequest();
             if (casePaymentOrderQueryFilter.isFindByCaseIdQuery()) {
-                casePaymentOrderEntities = casePaymentOrdersRepository.findByCaseIdIn(
-                    casePaymentOrderQueryFilter.getListOfLongCasesIds(), pageRequest);
+                return getCachedPageOfCasePaymentOrder(casePaymentOrderQueryFilter.getCaseIds(),
+                                                       pageRequest);
+            }
+            final Page<CasePaymentOrderEntity> casePaymentOrderEntities = casePaymentOrdersRepository.findByIdIn(
+                casePaymentOrderQueryFilter.getCpoIds(),
+                pageRequest
+            );
+            return getPageOfCasePaymentOrder(casePaymentOrderEntities);
+        } catch (IllegalArgumentException exception) {
+            throw new CasePaymentOrdersFilterException(ValidationError.CPO_PAGE_ERROR);
+        }
+    }
+
+    @Override
+    public Slice<CasePaymentOrder> getCasePaymentOrdersSlice(
+        final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter) {
+
+        try {
+            final Slice<CasePaymentOrderEntity> casePaymentOrderEntities;
+            final Pageable pageRequest = casePaymentOrderQueryFilter.getPageRequest();
+            if (casePaymentOrderQueryFilter.isFindByCaseIdQuery()) {
+                casePaymentOrderEntities = casePaymentOrdersRepository.findSliceByCaseIdIn(
+                    casePaymentOrderQueryFilter.getCaseIds(), pageRequest);
             } else {
-                casePaymentOrderEntities = casePaymentOrdersRepository.findByIdIn(
-                    casePaymentOrderQueryFilter.getListUUID(),
+                casePaymentOrderEntities = casePaymentOrdersRepository.findSliceByIdIn(
+                    casePaymentOrderQueryFilter.getCpoIds(),
                     pageRequest
                 );
             }
-            return getPageOfCasePaymentOrder(casePaymentOrderEntities);
+            if (casePaymentOrderEntities.isEmpty()) {
+                throw new CasePaymentOrderCouldNotBeFoundException(ValidationError.CPO_NOT_FOUND);
+            }
+            return casePaymentOrderEntities.map(mapper::toDomainModel);
         } catch (IllegalArgumentException exception) {
             throw new CasePaymentOrdersFilterException(ValidationError.CPO_PAGE_ERROR);
         }
     }
 
+    @Override
+    public CasePaymentOrderCursorPage getCasePaymentOrdersByCursor(
+        final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter) {
+
+        final CasePaymentOrderCursor after = casePaymentOrderQueryFilter.getKeysetCursor();
+        final int pageSize = casePaymentOrderQueryFilter.getPageable().getPageSize();
+
+        // NB: read one extra row to find out if there is a next page without running a count
+        final List<CasePaymentOrderEntity> casePaymentOrderEntities;
+        if (casePaymentOrderQueryFilter.isFindByCaseIdQuery()) {
+            casePaymentOrderEntities = casePaymentOrdersRepository.findKeysetPageByCaseIdIn(
+                casePaymentOrderQueryFilter.getCaseIds(), after, pageSize + 1);
+        } else {
+            casePaymentOrderEntities = casePaymentOrdersRepository.findKeysetPageByIdIn(
+                casePaymentOrderQueryFilter.getCpoIds(), after, pageSize + 1);
+        }
+
+        if (casePaymentOrderEntities.isEmpty() && casePaymentOrderQueryFilter.isFirstKeysetPage()) {
+            throw new CasePaymentOrderCouldNotBeFoundException(ValidationError.CPO_NOT_FOUND);
+        }
+
+        final boolean hasNextPage = casePaymentOrderEntities.size() > pageSize;
+        final List<CasePaymentOrderEntity> pageContent = hasNextPage
+            ? casePaymentOrderEntities.subList(0, pageSize) : casePaymentOrderEntities;
+
+        return CasePaymentOrderCursorPage.builder()
+            .content(pageContent.stream().map(mapper::toDomainModel).collect(Collectors.toList()))
+            .nextCursor(hasNextPage ? CasePaymentOrderCursor.from(pageContent.get(pageSize - 1)).encode() : null)
+            .build();
+    }
+
+    @Override
+    public CasePaymentOrderHistoryPage getCasePaymentOrderHistory(UUID id, String cursor, int pageSize) {
+        return getHistoryPage(cursor, pageSize,
+                              (after, limit) -> casePaymentOrdersRepository.findRevisionsById(id, after, limit));
+    }
+
+    @Override
+    public CasePaymentOrderHistoryPage getCasePaymentOrderHistoryByCaseId(Long caseId, String cursor, int pageSize) {
+        return getHistoryPage(cursor, pageSize,
+                              (after, limit) -> casePaymentOrdersRepository.findRevisionsByCaseId(caseId, after,
+                                                                                                  limit));
+    }
+
+    private CasePaymentOrderHistoryPage getHistoryPage(
+        String cursor, int pageSize,
+        BiFunction<CasePaymentOrderRevisionCursor, Integer, List<CasePaymentOrderRevision>> findRevisions) {
+
+        final CasePaymentOrderRevisionCursor after = StringUtils.isBlank(cursor)
+            ? null : CasePaymentOrderRevisionCursor.decode(cursor);
+
+        // NB: read one extra revision to find out if there is a next page without running a count
+        final List<CasePaymentOrderRevision> revisions = findRevisions.apply(after, pageSize + 1);
+
+        if (revisions.isEmpty() && after == null) {
+            throw new CasePaymentOrderCouldNotBeFoundException(ValidationError.CPO_NOT_FOUND);
+        }
+
+        final boolean hasNextPage = revisions.size() > pageSize;
+        final List<CasePaymentOrderRevision> pageContent = hasNextPage ? revisions.subList(0, pageSize) : revisions;
+
+        return CasePaymentOrderHistoryPage.builder()
+            .content(pageContent.stream().map(mapper::toHistoryEntry).collect(Collectors.toList()))
+            .nextCursor(hasNextPage
+                            ? CasePaymentOrderRevisionCursor.from(pageContent.get(pageSize - 1)).encode() : null)
+            .build();
+    }
+
+    private void evictCasePaymentOrders(Collection<Long> caseIds) {
+        casePaymentOrdersCache.evict(caseIds);
+        // NB: tell the other instances too, they evict their own entries once this transaction commits
+        casePaymentOrdersRepository.notifyCaseIdsChanged(caseIds);
+    }
+
+    private Page<CasePaymentOrder> getCachedPageOfCasePaymentOrder(List<Long> caseIds, Pageable pageRequest) {
+        final Map<Long, List<CasePaymentOrder>> casePaymentOrdersByCaseId =
+            casePaymentOrdersCache.getAll(caseIds, this::loadCasePaymentOrdersByCaseId);
+        if (casePaymentOrdersByCaseId == null) {
+            // NB: too many to cache, so only the page asked for is read
+            return getPageOfCasePaymentOrder(casePaymentOrdersRepository.findByCaseIdIn(caseIds, pageRequest));
+        }
+
+        // NB: lists the case IDs as given, as the paged query does
+        final List<String> nonExistentCaseIds = caseIds.stream()
+            .filter(caseId -> casePaymentOrdersByCaseId.get(caseId).isEmpty())
+            .map(String::valueOf)
+            .collect(Collectors.toList());
+        if (!nonExistentCaseIds.isEmpty()) {
+            throw new CasePaymentOrderCouldNotBeFoundException(
+                ValidationError.CPOS_NOT_FOUND + String.join(",", nonExistentCaseIds));
+        }
+
+        // NB: each case's orders are held in the order the database sorted them by order reference, see
+        // findAllByCaseIdIn, so only the case IDs are sorted here and the page matches the one the database would cut
+        final List<CasePaymentOrder> casePaymentOrders = caseIds.stream()
+            .distinct()
+            .sorted()
+            .flatMap(caseId -> casePaymentOrdersByCaseId.get(caseId).stream())
+            .collect(Collectors.toList());
+
+        final int fromIndex = (int) Math.min(pageRequest.getOffset(), casePaymentOrders.size());
+        final int toIndex = Math.min(fromIndex + pageRequest.getPageSize(), casePaymentOrders.size());
+        final Page<CasePaymentOrder> page = new PageImpl<>(casePaymentOrders.subList(fromIndex, toIndex),
+                                                           pageRequest,
+                                                           casePaymentOrders.size());
+        if (page.isEmpty()) {
+            throw new CasePaymentOrderCouldNotBeFoundException(ValidationError.CPO_NOT_FOUND);
+        }
+        return page;
+    }
+
+    private Map<Long, List<CasePaymentOrder>> loadCasePaymentOrdersByCaseId(Set<Long> caseIds) {
+        // NB: reads one more than the limit to find out if there are too many without running a count
+        final List<CasePaymentOrderEntity> entities =
+            casePaymentOrdersRepository.findAllByCaseIdIn(caseIds, maxOrdersPerCacheLoad + 1);
+        if (entities.size() > maxOrdersPerCacheLoad) {
+            return null;
+        }
+
+        final Map<Long, List<CasePaymentOrder>> casePaymentOrdersByCaseId = new HashMap<>();
+        caseIds.forEach(caseId -> casePaymentOrdersByCaseId.put(caseId, new ArrayList<>()));
+        entities.forEach(
+            entity -> casePaymentOrdersByCaseId.get(entity.getCaseId()).add(mapper.toDomainModel(entity)));
+        return casePaymentOrdersByCaseId;
+    }
+
     private Page<CasePaymentOrder> getPageOfCasePaymentOrder(Page<CasePaymentOrderEntity> casePaymentOrderEntities) {
 
         if (casePaymentOrderEntities.isEmpty()) {
@@ -151,9 +401,18 @@ public class CasePaymentOrdersServiceImpl implements CasePaymentOrdersService {
     }
 
     private CasePaymentOrderEntity saveEntity(CasePaymentOrderEntity entity) {
+        // save and flush to force unique constraint to apply now
+        return applyUniqueConstraint(() -> casePaymentOrdersRepository.saveAndFlush(entity));
+    }
+
+    private List<CasePaymentOrderEntity> saveEntities(List<CasePaymentOrderEntity> entities) {
+        // NB: conflicts are filtered out beforehand so this only fires if a clashing order is created concurrently
+        return applyUniqueConstraint(() -> casePaymentOrdersRepository.saveAllAndFlush(entities));
+    }
+
+    private <T> T applyUniqueConstraint(Supplier<T> save) {
         try {
-            // save and flush to force unique constraint to apply now
-            return casePaymentOrdersRepository.saveAndFlush(entity);
+            return save.get();
 
         } catch (DataIntegrityViolationException exception) {
             if (exception.getCause() instanceof ConstraintViolationException
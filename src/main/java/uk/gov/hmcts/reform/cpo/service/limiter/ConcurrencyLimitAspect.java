@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.cpo.service.limiter;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import uk.gov.hmcts.reform.cpo.exception.ApiException;
+import uk.gov.hmcts.reform.cpo.exception.ServiceOverloadedException;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderQueryFilter;
+import uk.gov.hmcts.reform.cpo.service.cache.CasePaymentOrdersCache;
+import uk.gov.hmcts.reform.cpo.validators.ValidationError;
+
+/**
+ * Puts the calls to the service layer that go to the database through the {@link ConcurrencyLimiter}, one call type
+ * per service method, turning calls away with a {@link ServiceOverloadedException} when it is over its limit.
+ *
+ * <p>Reads by case ID are left out, as most are answered from the {@link CasePaymentOrdersCache} in microseconds and
+ * would make every call that goes to the database look queued. Only their loads of cache misses are limited.</p>
+ *
+ * <p>NB: ordered ahead of the transaction advice, so calls that are turned away never take a DB connection.</p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitAspect {
+
+    // NB: the service method that reads by case ID through the cache, see CasePaymentOrdersServiceImpl
+    private static final String GET_CASE_PAYMENT_ORDERS = "getCasePaymentOrders";
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    public ConcurrencyLimitAspect(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Pointcut("execution(* uk.gov.hmcts.reform.cpo.service.CasePaymentOrdersService+.*(..))")
+    public void serviceCall() {
+        // NB: pointcut only
+    }
+
+    @Pointcut("execution(* uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersRepository+.findAllByCaseIdIn(..))")
+    public void cacheMissLoad() {
+        // NB: pointcut only
+    }
+
+    @Around("serviceCall() || cacheMissLoad()")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (isReadThroughCache(joinPoint)) {
+            return joinPoint.proceed();
+        }
+
+        String callType = joinPoint.getSignature().getName();
+        int inFlight = concurrencyLimiter.tryAcquire(callType);
+        if (inFlight == 0) {
+            throw new ServiceOverloadedException(ValidationError.SERVICE_OVERLOADED);
+        }
+
+        long start = System.nanoTime();
+        ConcurrencyLimiter.Outcome outcome = ConcurrencyLimiter.Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = getOutcome(e);
+            throw e;
+        } finally {
+            concurrencyLimiter.release(callType, System.nanoTime() - start, inFlight, outcome);
+        }
+    }
+
+    private boolean isReadThroughCache(ProceedingJoinPoint joinPoint) {
+        return GET_CASE_PAYMENT_ORDERS.equals(joinPoint.getSignature().getName())
+            && joinPoint.getArgs().length == 1
+            && joinPoint.getArgs()[0] instanceof CasePaymentOrderQueryFilter filter
+            && filter.getCaseIds() != null
+            && filter.isFindByCaseIdQuery();
+    }
+
+    private ConcurrencyLimiter.Outcome getOutcome(Throwable exception) {
+        if (exception instanceof CannotCreateTransactionException
+            || exception instanceof QueryTimeoutException
+            || exception instanceof TransientDataAccessResourceException) {
+            return ConcurrencyLimiter.Outcome.DROPPED;
+        }
+        return exception instanceof ApiException
+            ? ConcurrencyLimiter.Outcome.SUCCESS
+            : ConcurrencyLimiter.Outcome.IGNORED;
+    }
+
+}
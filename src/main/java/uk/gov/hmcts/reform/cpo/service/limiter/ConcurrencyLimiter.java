@@ -0,0 +1,171 @@
+package uk.gov.hmcts.reform.cpo.service.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Limits how many calls of each type can be in the service layer at once, to a limit that adapts to how quickly the
+ * database is answering them, see {@link VegasLimit}. Calls over the limit are turned away straight away rather than
+ * queued.
+ *
+ * <p>Each call type, e.g. a bulk create or a history read, has a limit of its own, as the time it takes with nothing
+ * queued only says something about calls doing the same work.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimiter {
+
+    public static final String LIMIT_METRIC = "service.concurrency.limit";
+    public static final String IN_FLIGHT_METRIC = "service.concurrency.in.flight";
+    public static final String RTT_METRIC = "service.concurrency.rtt";
+    public static final String RTT_NO_LOAD_METRIC = "service.concurrency.rtt.no.load";
+    public static final String REJECTED_METRIC = "service.concurrency.rejected";
+    public static final String CALL_TAG = "call";
+
+    // NB: weight of the latest call in the smoothed RTT reported as a metric
+    private static final double RTT_SMOOTHING = 0.1;
+
+    public enum Outcome {
+        /**
+         * The call finished, successfully or with one of the service's own errors, e.g. not found.
+         */
+        SUCCESS,
+        /**
+         * The call timed out waiting on the database.
+         */
+        DROPPED,
+        /**
+         * The call failed unexpectedly, so how long it took says nothing about load.
+         */
+        IGNORED
+    }
+
+    private final Function<String, VegasLimit> limitFactory;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CallTypeLimit> callTypeLimits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ConcurrencyLimiter(MeterRegistry meterRegistry,
+                              @Value("${concurrency-limit.initial-limit}") int initialLimit,
+                              @Value("${concurrency-limit.min-limit}") int minLimit,
+                              @Value("${concurrency-limit.max-limit}") int maxLimit,
+                              @Value("${concurrency-limit.probe-multiplier}") int probeMultiplier) {
+        this(callType -> new VegasLimit(initialLimit, minLimit, maxLimit, probeMultiplier), meterRegistry);
+    }
+
+    ConcurrencyLimiter(Function<String, VegasLimit> limitFactory, MeterRegistry meterRegistry) {
+        this.limitFactory = limitFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Takes a place for a call. Every successful call must be matched by a call to
+     * {@link #release(String, long, int, Outcome)}.
+     *
+     * @param callType the type of call, e.g. the name of the service method
+     * @return the number of calls of the type in flight including this one, or 0 if the call has been turned away
+     */
+    public int tryAcquire(String callType) {
+        CallTypeLimit callTypeLimit = getCallTypeLimit(callType);
+        while (true) {
+            int current = callTypeLimit.inFlight.get();
+            if (current >= callTypeLimit.limit.getLimit()) {
+                callTypeLimit.rejectedCounter.increment();
+                return 0;
+            }
+            if (callTypeLimit.inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Gives back the place taken by a call.
+     *
+     * @param callType the type of call given to {@link #tryAcquire(String)}
+     * @param rttNanos how long the call took
+     * @param inFlight the number returned by {@link #tryAcquire(String)} for the call
+     * @param outcome  how the call finished
+     */
+    public void release(String callType, long rttNanos, int inFlight, Outcome outcome) {
+        CallTypeLimit callTypeLimit = getCallTypeLimit(callType);
+        callTypeLimit.inFlight.decrementAndGet();
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+
+        callTypeLimit.limit.onSample(rttNanos, inFlight, outcome == Outcome.DROPPED);
+        if (outcome == Outcome.SUCCESS) {
+            // NB: only reported, so the odd lost update between concurrent calls does not matter
+            double previous = callTypeLimit.smoothedRttNanos;
+            callTypeLimit.smoothedRttNanos = previous == 0
+                ? rttNanos
+                : previous + RTT_SMOOTHING * (rttNanos - previous);
+        }
+    }
+
+    public int getLimit(String callType) {
+        return getCallTypeLimit(callType).limit.getLimit();
+    }
+
+    private CallTypeLimit getCallTypeLimit(String callType) {
+        return callTypeLimits.computeIfAbsent(callType, this::createCallTypeLimit);
+    }
+
+    private CallTypeLimit createCallTypeLimit(String callType) {
+        CallTypeLimit callTypeLimit = new CallTypeLimit(limitFactory.apply(callType), Counter.builder(REJECTED_METRIC)
+            .description("Calls to the service layer turned away as it was over its limit")
+            .tag(CALL_TAG, callType)
+            .register(meterRegistry));
+
+        Gauge.builder(LIMIT_METRIC, callTypeLimit.limit, VegasLimit::getLimit)
+            .description("Calls allowed in the service layer at once")
+            .tag(CALL_TAG, callType)
+            .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, callTypeLimit.inFlight, AtomicInteger::get)
+            .description("Calls currently in the service layer")
+            .tag(CALL_TAG, callType)
+            .register(meterRegistry);
+        TimeGauge.builder(RTT_METRIC, callTypeLimit, TimeUnit.NANOSECONDS, limit -> limit.smoothedRttNanos)
+            .description("Smoothed time taken by calls to the service layer")
+            .tag(CALL_TAG, callType)
+            .register(meterRegistry);
+        TimeGauge.builder(RTT_NO_LOAD_METRIC, callTypeLimit.limit, TimeUnit.NANOSECONDS,
+                          VegasLimit::getRttNoLoadNanos)
+            .description("Shortest recent time taken by a call to the service layer")
+            .tag(CALL_TAG, callType)
+            .register(meterRegistry);
+        return callTypeLimit;
+    }
+
+    private static final class CallTypeLimit {
+
+        private final VegasLimit limit;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final Counter rejectedCounter;
+
+        private volatile double smoothedRttNanos;
+
+        private CallTypeLimit(VegasLimit limit, Counter rejectedCounter) {
+            this.limit = limit;
+            this.rejectedCounter = rejectedCounter;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.cpo.service.limiter;
+
+/**
+ * Estimates how many requests can be worked on at once from how long they take, in the style of TCP Vegas.
+ *
+ * <p>The shortest time seen is taken as the time a request takes with nothing queued. Comparing it with the time
+ * each request actually took gives an estimate of how many requests are queued, e.g. waiting for a DB connection or
+ * on locks, and the limit is raised while that queue is short and lowered once it grows. Timeouts lower the limit
+ * straight away.</p>
+ *
+ * <p>Every so often the shortest time is reset to the latest one, so the limit follows the database if it gets
+ * permanently slower or faster.</p>
+ */
+public class VegasLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeMultiplier;
+
+    private double estimatedLimit;
+    private volatile int limit;
+
+    private volatile long rttNoLoadNanos;
+    private int samplesSinceProbe;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, int probeMultiplier) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeMultiplier = probeMultiplier;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * The shortest time seen for a request since the last probe, or 0 if none have finished yet.
+     */
+    public long getRttNoLoadNanos() {
+        return rttNoLoadNanos;
+    }
+
+    /**
+     * Adjusts the limit from a finished request.
+     *
+     * @param rttNanos how long the request took
+     * @param inFlight how many requests were in flight, including this one, when it started
+     * @param dropped  <code>true</code> if the request timed out waiting on the database
+     */
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            setEstimatedLimit(estimatedLimit * BACKOFF_RATIO);
+            return;
+        }
+
+        if (++samplesSinceProbe >= probeMultiplier * estimatedLimit) {
+            samplesSinceProbe = 0;
+            rttNoLoadNanos = rttNanos;
+            return;
+        }
+        if (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) {
+            rttNoLoadNanos = rttNanos;
+            return;
+        }
+
+        // NB: with most of the limit unused the times say nothing about whether it could be higher
+        if (inFlight * 2 < estimatedLimit) {
+            return;
+        }
+
+        double queued = Math.ceil(estimatedLimit * (1 - (double) rttNoLoadNanos / rttNanos));
+        double step = Math.max(1, Math.log10(estimatedLimit));
+        double alpha = 3 * step;
+        double beta = 6 * step;
+
+        if (queued <= step) {
+            setEstimatedLimit(estimatedLimit + beta);
+        } else if (queued < alpha) {
+            setEstimatedLimit(estimatedLimit + step);
+        } else if (queued > beta) {
+            setEstimatedLimit(estimatedLimit - step);
+        }
+    }
+
+    private void setEstimatedLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+}
@@ -5,8 +5,23 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderChanges;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderHistoryEntry;
 import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.payload.UpdateCasePaymentOrderRequest;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderRevision;
+import uk.gov.hmcts.reform.cpo.validators.CpoId;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity.ACTION;
+import static uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity.CASE_ID;
+import static uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity.CREATED_BY;
+import static uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity.CREATED_TIMESTAMP;
+import static uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity.HISTORY_EXISTS;
+import static uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity.ORDER_REFERENCE;
+import static uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity.RESPONSIBLE_PARTY;
 
 @Mapper(componentModel = "spring")
 public interface CasePaymentOrderMapper {
@@ -26,5 +41,35 @@ public interface CasePaymentOrderMapper {
                          UpdateCasePaymentOrderRequest updateCasePaymentOrderRequest,
                          String createdBy);
 
+    // NB: the ID was parsed when the request was bound
+    default UUID toUuid(CpoId cpoId) {
+        return cpoId == null ? null : cpoId.toUuid();
+    }
+
+    /**
+     * Maps a revision to a history entry holding only the properties it changed, along with the order and case ids.
+     */
+    default CasePaymentOrderHistoryEntry toHistoryEntry(CasePaymentOrderRevision revision) {
+        CasePaymentOrderEntity entity = revision.getEntity();
+        Set<String> changed = revision.getChangedProperties();
+
+        return CasePaymentOrderHistoryEntry.builder()
+            .id(entity.getId())
+            .caseId(entity.getCaseId())
+            .revision(revision.getRevision())
+            .revisionType(revision.getRevisionType())
+            .revisionTimestamp(revision.getRevisionTimestamp())
+            .changes(CasePaymentOrderChanges.builder()
+                         .createdTimestamp(changed.contains(CREATED_TIMESTAMP) ? entity.getCreatedTimestamp() : null)
+                         .caseId(changed.contains(CASE_ID) ? entity.getCaseId() : null)
+                         .action(changed.contains(ACTION) ? entity.getAction() : null)
+                         .responsibleParty(changed.contains(RESPONSIBLE_PARTY) ? entity.getResponsibleParty() : null)
+                         .orderReference(changed.contains(ORDER_REFERENCE) ? entity.getOrderReference() : null)
+                         .createdBy(changed.contains(CREATED_BY) ? entity.getCreatedBy() : null)
+                         .historyExists(changed.contains(HISTORY_EXISTS) ? entity.isHistoryExists() : null)
+                         .build())
+            .build();
+    }
+
 }
 
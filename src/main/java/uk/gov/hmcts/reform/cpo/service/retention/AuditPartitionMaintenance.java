@@ -0,0 +1,166 @@
+package uk.gov.hmcts.reform.cpo.service.retention;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartition;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartitionRepository;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartitionedTable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the monthly partitions of the {@link AuditPartitionedTable}s in step with time: creates partitions for the
+ * months ahead, and, once retention is enabled, removes whole partitions whose revisions are all past it. A month's
+ * partitions are removed from every table together, so history is never left without its revisions.
+ *
+ * <p>Runs at startup and then on a schedule. Only one instance does the work at a time, the others skip it.</p>
+ *
+ * <p>NB: creating, detaching and dropping partitions lock the whole table against writes, so each of them waits no
+ * longer than the lock timeout for its lock, and should it time out the run is rolled back and retried the next
+ * time.</p>
+ */
+@Slf4j
+@Component
+public class AuditPartitionMaintenance {
+
+    public enum RetentionAction {
+        /**
+         * Detaches expired partitions, leaving each as a table of its own to be archived and then dropped by hand.
+         */
+        DETACH,
+        /**
+         * Drops expired partitions.
+         */
+        DROP
+    }
+
+    private final AuditPartitionRepository auditPartitionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Clock clock;
+
+    private final int monthsAhead;
+
+    private final boolean retentionEnabled;
+
+    private final int retentionMonths;
+
+    private final RetentionAction retentionAction;
+
+    private final Duration lockTimeout;
+
+    @Autowired
+    public AuditPartitionMaintenance(AuditPartitionRepository auditPartitionRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("utcClock") Clock clock,
+                                     @Value("${audit-partitions.months-ahead}") int monthsAhead,
+                                     @Value("${audit-partitions.retention.enabled}") boolean retentionEnabled,
+                                     @Value("${audit-partitions.retention.months}") int retentionMonths,
+                                     @Value("${audit-partitions.retention.action}") RetentionAction retentionAction,
+                                     @Value("${audit-partitions.lock-timeout}") Duration lockTimeout) {
+        this.auditPartitionRepository = auditPartitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionEnabled = retentionEnabled;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+        this.lockTimeout = lockTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit-partitions.maintenance-cron}", zone = "UTC")
+    public void maintainPartitions() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!auditPartitionRepository.tryMaintenanceLock()) {
+                    log.info("Skipping audit partition maintenance as another instance is doing it");
+                    return;
+                }
+                auditPartitionRepository.setLockTimeout(lockTimeout);
+
+                LocalDateTime thisMonth = LocalDate.now(clock).withDayOfMonth(1).atStartOfDay();
+                Map<AuditPartitionedTable, List<AuditPartition>> partitions =
+                    new EnumMap<>(AuditPartitionedTable.class);
+                for (AuditPartitionedTable table : AuditPartitionedTable.values()) {
+                    partitions.put(table, auditPartitionRepository.findPartitions(table));
+                    createPartitionsAhead(table, partitions.get(table), thisMonth);
+                }
+                if (retentionEnabled) {
+                    removeExpiredPartitions(partitions, thisMonth.minusMonths(retentionMonths));
+                }
+            });
+        } catch (DataAccessException e) {
+            // NB: writes carry on into the default partitions meanwhile, and the next run moves them out again
+            log.error("Audit partition maintenance failed, it will be retried on its next run", e);
+        }
+    }
+
+    private void createPartitionsAhead(AuditPartitionedTable table, List<AuditPartition> partitions,
+                                       LocalDateTime thisMonth) {
+        LocalDateTime until = thisMonth.plusMonths(monthsAhead + 1L);
+        // NB: carries on from the last partition, as a gap would send those months to the default partition
+        LocalDateTime from = partitions.stream()
+            .map(AuditPartition::getUpperBound)
+            .max(Comparator.naturalOrder())
+            .orElse(thisMonth);
+
+        for (; from.isBefore(until); from = from.plusMonths(1)) {
+            String partitionName = table.getPartitionName(from);
+            int moved = auditPartitionRepository.createPartition(table, partitionName, from, from.plusMonths(1));
+            if (moved > 0) {
+                log.warn("Created audit partition {}, moving {} rows into it from {}", partitionName, moved,
+                         table.getDefaultPartitionName());
+            } else {
+                log.info("Created audit partition {}", partitionName);
+            }
+        }
+    }
+
+    private void removeExpiredPartitions(Map<AuditPartitionedTable, List<AuditPartition>> partitions,
+                                         LocalDateTime cutoff) {
+        // NB: month by month, so that each month goes from every table before the next is touched
+        SortedSet<LocalDateTime> expiredMonths = partitions.values().stream()
+            .flatMap(List::stream)
+            .map(AuditPartition::getUpperBound)
+            .filter(upperBound -> !upperBound.isAfter(cutoff))
+            .collect(Collectors.toCollection(TreeSet::new));
+
+        for (LocalDateTime upperBound : expiredMonths) {
+            partitions.forEach((table, tablePartitions) -> tablePartitions.stream()
+                .filter(partition -> partition.getUpperBound().equals(upperBound))
+                .forEach(partition -> removePartition(table, partition)));
+        }
+    }
+
+    private void removePartition(AuditPartitionedTable table, AuditPartition partition) {
+        if (retentionAction == RetentionAction.DROP) {
+            auditPartitionRepository.dropPartition(partition.getName());
+        } else {
+            auditPartitionRepository.detachPartition(table, partition.getName());
+        }
+        log.info("Audit partition {} is past its retention of {} months: {}", partition.getName(),
+                 retentionMonths, retentionAction);
+    }
+
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.cpo.validators;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A case ID as given in a request, parsed once when it is bound so that validating it and then querying by it does not
+ * scan it again.
+ *
+ * <p>NB: keeps the ID as given, so that error messages and audit entries show what the caller sent.</p>
+ **/
+@EqualsAndHashCode(of = "value")
+@Schema(type = "string")
+public final class CaseId implements CharSequence {
+
+    private final String value;
+
+    private final long caseId; // NB: CaseIdFormat.INVALID if the value is not a valid case ID
+
+    private CaseId(String value) {
+        this.value = value;
+        this.caseId = CaseIdFormat.parse(value);
+    }
+
+    /**
+     * Binds a case ID from a request parameter or JSON property.
+     */
+    @JsonCreator
+    public static CaseId valueOf(String value) {
+        return value == null ? null : new CaseId(value);
+    }
+
+    public boolean isValid() {
+        return caseId != CaseIdFormat.INVALID;
+    }
+
+    /**
+     * Gets the ID as a number, once it has been validated.
+     *
+     * @throws IllegalArgumentException if it is not a valid case ID after all
+     */
+    public long toLong() {
+        if (caseId == CaseIdFormat.INVALID) {
+            throw new IllegalArgumentException("Invalid case ID: " + value);
+        }
+        return caseId;
+    }
+
+    @Override
+    public int length() {
+        return value.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return value.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return value.subSequence(start, end);
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
@@ -8,10 +8,10 @@ import jakarta.validation.ConstraintValidatorContext;
 import java.util.ArrayList;
 import java.util.List;
 
-public class CaseIdValidator implements ConstraintValidator<ValidCaseId, String>, Validator<String> {
+public class CaseIdValidator implements ConstraintValidator<ValidCaseId, CharSequence>, Validator<CharSequence> {
 
     @Override
-    public boolean isValid(final String caseId, final ConstraintValidatorContext context) {
+    public boolean isValid(final CharSequence caseId, final ConstraintValidatorContext context) {
         if (StringUtils.isBlank(caseId)) {
             return true; // NB: is required checked elsewhere
         }
@@ -27,7 +27,7 @@ public class CaseIdValidator implements ConstraintValidator<ValidCaseId, String>
     }
 
     @Override
-    public void validate(final String caseId, List<String> errors) {
+    public void validate(final CharSequence caseId, List<String> errors) {
         if (!isValidCaseId(caseId)) {
             errors.add(ValidationError.CASE_ID_INVALID);
         }
@@ -8,10 +8,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-public class CaseIdsValidator implements ConstraintValidator<ValidCaseId, Optional<List<String>>>, Validator<String> {
+public class CaseIdsValidator implements ConstraintValidator<ValidCaseId, Optional<List<CaseId>>>, Validator<CaseId> {
 
     @Override
-    public boolean isValid(final Optional<List<String>> caseIds, final ConstraintValidatorContext context) {
+    public boolean isValid(final Optional<List<CaseId>> caseIds, final ConstraintValidatorContext context) {
         if (caseIds.isEmpty()) {
             return true;
         }
@@ -25,9 +25,9 @@ public class CaseIdsValidator implements ConstraintValidator<ValidCaseId, Option
     }
 
     @Override
-    public void validate(final String caseId, List<String> errors) {
+    public void validate(final CaseId caseId, List<String> errors) {
         if (!isValidCaseId(caseId)) {
-            errors.add(caseId);
+            errors.add(String.valueOf(caseId));
         }
     }
 
@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.cpo.validators;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+
+import java.util.UUID;
+
+/**
+ * A CPO ID as given in a request, parsed once when it is bound so that validating it and then querying by it does not
+ * scan it again.
+ *
+ * <p>NB: keeps the ID as given, so that error messages and audit entries show what the caller sent.</p>
+ **/
+@EqualsAndHashCode(of = "value")
+@Schema(type = "string", format = "uuid")
+public final class CpoId implements CharSequence {
+
+    private final String value;
+
+    private final UUID uuid; // NB: null if the value is not a valid CPO ID
+
+    private CpoId(String value) {
+        this.value = value;
+        this.uuid = CpoIdFormat.parse(value);
+    }
+
+    /**
+     * Binds a CPO ID from a request parameter, path variable or JSON property.
+     */
+    @JsonCreator
+    public static CpoId valueOf(String value) {
+        return value == null ? null : new CpoId(value);
+    }
+
+    public boolean isValid() {
+        return uuid != null;
+    }
+
+    /**
+     * Gets the ID as a UUID, once it has been validated.
+     *
+     * @throws IllegalArgumentException if it is not a valid CPO ID after all
+     */
+    public UUID toUuid() {
+        if (uuid == null) {
+            throw new IllegalArgumentException("Invalid CPO ID: " + value);
+        }
+        return uuid;
+    }
+
+    @Override
+    public int length() {
+        return value.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return value.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return value.subSequence(start, end);
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
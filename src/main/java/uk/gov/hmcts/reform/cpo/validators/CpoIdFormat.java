@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.cpo.validators;
+
+import java.util.UUID;
+
+/**
+ * Checks and parses CPO IDs, which are UUIDs in their canonical <code>8-4-4-4-12</code> hex form, in a single pass
+ * without throwing on bad input. Request IDs are parsed once when bound, see {@link CpoId}.
+ *
+ * <p>NB: unlike <code>UUID.fromString</code> this does not accept shortened groups, e.g. <code>1-2-3-4-5</code>.</p>
+ **/
+public final class CpoIdFormat {
+
+    public static final int CPO_ID_LENGTH = 36;
+
+    private static final int HEX_DIGITS_PER_LONG = 16;
+
+    public static boolean isValid(final CharSequence cpoId) {
+        return parse(cpoId) != null;
+    }
+
+    /**
+     * Parses a CPO ID.
+     *
+     * @return the ID as a UUID, or <code>null</code> if it is not a valid CPO ID
+     */
+    public static UUID parse(final CharSequence cpoId) {
+        if (cpoId == null || cpoId.length() != CPO_ID_LENGTH) {
+            return null;
+        }
+
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        int digits = 0;
+        for (int i = 0; i < CPO_ID_LENGTH; i++) {
+            char c = cpoId.charAt(i);
+            if (isDashPosition(i)) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+
+            int value = hexValue(c);
+            if (value < 0) {
+                return null;
+            }
+            if (digits++ < HEX_DIGITS_PER_LONG) {
+                mostSigBits = (mostSigBits << 4) | value;
+            } else {
+                leastSigBits = (leastSigBits << 4) | value;
+            }
+        }
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static boolean isDashPosition(int index) {
+        return index == 8 || index == 13 || index == 18 || index == 23;
+    }
+
+    private static int hexValue(char c) {
+        // NB: not Character.digit, as that also accepts non-ASCII digits
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    // Hide Utility Class Constructor : Utility classes should not have a public or default constructor (squid:S1118)
+    private CpoIdFormat() {
+    }
+}
@@ -8,10 +8,10 @@ import jakarta.validation.ConstraintValidatorContext;
 import java.util.ArrayList;
 import java.util.List;
 
-public class IdValidator implements ConstraintValidator<ValidCpoId, String>, Validator<String> {
+public class IdValidator implements ConstraintValidator<ValidCpoId, CharSequence>, Validator<CharSequence> {
 
     @Override
-    public boolean isValid(final String id, final ConstraintValidatorContext context) {
+    public boolean isValid(final CharSequence id, final ConstraintValidatorContext context) {
         if (StringUtils.isBlank(id)) {
             return true; // NB: is required checked elsewhere
         }
@@ -27,7 +27,7 @@ public class IdValidator implements ConstraintValidator<ValidCpoId, String>, Val
     }
 
     @Override
-    public void validate(final String id, List<String> errors) {
+    public void validate(final CharSequence id, List<String> errors) {
         if (!isValidCpoId(id)) {
             errors.add(ValidationError.ID_INVALID);
         }
@@ -8,10 +8,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-public class IdsValidator implements ConstraintValidator<ValidCpoId, Optional<List<String>>>, Validator<String> {
+public class IdsValidator implements ConstraintValidator<ValidCpoId, Optional<List<CpoId>>>, Validator<CpoId> {
 
     @Override
-    public boolean isValid(final Optional<List<String>> cpoIds, final ConstraintValidatorContext context) {
+    public boolean isValid(final Optional<List<CpoId>> cpoIds, final ConstraintValidatorContext context) {
         if (cpoIds.isEmpty()) {
             return true;
         }
@@ -25,9 +25,9 @@ public class IdsValidator implements ConstraintValidator<ValidCpoId, Optional<Li
     }
 
     @Override
-    public void validate(final String cpoId, List<String> errors) {
+    public void validate(final CpoId cpoId, List<String> errors) {
         if (!isValidCpoId(cpoId)) {
-            errors.add(cpoId);
+            errors.add(String.valueOf(cpoId));
         }
     }
 
@@ -15,6 +15,9 @@ public final class ValidationError {
     public static final String RESPONSIBLE_PARTY_REQUIRED = "Responsible Party is required.";
     public static final String CPO_FILTER_ERROR = "Case payment orders cannot be filtered by both id and case id.";
     public static final String CPO_PAGE_ERROR = "Case Payment Order, Page index must not zero or be less than zero!";
+    public static final String CPO_CURSOR_INVALID = "Case Payment Order cursor is invalid.";
+    public static final String CPOS_REQUIRED = "At least one Case Payment Order is required.";
+    public static final String CPOS_TOO_MANY = "No more than 100 Case Payment Orders can be created at once.";
 
     public static final String CPOS_NOT_FOUND = "The following Case Payment Orders do not exist : ";
     public static final String CANNOT_DELETE_USING_IDS_AND_CASE_IDS =
@@ -25,6 +28,7 @@ public final class ValidationError {
     public static final String CASE_ID_ORDER_REFERENCE_UNIQUE
         = "A case payment order with the specified Order Reference already exists on the case.";
     public static final String IDAM_ID_RETRIEVE_ERROR = "Idam ID cannot be retrieved.";
+    public static final String SERVICE_OVERLOADED = "Too many requests are being processed, please retry later.";
 
     public static final String ARGUMENT_NOT_VALID = "Input not valid";
     public static final String INVALID_PERMISSION_WHITELIST_VALUE = "Valid values for permission are: CRUD";
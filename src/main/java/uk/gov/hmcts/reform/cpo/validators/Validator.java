@@ -3,13 +3,9 @@ package uk.gov.hmcts.reform.cpo.validators;
 
 import jakarta.validation.ConstraintValidatorContext;
 import java.util.List;
-import java.util.UUID;
-
-import static org.apache.commons.validator.routines.checkdigit.LuhnCheckDigit.LUHN_CHECK_DIGIT;
 
 public interface Validator<T> {
 
-    String CASE_ID_RG = "\\d{16}";
     String ORDER_REFERENCE_RG = "^2[0-9]{3}-[0-9]{13}$";
 
     default void buildErrors(final ConstraintValidatorContext context, final String message, List<String> errors) {
@@ -18,20 +14,13 @@ public interface Validator<T> {
             .addConstraintViolation();
     }
 
-    default boolean isValidCaseId(String caseId) {
-
-        return caseId != null
-            && caseId.matches(CASE_ID_RG)
-            && LUHN_CHECK_DIGIT.isValid(caseId);
+    // NB: IDs bound as CaseId or CpoId were parsed when bound, so are not scanned again here
+    default boolean isValidCaseId(CharSequence caseId) {
+        return caseId instanceof CaseId parsed ? parsed.isValid() : CaseIdFormat.isValid(caseId);
     }
 
-    default boolean isValidCpoId(String cpoId) {
-        try {
-            UUID.fromString(cpoId);
-            return true;
-        } catch (Exception exception) {
-            return false;
-        }
+    default boolean isValidCpoId(CharSequence cpoId) {
+        return cpoId instanceof CpoId parsed ? parsed.isValid() : CpoIdFormat.isValid(cpoId);
     }
 
     void validate(T value, List<String> errors);
@@ -0,0 +1,19 @@
+-- Replaces the FOR EACH ROW revinfo_delete trigger, which ran one DELETE on revinfo per audit row removed,
+-- with one that runs a single DELETE per statement over the audit rows it removed.
+-- Revisions still referenced by other audit rows are kept rather than failing the foreign key.
+DROP TRIGGER IF EXISTS revinfo_delete ON case_payment_orders_audit;
+
+CREATE OR REPLACE FUNCTION revinfo_statement_removal() RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM revinfo
+    WHERE revinfo.rev IN (SELECT deleted_audit.rev FROM deleted_audit)
+      AND NOT EXISTS (SELECT 1 FROM case_payment_orders_audit cpoa WHERE cpoa.rev = revinfo.rev);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER revinfo_delete AFTER DELETE ON case_payment_orders_audit
+    REFERENCING OLD TABLE AS deleted_audit
+    FOR EACH STATEMENT EXECUTE PROCEDURE revinfo_statement_removal();
+
+DROP FUNCTION IF EXISTS revinfo_row_removal();
@@ -0,0 +1,10 @@
+-- Indexes the audit table on case_id for reading the history of a case
+-- (GET /case-payment-orders/history?case_id=), and on rev for the revinfo_delete trigger checking whether a
+-- revision is still in use. Built CONCURRENTLY so writes carry on while they build, which is why this script
+-- runs outside a transaction (see the .conf file next to it).
+-- If a build fails it leaves an INVALID index behind, which has to be dropped before running this again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS case_payment_orders_audit_case_id_idx
+    ON public.case_payment_orders_audit USING btree (case_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS case_payment_orders_audit_rev_idx
+    ON public.case_payment_orders_audit USING btree (rev);
@@ -0,0 +1,89 @@
+-- Turns case_payment_orders_audit and revinfo into tables partitioned by month of revision, so history older
+-- than its retention period goes by dropping whole partitions rather than deleting rows.
+--
+-- Nothing is copied: each existing table becomes the first partition of its new parent, the "legacy" partition,
+-- which holds everything up to the start of next month. Monthly partitions after that, and the removal of
+-- expired ones, are left to AuditPartitionMaintenance in the application. Attaching reads each existing table
+-- once to check its rows fit the partition, but does not rewrite it.
+--
+-- Both tables are partitioned on a revision_timestamp column set to the start of the inserting transaction. Envers
+-- writes a revision's revinfo row and audit rows in one transaction, so they always land in the same month, and a
+-- month can be removed from both tables together. Nothing queries on it though: lookups by id, case_id or rev still
+-- go through the index of every partition. The partitions are there so retention can drop months, not for pruning.
+
+-- Gives up rather than hold up writes to the audit tables should it have to queue for its locks, e.g. behind a long
+-- running read. The deployment can then simply be tried again.
+SET LOCAL lock_timeout = '10s';
+
+-- A primary key or foreign key on a partitioned table has to include its partition key, so both primary keys are
+-- widened to take in revision_timestamp below. Every row of a revision has the same revision_timestamp, so the
+-- primary keys still keep (id, rev) and rev unique in practice, but postgres no longer enforces that on its own.
+-- revrevinfoforeignkey is dropped rather than widened to (rev, revision_timestamp) as a revinfo partition could then
+-- not be detached, nor rows moved out of its default partition, while audit rows still refer to it. The
+-- revinfo_delete trigger, and removing each month from both tables together, keep the two in step instead.
+ALTER TABLE case_payment_orders_audit DROP CONSTRAINT IF EXISTS revrevinfoforeignkey;
+DROP TRIGGER IF EXISTS revinfo_delete ON case_payment_orders_audit;
+
+ALTER TABLE case_payment_orders_audit RENAME TO case_payment_orders_audit_legacy;
+ALTER INDEX case_payment_orders_aud_pkey RENAME TO case_payment_orders_audit_legacy_pkey;
+ALTER INDEX case_payment_orders_audit_case_id_idx RENAME TO case_payment_orders_audit_legacy_case_id_idx;
+ALTER INDEX case_payment_orders_audit_rev_idx RENAME TO case_payment_orders_audit_legacy_rev_idx;
+
+-- A constant default, so existing rows are not rewritten. They all belong to the legacy partition anyway.
+ALTER TABLE case_payment_orders_audit_legacy
+    ADD COLUMN revision_timestamp timestamp NOT NULL DEFAULT '-infinity';
+-- NB: rebuilds the primary key index of the existing history, to match the one the parent gets
+ALTER TABLE case_payment_orders_audit_legacy
+    DROP CONSTRAINT case_payment_orders_audit_legacy_pkey,
+    ADD CONSTRAINT case_payment_orders_audit_legacy_pkey PRIMARY KEY (id, rev, revision_timestamp);
+
+CREATE TABLE case_payment_orders_audit (
+    LIKE case_payment_orders_audit_legacy INCLUDING DEFAULTS,
+    CONSTRAINT case_payment_orders_audit_pkey PRIMARY KEY (id, rev, revision_timestamp)
+) PARTITION BY RANGE (revision_timestamp);
+-- Envers does not map the column, so every insert takes this default, in UTC to match the partition bounds. now() is
+-- the start of the transaction, the same for every row of a revision.
+ALTER TABLE case_payment_orders_audit ALTER COLUMN revision_timestamp SET DEFAULT (now() AT TIME ZONE 'UTC');
+
+CREATE INDEX case_payment_orders_audit_case_id_idx ON ONLY public.case_payment_orders_audit USING btree (case_id);
+CREATE INDEX case_payment_orders_audit_rev_idx ON ONLY public.case_payment_orders_audit USING btree (rev);
+
+ALTER TABLE revinfo RENAME TO revinfo_legacy;
+ALTER INDEX revinfo_pkey RENAME TO revinfo_legacy_pkey;
+
+-- Partitioned on the same column as the audit rows, rather than on revtstmp, which is the time in the application
+-- and so can fall in a different month to the audit rows of its revision
+ALTER TABLE revinfo_legacy ADD COLUMN revision_timestamp timestamp NOT NULL DEFAULT '-infinity';
+ALTER TABLE revinfo_legacy
+    DROP CONSTRAINT revinfo_legacy_pkey,
+    ADD CONSTRAINT revinfo_legacy_pkey PRIMARY KEY (rev, revision_timestamp);
+
+CREATE TABLE revinfo (
+    LIKE revinfo_legacy INCLUDING DEFAULTS,
+    CONSTRAINT revinfo_pkey PRIMARY KEY (rev, revision_timestamp)
+) PARTITION BY RANGE (revision_timestamp);
+ALTER TABLE revinfo ALTER COLUMN revision_timestamp SET DEFAULT (now() AT TIME ZONE 'UTC');
+
+DO $$
+DECLARE
+    next_month timestamp := date_trunc('month', now() AT TIME ZONE 'UTC') + interval '1 month';
+BEGIN
+    EXECUTE format('ALTER TABLE case_payment_orders_audit ATTACH PARTITION case_payment_orders_audit_legacy'
+                       || ' FOR VALUES FROM (MINVALUE) TO (%L)', next_month);
+    EXECUTE format('ALTER TABLE revinfo ATTACH PARTITION revinfo_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   next_month);
+END
+$$;
+
+ALTER INDEX case_payment_orders_audit_case_id_idx ATTACH PARTITION case_payment_orders_audit_legacy_case_id_idx;
+ALTER INDEX case_payment_orders_audit_rev_idx ATTACH PARTITION case_payment_orders_audit_legacy_rev_idx;
+
+-- Catch anything past the last monthly partition, so writes never fail if the maintenance falls behind. It moves
+-- them out again when it creates the partitions they belong in. Like every partition, each gets the primary key of
+-- its parent.
+CREATE TABLE case_payment_orders_audit_default PARTITION OF case_payment_orders_audit DEFAULT;
+CREATE TABLE revinfo_default PARTITION OF revinfo DEFAULT;
+
+CREATE TRIGGER revinfo_delete AFTER DELETE ON case_payment_orders_audit
+    REFERENCING OLD TABLE AS deleted_audit
+    FOR EACH STATEMENT EXECUTE PROCEDURE revinfo_statement_removal();
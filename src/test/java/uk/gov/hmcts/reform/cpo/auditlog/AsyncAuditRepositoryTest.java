@@ -0,0 +1,244 @@
+package uk.gov.hmcts.reform.cpo.auditlog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.MDC;
+import uk.gov.hmcts.reform.cpo.auditlog.AsyncAuditRepository.OverflowPolicy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static uk.gov.hmcts.reform.cpo.auditlog.AsyncAuditRepository.DROPPED_METRIC;
+import static uk.gov.hmcts.reform.cpo.auditlog.AsyncAuditRepository.QUEUE_DEPTH_METRIC;
+import static uk.gov.hmcts.reform.cpo.auditlog.AsyncAuditRepository.SPILLED_METRIC;
+
+class AsyncAuditRepositoryTest {
+
+    private static final int QUEUE_CAPACITY = 1;
+    private static final int BATCH_SIZE = 10;
+    private static final long TIMEOUT_MILLIS = 5000;
+    private static final String TRACE_ID = "traceId";
+
+    @Mock
+    private AuditRepository delegate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch writerReleased = new CountDownLatch(1);
+
+    private AsyncAuditRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // NB: so entries written in a batch reach the save stubs and verifications below as well
+        doCallRealMethod().when(delegate).saveAll(anyList());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writerReleased.countDown();
+        if (repository != null) {
+            repository.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write audit entries off the calling thread")
+    void shouldWriteAuditEntriesOffCallingThread() {
+        repository = startRepository(OverflowPolicy.BLOCK);
+        AuditEntry auditEntry = createAuditEntry("1");
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> writer = new CompletableFuture<>();
+        doAnswer(invocation -> writer.complete(Thread.currentThread())).when(delegate).save(auditEntry);
+
+        repository.save(auditEntry);
+
+        assertThat(writer.orTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).join()).isNotSameAs(caller);
+    }
+
+    @Test
+    @DisplayName("Should write each audit entry with the logging context of the thread that saved it")
+    void shouldWriteAuditEntriesWithCallersLoggingContext() {
+        repository = startRepository(OverflowPolicy.BLOCK);
+        AuditEntry first = createAuditEntry("1");
+        AuditEntry second = createAuditEntry("2");
+        CompletableFuture<Map<String, String>> firstContext = new CompletableFuture<>();
+        CompletableFuture<Map<String, String>> secondContext = new CompletableFuture<>();
+        doAnswer(invocation -> firstContext.complete(MDC.getCopyOfContextMap())).when(delegate).save(first);
+        doAnswer(invocation -> secondContext.complete(MDC.getCopyOfContextMap())).when(delegate).save(second);
+
+        MDC.put(TRACE_ID, "trace-1");
+        try {
+            repository.save(first);
+        } finally {
+            MDC.clear();
+        }
+        repository.save(second);
+
+        assertThat(firstContext.orTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).join())
+            .containsExactly(Map.entry(TRACE_ID, "trace-1"));
+        assertThat(secondContext.orTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).join()).isNullOrEmpty();
+    }
+
+    @Test
+    @DisplayName("Should write the audit entries queued together in one call, split where the logging context changes")
+    void shouldWriteQueuedAuditEntriesTogether() {
+        repository = startRepository(OverflowPolicy.BLOCK, BATCH_SIZE);
+        AuditEntry first = createAuditEntry("2");
+        AuditEntry second = createAuditEntry("3");
+        AuditEntry third = createAuditEntry("4");
+        holdWriter();
+
+        MDC.put(TRACE_ID, "trace-1");
+        try {
+            repository.save(first);
+            repository.save(second);
+        } finally {
+            MDC.clear();
+        }
+        repository.save(third);
+        writerReleased.countDown();
+
+        verify(delegate, timeout(TIMEOUT_MILLIS)).saveAll(List.of(first, second));
+        verify(delegate, timeout(TIMEOUT_MILLIS)).saveAll(List.of(third));
+    }
+
+    @Test
+    @DisplayName("Should keep writing after an audit entry fails to write")
+    void shouldKeepWritingAfterFailedWrite() {
+        repository = startRepository(OverflowPolicy.BLOCK);
+        AuditEntry failing = createAuditEntry("1");
+        AuditEntry next = createAuditEntry("2");
+        doThrow(new IllegalStateException("write failed")).when(delegate).save(failing);
+
+        repository.save(failing);
+        repository.save(next);
+
+        verify(delegate, timeout(TIMEOUT_MILLIS)).save(next);
+    }
+
+    @Test
+    @DisplayName("Should drop and count an audit entry when the queue is full")
+    void shouldDropAuditEntryWhenQueueIsFull() {
+        repository = startRepository(OverflowPolicy.DROP);
+        AuditEntry overflow = fillQueue();
+
+        repository.save(overflow);
+
+        assertThat(meterRegistry.get(DROPPED_METRIC).counter().count()).isEqualTo(1);
+        writerReleased.countDown();
+        verify(delegate, timeout(TIMEOUT_MILLIS)).save(createAuditEntry("2"));
+        verify(delegate, never()).save(overflow);
+    }
+
+    @Test
+    @DisplayName("Should spill an audit entry onto the calling thread when the queue is full")
+    void shouldSpillAuditEntryWhenQueueIsFull() {
+        repository = startRepository(OverflowPolicy.SPILL);
+        AuditEntry overflow = fillQueue();
+
+        repository.save(overflow);
+
+        verify(delegate).save(overflow);
+        assertThat(meterRegistry.get(SPILLED_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should wait for room when the queue is full")
+    void shouldWaitForRoomWhenQueueIsFull() {
+        repository = startRepository(OverflowPolicy.BLOCK);
+        AuditEntry overflow = fillQueue();
+
+        CompletableFuture<Void> save = CompletableFuture.runAsync(() -> repository.save(overflow));
+
+        assertThatThrownBy(() -> save.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        verify(delegate, never()).save(overflow);
+        writerReleased.countDown();
+        verify(delegate, timeout(TIMEOUT_MILLIS)).save(overflow);
+    }
+
+    @Test
+    @DisplayName("Should report the number of audit entries waiting to be written")
+    void shouldReportQueueDepth() {
+        repository = startRepository(OverflowPolicy.DROP);
+
+        fillQueue();
+
+        assertThat(meterRegistry.get(QUEUE_DEPTH_METRIC).gauge().value()).isEqualTo(QUEUE_CAPACITY);
+    }
+
+    @Test
+    @DisplayName("Should write queued audit entries on shutdown")
+    void shouldWriteQueuedAuditEntriesOnShutdown() throws InterruptedException {
+        repository = startRepository(OverflowPolicy.DROP);
+        fillQueue();
+        writerReleased.countDown();
+
+        repository.destroy();
+
+        verify(delegate).save(createAuditEntry("2"));
+        AuditEntry afterShutdown = createAuditEntry("3");
+        repository.save(afterShutdown);
+        verify(delegate).save(afterShutdown);
+        repository = null;
+    }
+
+    private AsyncAuditRepository startRepository(OverflowPolicy overflowPolicy) {
+        return startRepository(overflowPolicy, QUEUE_CAPACITY);
+    }
+
+    private AsyncAuditRepository startRepository(OverflowPolicy overflowPolicy, int queueCapacity) {
+        AsyncAuditRepository asyncAuditRepository =
+            new AsyncAuditRepository(delegate, meterRegistry, queueCapacity, BATCH_SIZE, overflowPolicy);
+        asyncAuditRepository.afterPropertiesSet();
+        return asyncAuditRepository;
+    }
+
+    /**
+     * Holds the writer on a first entry and fills the queue behind it, returning the next entry to save.
+     */
+    private AuditEntry fillQueue() {
+        holdWriter();
+
+        repository.save(createAuditEntry("2"));
+        return createAuditEntry("overflow");
+    }
+
+    /**
+     * Holds the writer on a first entry until {@link #writerReleased}, so the entries saved next queue up behind it.
+     */
+    private void holdWriter() {
+        AuditEntry inFlight = createAuditEntry("1");
+        doAnswer(invocation -> writerReleased.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+            .when(delegate).save(inFlight);
+        repository.save(inFlight);
+        verify(delegate, timeout(TIMEOUT_MILLIS)).save(inFlight);
+    }
+
+    private AuditEntry createAuditEntry(String requestId) {
+        AuditEntry auditEntry = new AuditEntry();
+        auditEntry.setRequestId(requestId);
+        return auditEntry;
+    }
+
+}
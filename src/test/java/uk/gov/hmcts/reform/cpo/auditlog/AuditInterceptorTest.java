@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.cpo.auditlog;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.method.HandlerMethod;
 import uk.gov.hmcts.reform.BaseTest;
 import uk.gov.hmcts.reform.cpo.auditlog.aop.AuditContext;
@@ -64,9 +67,15 @@ class AuditInterceptorTest implements BaseTest {
         given(auditConfiguration.isHttpStatusIgnored(STATUS_NOT_HIDDEN)).willReturn(false);
 
         auditContext = new AuditContext();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
         AuditContextHolder.setAuditContext(auditContext);
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     @DisplayName("Should prepare audit context with HTTP semantics")
     void shouldPrepareAuditContextWithHttpSemantics() {
@@ -167,7 +176,7 @@ class AuditInterceptorTest implements BaseTest {
         interceptor.afterCompletion(request, response, handler, null);
 
         // THEN
-        assertNull("Should clear audit context on completion", AuditContextHolder.getAuditContext());
+        assertNull("Should clear audit context on completion", AuditContextHolder.getAuditContext(request));
     }
 
     @Test
@@ -139,4 +139,128 @@ class AuditLogFormatterTest implements BaseTest {
                          + "caseId:" + CASE_ID_VALID_1 + "," + CASE_ID_VALID_2);
     }
 
+    @Test
+    @DisplayName("Should not log pair if blank")
+    void shouldNotLogPairIfBlank() {
+
+        // GIVEN
+        AuditEntry auditEntry = new AuditEntry();
+        auditEntry.setOperationType(" ");
+        auditEntry.setHttpMethod(HttpMethod.GET.name());
+        auditEntry.setHttpStatus(HttpStatus.OK.value());
+        auditEntry.setRequestPath(CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH);
+        auditEntry.setCpoIds(List.of());
+        auditEntry.setCaseIds(List.of(" "));
+        auditEntry.setRequestId(REQUEST_ID);
+
+        // WHEN
+        String result = logFormatter.format(auditEntry);
+
+        // THEN
+        assertEquals("Should leave out blank values and their labels",
+                     result,
+                     AuditLogFormatter.TAG + " "
+                         + "endpointCalled:GET " + CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH + ","
+                         + "operationalOutcome:200,"
+                         + "X-Request-ID:" + REQUEST_ID);
+    }
+
+    @Test
+    @DisplayName("Should not carry anything over from the previous entry")
+    void shouldNotCarryOverPreviousEntry() {
+
+        // GIVEN
+        AuditEntry firstEntry = new AuditEntry();
+        firstEntry.setDateTime("2021-04-26 15:39:45");
+        firstEntry.setHttpMethod(HttpMethod.PUT.name());
+        firstEntry.setHttpStatus(HttpStatus.ACCEPTED.value());
+        firstEntry.setRequestPath(CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH);
+        firstEntry.setCaseIds(List.of(CASE_ID_VALID_1, CASE_ID_VALID_2, CASE_ID_VALID_3));
+        firstEntry.setRequestId(REQUEST_ID);
+
+        AuditEntry secondEntry = new AuditEntry();
+        secondEntry.setHttpMethod(HttpMethod.GET.name());
+        secondEntry.setHttpStatus(HttpStatus.OK.value());
+        secondEntry.setRequestPath(CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH);
+
+        // WHEN
+        logFormatter.format(firstEntry);
+        String result = logFormatter.format(secondEntry);
+
+        // THEN
+        assertEquals("Should only log the second entry",
+                     result,
+                     AuditLogFormatter.TAG + " "
+                         + "endpointCalled:GET " + CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH + ","
+                         + "operationalOutcome:200");
+    }
+
+    @Test
+    @DisplayName("Should format entry as JSON")
+    void shouldFormatEntryAsJson() {
+
+        // GIVEN
+        AuditEntry auditEntry = new AuditEntry();
+        auditEntry.setDateTime("2021-04-26 15:39:45");
+        auditEntry.setOperationType("TEST_OPERATION_TYPE");
+        auditEntry.setIdamId("test_idamId");
+        auditEntry.setInvokingService("test_invokingService");
+        auditEntry.setHttpMethod(HttpMethod.GET.name());
+        auditEntry.setHttpStatus(HttpStatus.OK.value());
+        auditEntry.setRequestPath(CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH);
+        auditEntry.setCpoIds(List.of(CPO_ID_VALID_1, CPO_ID_VALID_2, CPO_ID_VALID_3));
+        auditEntry.setCaseIds(List.of(CASE_ID_VALID_1));
+        auditEntry.setRequestId(REQUEST_ID);
+
+        logFormatter = new AuditLogFormatter(2, AuditLogFormatter.Format.JSON);
+
+        // WHEN
+        String result = logFormatter.format(auditEntry);
+
+        // THEN
+        assertEquals("Should write every field as JSON, applying limit to ID lists",
+                     result,
+                     "{\"tag\":\"" + AuditLogFormatter.TAG + "\","
+                         + "\"dateTime\":\"2021-04-26 15:39:45\","
+                         + "\"operationType\":\"TEST_OPERATION_TYPE\","
+                         + "\"idamId\":\"test_idamId\","
+                         + "\"invokingService\":\"test_invokingService\","
+                         + "\"httpMethod\":\"GET\","
+                         + "\"requestPath\":\"" + CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH + "\","
+                         + "\"httpStatus\":200,"
+                         + "\"cpoIds\":[\"" + CPO_ID_VALID_1 + "\",\"" + CPO_ID_VALID_2 + "\"],"
+                         + "\"caseIds\":[\"" + CASE_ID_VALID_1 + "\"],"
+                         + "\"requestId\":\"" + REQUEST_ID + "\"}");
+    }
+
+    @Test
+    @DisplayName("Should format each entry as its own JSON object")
+    void shouldFormatEachEntryAsOwnJsonObject() {
+
+        // GIVEN
+        AuditEntry firstEntry = new AuditEntry();
+        firstEntry.setHttpStatus(HttpStatus.OK.value());
+        firstEntry.setIdamId(" ");
+
+        AuditEntry secondEntry = new AuditEntry();
+        secondEntry.setHttpStatus(HttpStatus.NOT_FOUND.value());
+        secondEntry.setRequestPath("/path/with \"quotes\"");
+
+        logFormatter = new AuditLogFormatter(0, AuditLogFormatter.Format.JSON);
+
+        // WHEN
+        String firstResult = logFormatter.format(firstEntry);
+        String secondResult = logFormatter.format(secondEntry);
+
+        // THEN
+        assertEquals("Should leave out blank values",
+                     firstResult,
+                     "{\"tag\":\"" + AuditLogFormatter.TAG + "\",\"httpStatus\":200}");
+        assertEquals("Should start a new object and escape values",
+                     secondResult,
+                     "{\"tag\":\"" + AuditLogFormatter.TAG + "\","
+                         + "\"requestPath\":\"/path/with \\\"quotes\\\"\","
+                         + "\"httpStatus\":404}");
+    }
+
 }
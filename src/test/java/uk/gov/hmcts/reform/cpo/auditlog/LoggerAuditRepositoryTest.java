@@ -7,6 +7,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
+
 import static org.mockito.Mockito.verify;
 
 class LoggerAuditRepositoryTest {
@@ -37,4 +39,23 @@ class LoggerAuditRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("Should save every audit entry of a batch by using AuditLogFormatter")
+    void shouldSaveAllAuditEntries() {
+
+        // GIVEN
+        AuditEntry first = new AuditEntry();
+        first.setRequestId("1");
+        AuditEntry second = new AuditEntry();
+        second.setRequestId("2");
+
+        // WHEN
+        repository.saveAll(List.of(first, second));
+
+        // THEN
+        verify(logFormatter).format(first);
+        verify(logFormatter).format(second);
+
+    }
+
 }
@@ -1,12 +1,16 @@
 package uk.gov.hmcts.reform.cpo.auditlog.aop;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 import org.springframework.aop.framework.AopProxy;
 import org.springframework.aop.framework.DefaultAopProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import uk.gov.hmcts.reform.BaseTest;
 import uk.gov.hmcts.reform.cpo.auditlog.AuditOperationType;
 import uk.gov.hmcts.reform.cpo.auditlog.LogAudit;
@@ -25,6 +29,7 @@ class AuditAspectTest implements BaseTest {
 
     private final AuditAspect aspect = new AuditAspect();
     private TestController controllerProxy;
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
 
     @BeforeEach
     void setUp() {
@@ -35,6 +40,13 @@ class AuditAspectTest implements BaseTest {
         AopProxy aopProxy = proxyFactory.createAopProxy(aspectJProxyFactory);
 
         controllerProxy = (TestController) aopProxy.getProxy();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -44,7 +56,7 @@ class AuditAspectTest implements BaseTest {
 
         // WHEN
         CasePaymentOrder result = controllerProxy.createCpo_LogSingleIds();
-        AuditContext context = AuditContextHolder.getAuditContext();
+        AuditContext context = AuditContextHolder.getAuditContext(request);
 
         // THEN
         assertNotNull("Context should exist", context);
@@ -73,7 +85,7 @@ class AuditAspectTest implements BaseTest {
 
         // WHEN
         controllerProxy.getCpos_LogListOfIds(cpoIds, caseIds);
-        AuditContext context = AuditContextHolder.getAuditContext();
+        AuditContext context = AuditContextHolder.getAuditContext(request);
 
         // THEN
         assertNotNull("Context should exist", context);
@@ -104,7 +116,7 @@ class AuditAspectTest implements BaseTest {
 
         // WHEN
         controllerProxy.deleteCpos_LogSingleIdsAndListOfIds(cpoIds, caseIds, cpoId, caseId);
-        AuditContext context = AuditContextHolder.getAuditContext();
+        AuditContext context = AuditContextHolder.getAuditContext(request);
 
         // THEN
         assertNotNull("Context should exist", context);
@@ -136,7 +148,7 @@ class AuditAspectTest implements BaseTest {
 
         // WHEN
         assertThrows(RuntimeException.class, () -> controllerProxy.deleteCpos_ThrowError(cpoIds, caseIds));
-        AuditContext context = AuditContextHolder.getAuditContext();
+        AuditContext context = AuditContextHolder.getAuditContext(request);
 
         // THEN
         assertNotNull("Context should exist", context);
@@ -158,7 +170,7 @@ class AuditAspectTest implements BaseTest {
 
         // WHEN
         controllerProxy.updateCpo_LogUsingBadPath(updateRequest);
-        AuditContext context = AuditContextHolder.getAuditContext();
+        AuditContext context = AuditContextHolder.getAuditContext(request);
 
         // THEN
         assertNotNull("Context should exist", context);
@@ -166,7 +178,7 @@ class AuditAspectTest implements BaseTest {
                      AuditOperationType.UPDATE_CASE_PAYMENT_ORDER, context.getAuditOperationType());
 
         assertTrue("CPO ID list should be populated as per LogAudit path",
-                   context.getCpoIds().contains(updateRequest.getId()));
+                   context.getCpoIds().contains(updateRequest.getId().toString()));
         assertTrue("Case ID List should be populated as per LogAudit path",
                    context.getCaseIds().contains(updateRequest.getCaseId()));
 
@@ -0,0 +1,128 @@
+package uk.gov.hmcts.reform.cpo.auditlog.aop;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.hmcts.reform.cpo.auditlog.AuditOperationType;
+import uk.gov.hmcts.reform.cpo.auditlog.LogAudit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditContextHolderTest {
+
+    private static final int REQUESTS = 5000;
+    private static final int PLATFORM_THREADS = 32;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private TestController controllerProxy;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TestController());
+        proxyFactory.addAspect(new AuditAspect());
+        controllerProxy = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should keep each request's audit context to itself on virtual threads")
+    void shouldKeepAuditContextPerRequestOnVirtualThreads() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThat(runRequests(executor)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep each request's audit context to itself on pooled platform threads")
+    void shouldKeepAuditContextPerRequestOnPooledPlatformThreads() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+            assertThat(runRequests(executor)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hand the audit context to threads started during a request")
+    void shouldNotHandAuditContextToChildThreads() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            controllerProxy.audited("cpo-id", "case-id");
+
+            // NB: the context lives on the request, which a child thread has no way of reaching
+            CompletableFuture<RequestAttributes> childRequest = new CompletableFuture<>();
+            Thread.ofPlatform().start(() -> childRequest.complete(RequestContextHolder.getRequestAttributes()));
+
+            assertThat(AuditContextHolder.getAuditContext(request)).isNotNull();
+            assertThat(childRequest.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isNull();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /**
+     * Runs many audited requests at once, each with its own IDs, returning a description of every request that
+     * ended up with an audit context other than its own.
+     */
+    private List<String> runRequests(ExecutorService executor) throws Exception {
+        List<Future<String>> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String cpoId = "cpo-" + i;
+            String caseId = "case-" + i;
+            requests.add(executor.submit(() -> handleRequest(cpoId, caseId)));
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        for (Future<String> request : requests) {
+            String mismatch = request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (mismatch != null) {
+                mismatches.add(mismatch);
+            }
+        }
+        return mismatches;
+    }
+
+    private String handleRequest(String cpoId, String caseId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            controllerProxy.audited(cpoId, caseId);
+            // NB: give other requests the chance to run on this thread before the context is read back
+            Thread.yield();
+
+            AuditContext auditContext = AuditContextHolder.getAuditContext(request);
+            if (auditContext == null
+                || !List.of(cpoId).equals(auditContext.getCpoIds())
+                || !List.of(caseId).equals(auditContext.getCaseIds())) {
+                return cpoId + " got " + auditContext;
+            }
+            return null;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class TestController {
+
+        @LogAudit(
+            operationType = AuditOperationType.GET_CASE_PAYMENT_ORDER,
+            cpoId = "#cpoId",
+            caseId = "#caseId"
+        )
+        public void audited(String cpoId, String caseId) {
+        }
+    }
+
+}
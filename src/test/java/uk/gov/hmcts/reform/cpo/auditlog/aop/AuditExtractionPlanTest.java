@@ -0,0 +1,215 @@
+package uk.gov.hmcts.reform.cpo.auditlog.aop;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
+import uk.gov.hmcts.reform.BaseTest;
+import uk.gov.hmcts.reform.cpo.auditlog.AuditOperationType;
+import uk.gov.hmcts.reform.cpo.auditlog.LogAudit;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNull;
+
+class AuditExtractionPlanTest implements BaseTest {
+
+    @Test
+    @DisplayName("Should extract IDs from arguments by name and by index")
+    void shouldExtractIdsFromArgumentsByNameAndIndex() {
+
+        // GIVEN
+        AuditExtractionPlan plan = createPlan("byNameAndIndex", String.class, String.class, String.class);
+
+        // WHEN
+        AuditContext context = plan.createAuditContext(new SampleMethods(),
+                                                       new Object[]{CPO_ID_VALID_1, CASE_ID_VALID_1, CASE_ID_VALID_2},
+                                                       null);
+
+        // THEN
+        assertEquals("Should populate operation type", AuditOperationType.GET_CASE_PAYMENT_ORDER,
+                     context.getAuditOperationType());
+        assertEquals("Should find 1st arg on name", List.of(CPO_ID_VALID_1), context.getCpoIds());
+        assertEquals("Should find 2nd and 3rd args on 'a1' and 'p2'", List.of(CASE_ID_VALID_2, CASE_ID_VALID_1),
+                     context.getCaseIds());
+    }
+
+    @Test
+    @DisplayName("Should extract IDs from bean properties of the arguments and result")
+    void shouldExtractIdsFromBeanProperties() {
+
+        // GIVEN
+        CasePaymentOrder casePaymentOrder = createCasePaymentOrder();
+        AuditExtractionPlan plan = createPlan("fromBeans", CasePaymentOrder.class);
+
+        // WHEN
+        AuditContext context = plan.createAuditContext(new SampleMethods(),
+                                                       new Object[]{casePaymentOrder},
+                                                       casePaymentOrder);
+
+        // THEN
+        assertEquals("Should find bean value of type UUID", List.of(casePaymentOrder.getId().toString()),
+                     context.getCpoIds());
+        assertEquals("Should find bean value of type long", List.of(String.valueOf(casePaymentOrder.getCaseId())),
+                     context.getCaseIds());
+    }
+
+    @Test
+    @DisplayName("Should extract IDs using SpEL expressions on every call")
+    void shouldExtractIdsUsingSpelExpressions() {
+
+        // GIVEN
+        AuditExtractionPlan plan = createPlan("fromExpressions", List.class, Optional.class);
+        List<CasePaymentOrder> casePaymentOrders = List.of(createCasePaymentOrder());
+        List<String> caseIds = List.of(CASE_ID_VALID_1, CASE_ID_VALID_2);
+
+        // WHEN
+        // NB: the early calls run the expressions interpreted, later calls run them compiled
+        for (int i = 0; i < CALLS_TO_COMPILE; i++) {
+            AuditContext context = plan.createAuditContext(new SampleMethods(),
+                                                           new Object[]{casePaymentOrders, Optional.of(caseIds)},
+                                                           null);
+
+            // THEN
+            assertEquals("Should project IDs from a list", List.of(CPO_ID_VALID_1), context.getCpoIds());
+            assertEquals("Should call a static method", caseIds, context.getCaseIds());
+        }
+    }
+
+    @Test
+    @DisplayName("Should extract IDs using a SpEL expression compiled for a different runtime type")
+    void shouldExtractIdsUsingSpelExpressionForDifferentRuntimeTypes() {
+
+        // GIVEN
+        AuditExtractionPlan plan = createPlan("fromAnyRequest", Object.class);
+        for (int i = 0; i < CALLS_TO_COMPILE; i++) {
+            plan.createAuditContext(new SampleMethods(), new Object[]{new FirstRequest(CASE_ID_VALID_1)}, null);
+        }
+
+        // WHEN
+        AuditContext context = plan.createAuditContext(new SampleMethods(),
+                                                       new Object[]{new SecondRequest(CASE_ID_VALID_2)},
+                                                       null);
+
+        // THEN
+        assertEquals("Should find the case ID of the other type", List.of(CASE_ID_VALID_2), context.getCaseIds());
+    }
+
+    @Test
+    @DisplayName("Should skip result expressions when there is no result")
+    void shouldSkipResultExpressionsWhenNoResult() {
+
+        // GIVEN
+        AuditExtractionPlan plan = createPlan("fromBeans", CasePaymentOrder.class);
+
+        // WHEN
+        AuditContext context = plan.createAuditContext(new SampleMethods(),
+                                                       new Object[]{createCasePaymentOrder()},
+                                                       null);
+
+        // THEN
+        assertNull("Should not extract a CPO ID from a missing result", context.getCpoIds());
+        assertEquals("Should still extract case ID from the arguments", List.of(CASE_ID_VALID_1),
+                     context.getCaseIds());
+    }
+
+    @Test
+    @DisplayName("Should leave out IDs when property not found")
+    void shouldLeaveOutIdsWhenPropertyNotFound() {
+
+        // GIVEN
+        AuditExtractionPlan plan = createPlan("unknownProperty", CasePaymentOrder.class);
+
+        // WHEN
+        AuditContext context = plan.createAuditContext(new SampleMethods(),
+                                                       new Object[]{createCasePaymentOrder()},
+                                                       null);
+
+        // THEN
+        assertNull("Should not extract an ID from an unknown property", context.getCpoIds());
+        assertEquals("Should still extract the other IDs", List.of(CASE_ID_VALID_1), context.getCaseIds());
+    }
+
+    // NB: more than the number of interpreted runs after which SpEL compiles an expression in MIXED mode
+    private static final int CALLS_TO_COMPILE = 150;
+
+    private AuditExtractionPlan createPlan(String methodName, Class<?>... parameterTypes) {
+        Method method = Objects.requireNonNull(ReflectionUtils.findMethod(SampleMethods.class, methodName,
+                                                                          parameterTypes));
+        return AuditExtractionPlan.of(method, method.getAnnotation(LogAudit.class));
+    }
+
+    @SuppressWarnings("unused")
+    public static class SampleMethods {
+
+        @LogAudit(
+            operationType = AuditOperationType.GET_CASE_PAYMENT_ORDER,
+            cpoId = "#cpoId",
+            caseIds = "{#p2}",
+            caseId = "#a1"
+        )
+        public void byNameAndIndex(String cpoId, String firstCaseId, String secondCaseId) {
+        }
+
+        @LogAudit(
+            operationType = AuditOperationType.CREATE_CASE_PAYMENT_ORDER,
+            cpoId = "#result.id",
+            caseId = "#casePaymentOrder.caseId"
+        )
+        public CasePaymentOrder fromBeans(CasePaymentOrder casePaymentOrder) {
+            return casePaymentOrder;
+        }
+
+        @LogAudit(
+            operationType = AuditOperationType.GET_CASE_PAYMENT_ORDER,
+            cpoIds = "#casePaymentOrders.![id]",
+            caseIds = "T(uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController).buildOptionalIds(#caseIds)"
+        )
+        public void fromExpressions(List<CasePaymentOrder> casePaymentOrders, Optional<List<String>> caseIds) {
+        }
+
+        @LogAudit(
+            operationType = AuditOperationType.UPDATE_CASE_PAYMENT_ORDER,
+            cpoId = "#casePaymentOrder.unknownProperty",
+            caseId = "#casePaymentOrder.caseId"
+        )
+        public void unknownProperty(CasePaymentOrder casePaymentOrder) {
+        }
+
+        @LogAudit(
+            operationType = AuditOperationType.UPDATE_CASE_PAYMENT_ORDER,
+            caseId = "#request.caseId"
+        )
+        public void fromAnyRequest(Object request) {
+        }
+    }
+
+    public static class FirstRequest {
+        private final String caseId;
+
+        public FirstRequest(String caseId) {
+            this.caseId = caseId;
+        }
+
+        public String getCaseId() {
+            return caseId;
+        }
+    }
+
+    public static class SecondRequest {
+        private final String caseId;
+
+        public SecondRequest(String caseId) {
+            this.caseId = caseId;
+        }
+
+        public String getCaseId() {
+            return caseId;
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.cpo.config;
 
+import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +16,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,6 +26,11 @@ import org.springframework.web.bind.annotation.RestController;
 import uk.gov.hmcts.reform.authorisation.filters.ServiceAuthFilter;
 import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
 import uk.gov.hmcts.reform.cpo.security.JwtGrantedAuthoritiesConverter;
+import uk.gov.hmcts.reform.cpo.security.SecurityUtils;
+import uk.gov.hmcts.reform.cpo.security.ServiceBulkheadFilter;
+import uk.gov.hmcts.reform.cpo.security.ServiceBulkheads;
+import uk.gov.hmcts.reform.cpo.security.UserInfoJwtAuthenticationConverter;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
 import java.io.IOException;
 import java.time.Instant;
@@ -43,6 +51,7 @@ import static uk.gov.hmcts.reform.cpo.security.JwtGrantedAuthoritiesConverter.TO
     excludeFilters = @ComponentScan.Filter(type = ASSIGNABLE_TYPE, classes = AuditConfiguration.class))
 @Import({
     SecurityConfiguration.class,
+    UserInfoJwtAuthenticationConverter.class,
     SecurityConfigurationTest.TestConfig.class,
     SecurityConfigurationTest.TestController.class
 })
@@ -60,12 +69,21 @@ class SecurityConfigurationTest {
     @MockitoBean
     private JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
 
+    @MockitoBean
+    private ServiceBulkheads serviceBulkheads;
+
+    @MockitoBean
+    private SecurityUtils securityUtils;
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private SecurityFilterChain securityFilterChain;
+
     @Test
     void shouldAcceptAuthenticatedBearerJwtWithoutOAuth2ClientRegistration() throws Exception {
         Jwt jwt = Jwt.withTokenValue(TOKEN)
@@ -76,7 +94,9 @@ class SecurityConfigurationTest {
             .build();
 
         when(jwtDecoder.decode(TOKEN)).thenReturn(jwt);
-        when(jwtGrantedAuthoritiesConverter.convert(any(Jwt.class)))
+        UserInfo userInfo = UserInfo.builder().roles(List.of("caseworker")).build();
+        when(jwtGrantedAuthoritiesConverter.getUserInfo(any(Jwt.class))).thenReturn(userInfo);
+        when(jwtGrantedAuthoritiesConverter.extractAuthorities(userInfo))
             .thenReturn(List.of(new SimpleGrantedAuthority("caseworker")));
 
         assertThat(environment.getProperty("spring.security.oauth2.client.registration.oidc.client-id")).isNull();
@@ -89,7 +109,29 @@ class SecurityConfigurationTest {
             .andExpect(content().string("authenticated"));
 
         verify(jwtDecoder).decode(TOKEN);
-        verify(jwtGrantedAuthoritiesConverter).convert(jwt);
+        verify(jwtGrantedAuthoritiesConverter).getUserInfo(jwt);
+    }
+
+    @Test
+    void shouldLimitServicesOnceVerifiedButBeforeAuthenticatingUser() {
+        List<Filter> filters = securityFilterChain.getFilters();
+
+        int serviceAuthFilter = indexOf(filters, ServiceAuthFilter.class);
+        int serviceBulkheadFilter = indexOf(filters, ServiceBulkheadFilter.class);
+        int bearerTokenAuthenticationFilter = indexOf(filters, BearerTokenAuthenticationFilter.class);
+
+        assertThat(serviceAuthFilter).isNotNegative();
+        assertThat(serviceBulkheadFilter).isGreaterThan(serviceAuthFilter);
+        assertThat(bearerTokenAuthenticationFilter).isGreaterThan(serviceBulkheadFilter);
+    }
+
+    private static int indexOf(List<Filter> filters, Class<? extends Filter> filterClass) {
+        for (int i = 0; i < filters.size(); i++) {
+            if (filterClass.isInstance(filters.get(i))) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     @RestController
@@ -0,0 +1,88 @@
+package uk.gov.hmcts.reform.cpo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(5));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should count virtual threads that block while pinned to their carrier")
+    void shouldCountPinnedVirtualThreads() throws InterruptedException {
+        // NB: from Java 24 blocking in a synchronized block no longer pins the virtual thread
+        assumeTrue(Runtime.version().feature() < 24);
+
+        Object lock = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(50);
+            }
+        }).join();
+
+        Instant deadline = Instant.now().plusSeconds(TIMEOUT_SECONDS);
+        while (pinnedCount() == 0 && Instant.now().isBefore(deadline)) {
+            sleep(100);
+        }
+        assertThat(pinnedCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not count virtual threads that block without being pinned")
+    void shouldNotCountUnpinnedVirtualThreads() throws InterruptedException {
+        Thread.ofVirtual().start(() -> sleep(50)).join();
+
+        // NB: JFR streams events in batches roughly once a second
+        sleep(1500);
+        assertThat(pinnedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report whether it is running")
+    void shouldReportWhetherRunning() {
+        assertThat(monitor.isRunning()).isTrue();
+
+        monitor.stop();
+        assertThat(monitor.isRunning()).isFalse();
+
+        monitor.start();
+    }
+
+    private double pinnedCount() {
+        return meterRegistry.get(VirtualThreadPinningMonitor.PINNED_METRIC).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.cpo.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import org.hibernate.envers.RevisionType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -26,19 +27,26 @@ import uk.gov.hmcts.reform.BaseTest;
 import uk.gov.hmcts.reform.cpo.config.AuditConfiguration;
 import uk.gov.hmcts.reform.cpo.config.SecurityConfiguration;
 import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderChanges;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderHistoryEntry;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderHistoryPage;
 import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrdersFilterException;
 import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.payload.UpdateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderQueryFilter;
 import uk.gov.hmcts.reform.cpo.security.JwtGrantedAuthoritiesConverter;
 import uk.gov.hmcts.reform.cpo.service.CasePaymentOrdersService;
+import uk.gov.hmcts.reform.cpo.validators.CaseId;
+import uk.gov.hmcts.reform.cpo.validators.CpoId;
 import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
@@ -56,14 +64,19 @@ import static org.springframework.context.annotation.FilterType.ASSIGNABLE_TYPE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.test.util.AssertionErrors.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_ID;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDERS_HISTORY_PATH;
 import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDER_HISTORY_PATH;
 import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_IDS;
+import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CURSOR;
 import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.IDS;
 
 public class CasePaymentOrdersControllerTest implements BaseTest {
@@ -543,14 +556,14 @@ public class CasePaymentOrdersControllerTest implements BaseTest {
             CasePaymentOrdersController controller
                 = new CasePaymentOrdersController(casePaymentOrdersService);
 
-            controller.deleteCasePaymentOrdersById(Optional.of(List.of(CPO_ID_VALID_1)),
+            controller.deleteCasePaymentOrdersById(Optional.of(List.of(CpoId.valueOf(CPO_ID_VALID_1))),
                                                    Optional.of(List.of()));
 
             // verify service call
             ArgumentCaptor<CasePaymentOrderQueryFilter> captor =
                 ArgumentCaptor.forClass(CasePaymentOrderQueryFilter.class);
             verify(casePaymentOrdersService).deleteCasePaymentOrders(captor.capture());
-            assertTrue(captor.getValue().getCpoIds().contains(CPO_ID_VALID_1));
+            assertTrue(captor.getValue().getCpoIds().contains(UUID.fromString(CPO_ID_VALID_1)));
             assertTrue(captor.getValue().getCaseIds().isEmpty());
         }
 
@@ -588,14 +601,14 @@ public class CasePaymentOrdersControllerTest implements BaseTest {
                 = new CasePaymentOrdersController(casePaymentOrdersService);
 
             controller.deleteCasePaymentOrdersById(Optional.of(Collections.emptyList()),
-                                                   Optional.of(List.of(CASE_ID_VALID_1)));
+                                                   Optional.of(List.of(CaseId.valueOf(CASE_ID_VALID_1))));
 
             // verify service call
             ArgumentCaptor<CasePaymentOrderQueryFilter> captor =
                 ArgumentCaptor.forClass(CasePaymentOrderQueryFilter.class);
             verify(casePaymentOrdersService).deleteCasePaymentOrders(captor.capture());
             assertTrue(captor.getValue().getCpoIds().isEmpty());
-            assertTrue(captor.getValue().getCaseIds().contains(CASE_ID_VALID_1));
+            assertTrue(captor.getValue().getCaseIds().contains(Long.parseLong(CASE_ID_VALID_1)));
         }
 
         @DisplayName("should delete case payment order specified by case id")
@@ -666,11 +679,15 @@ public class CasePaymentOrdersControllerTest implements BaseTest {
     @DisplayName("GET /case-payment-orders")
     class GetCasePaymentOrder extends BaseMvcTest {
 
-        private final List<String> casesIds = List.of("1609243447569251", "1609243447569252", "1609243447569253");
+        private final List<CaseId> casesIds = Stream.of("1609243447569251", "1609243447569252", "1609243447569253")
+            .map(CaseId::valueOf)
+            .toList();
 
-        private final List<String> ids = List.of("df54651b-3227-4067-9f23-6ffb32e2c6bd",
-                                                 "d702ef36-0ca7-46e9-8a00-ef044d78453e",
-                                                 "d702ef36-0ca7-46e9-8a00-ef044d78453e");
+        private final List<CpoId> ids = Stream.of("df54651b-3227-4067-9f23-6ffb32e2c6bd",
+                                                  "d702ef36-0ca7-46e9-8a00-ef044d78453e",
+                                                  "d702ef36-0ca7-46e9-8a00-ef044d78453e")
+            .map(CpoId::valueOf)
+            .toList();
 
         @DisplayName("happy path for ids")
         @Test
@@ -778,6 +795,80 @@ public class CasePaymentOrdersControllerTest implements BaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /case-payment-orders/{id}/history and /case-payment-orders/history?case_id=")
+    class GetCasePaymentOrderHistory extends BaseMvcTest {
+
+        private final CasePaymentOrderHistoryPage historyPage = CasePaymentOrderHistoryPage.builder()
+            .content(List.of(CasePaymentOrderHistoryEntry.builder()
+                                 .id(UUID.fromString(CPO_ID_VALID_1))
+                                 .caseId(Long.parseLong(CASE_ID_VALID_1))
+                                 .revision(1)
+                                 .revisionType(RevisionType.ADD)
+                                 .changes(CasePaymentOrderChanges.builder().action(ACTION).build())
+                                 .build()))
+            .nextCursor("next")
+            .build();
+
+        @DisplayName("should get the history of a case payment order by id")
+        @Test
+        void shouldGetHistoryById() throws Exception {
+            given(casePaymentOrdersService.getCasePaymentOrderHistory(UUID.fromString(CPO_ID_VALID_1), "cursor",
+                                                                      PAGE_SIZE))
+                .willReturn(historyPage);
+
+            this.mockMvc.perform(get(CASE_PAYMENT_ORDER_HISTORY_PATH, CPO_ID_VALID_1)
+                                     .param(CURSOR, "cursor")
+                                     .param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].revision_type", is("ADD")))
+                .andExpect(jsonPath("$.content[0].changes.action", is(ACTION)))
+                .andExpect(jsonPath("$.content[0].changes.order_reference").doesNotExist())
+                .andExpect(jsonPath("$.next_cursor", is("next")));
+        }
+
+        @DisplayName("should get the history of the case payment orders for a case")
+        @Test
+        void shouldGetHistoryByCaseId() throws Exception {
+            given(casePaymentOrdersService.getCasePaymentOrderHistoryByCaseId(Long.parseLong(CASE_ID_VALID_1), "",
+                                                                              PAGE_SIZE))
+                .willReturn(historyPage);
+
+            this.mockMvc.perform(get(CASE_PAYMENT_ORDERS_HISTORY_PATH)
+                                     .param(CASE_ID, CASE_ID_VALID_1)
+                                     .param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(CPO_ID_VALID_1)));
+        }
+
+        @DisplayName("should fail with 400 bad request when the id is invalid")
+        @Test
+        void shouldFailWithBadRequestWhenIdIsInvalid() throws Exception {
+            ResultActions response = this.mockMvc.perform(get(CASE_PAYMENT_ORDER_HISTORY_PATH, "XXXX"));
+
+            assertGetCopPResponse(ValidationError.ID_INVALID, response);
+        }
+
+        @DisplayName("should fail with 400 bad request when the case id is invalid")
+        @Test
+        void shouldFailWithBadRequestWhenCaseIdIsInvalid() throws Exception {
+            ResultActions response = this.mockMvc.perform(get(CASE_PAYMENT_ORDERS_HISTORY_PATH)
+                                                              .param(CASE_ID, CASE_ID_INVALID_LUHN));
+
+            assertGetCopPResponse(ValidationError.CASE_ID_INVALID, response);
+        }
+
+        @DisplayName("should fail with 400 bad request when the case id is empty")
+        @Test
+        void shouldFailWithBadRequestWhenCaseIdIsEmpty() throws Exception {
+            ResultActions response = this.mockMvc.perform(get(CASE_PAYMENT_ORDERS_HISTORY_PATH)
+                                                              .param(CASE_ID, ""));
+
+            assertGetCopPResponse(ValidationError.CASE_ID_REQUIRED, response);
+        }
+    }
+
     @Nested
     @DisplayName("Build ID lists for LogAudit")
     class BuildIdListsForLogAudit {
@@ -824,6 +915,21 @@ public class CasePaymentOrdersControllerTest implements BaseTest {
                 .hasSize(input.size())
                 .containsAll(input);
         }
+
+        @Test
+        @DisplayName("should return the IDs as given when bound IDs are passed")
+        void buildIdLists_shouldReturnIdsAsGivenWhenBoundIdsArePassed() {
+            // GIVEN
+            List<CpoId> input = List.of(CpoId.valueOf(CPO_ID_VALID_1.toUpperCase(Locale.ROOT)),
+                                        CpoId.valueOf(CPO_ID_INVALID_1));
+
+            // WHEN
+            List<String> ids = CasePaymentOrdersController.buildOptionalIds(Optional.of(input));
+
+            // THEN
+            assertThat(ids)
+                .containsExactly(CPO_ID_VALID_1.toUpperCase(Locale.ROOT), CPO_ID_INVALID_1);
+        }
     }
 
 }
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -27,6 +28,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.context.annotation.FilterType.ASSIGNABLE_TYPE;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.gov.hmcts.reform.cpo.controllers.CasePaymentOrdersController.CASE_PAYMENT_ORDERS_PATH;
@@ -158,6 +160,28 @@ class RestExceptionHandlerTest implements BaseTest {
 
     }
 
+    @DisplayName("should return correct response when ServiceOverloadedException is thrown")
+    @Test
+    void shouldReturnServiceOverloadedResponse() throws Exception {
+
+        // GIVEN
+        UpdateCasePaymentOrderRequest request = createUpdateCasePaymentOrderRequest();
+        String myUniqueExceptionMessage = "Service overloaded";
+        ServiceOverloadedException expectedException = new ServiceOverloadedException(myUniqueExceptionMessage);
+
+        /// WHEN
+        setupMockServiceToThrowException(expectedException);
+        ResultActions result =  this.mockMvc.perform(put(CASE_PAYMENT_ORDERS_PATH)
+                                                         .contentType(MediaType.APPLICATION_JSON)
+                                                         .content(objectMapper.writeValueAsString(request)));
+
+        // THEN
+        assertHttpErrorResponse(result, HttpStatus.SERVICE_UNAVAILABLE, expectedException.getMessage());
+        result.andExpect(header().string(HttpHeaders.RETRY_AFTER,
+                                         String.valueOf(ServiceOverloadedException.RETRY_AFTER_SECONDS)));
+
+    }
+
     private void setupMockServiceToThrowException(Exception expectedException) {
         // configure chosen mock service to throw exception when controller is run
         given(service.updateCasePaymentOrder(any(UpdateCasePaymentOrderRequest.class))).willThrow(expectedException);
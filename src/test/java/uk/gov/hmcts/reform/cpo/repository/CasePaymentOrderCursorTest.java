@@ -0,0 +1,63 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.BaseTest;
+import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
+import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrdersFilterException;
+import uk.gov.hmcts.reform.cpo.validators.ValidationError;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class CasePaymentOrderCursorTest implements BaseTest {
+
+    @Test
+    void shouldRoundTripCursorBuiltFromEntity() {
+        final CasePaymentOrderEntity entity = createCasePaymentOrderEntity();
+        entity.setOrderReference("order:reference/with+separators");
+
+        final CasePaymentOrderCursor cursor = CasePaymentOrderCursor.decode(
+            CasePaymentOrderCursor.from(entity).encode());
+
+        assertThat(cursor.getCaseId(), is(Long.parseLong(CASE_ID_VALID_1)));
+        assertThat(cursor.getOrderReference(), is("order:reference/with+separators"));
+    }
+
+    @Test
+    void shouldEncodeAsUrlSafeValue() {
+        final String encoded = new CasePaymentOrderCursor(Long.parseLong(CASE_ID_VALID_1), "??>>").encode();
+
+        assertThat(encoded.matches("[A-Za-z0-9_-]+"), is(true));
+    }
+
+    @Test
+    void shouldFailToDecodeMalformedValue() {
+        assertThatThrownBy(() -> CasePaymentOrderCursor.decode("not a cursor"))
+            .isInstanceOf(CasePaymentOrdersFilterException.class)
+            .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+    }
+
+    @Test
+    void shouldFailToDecodeValueWithoutCaseId() {
+        final String encoded = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("no-case-id".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CasePaymentOrderCursor.decode(encoded))
+            .isInstanceOf(CasePaymentOrdersFilterException.class)
+            .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+    }
+
+    @Test
+    void shouldFailToDecodeValueWithNonNumericCaseId() {
+        final String encoded = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("abc:reference".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CasePaymentOrderCursor.decode(encoded))
+            .isInstanceOf(CasePaymentOrdersFilterException.class)
+            .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+    }
+}
@@ -10,6 +10,7 @@ import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -17,19 +18,19 @@ import static org.hamcrest.Matchers.is;
 
 class CasePaymentOrderQueryFilterTest implements BaseTest {
 
-    private final List<String> casesIds = List.of("1609243447569251", "1609243447569252", "1609243447569253");
+    private final List<Long> casesIds = List.of(1609243447569251L, 1609243447569252L, 1609243447569253L);
 
-    private final List<String> ids = List.of("df54651b-3227-4067-9f23-6ffb32e2c6bd",
-                                             "d702ef36-0ca7-46e9-8a00-ef044d78453e",
-                                             "d702ef36-0ca7-46e9-8a00-ef044d78453e");
+    private final List<UUID> ids = List.of(UUID.fromString("df54651b-3227-4067-9f23-6ffb32e2c6bd"),
+                                           UUID.fromString("d702ef36-0ca7-46e9-8a00-ef044d78453e"),
+                                           UUID.fromString("d702ef36-0ca7-46e9-8a00-ef044d78453e"));
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
     }
 
-    private CasePaymentOrderQueryFilter getCasePaymentOrderQueryFilter(final List<String> casesIds,
-                                                                       final List<String> ids) {
+    private CasePaymentOrderQueryFilter getCasePaymentOrderQueryFilter(final List<Long> casesIds,
+                                                                       final List<UUID> ids) {
 
         return CasePaymentOrderQueryFilter.builder()
             .cpoIds(ids)
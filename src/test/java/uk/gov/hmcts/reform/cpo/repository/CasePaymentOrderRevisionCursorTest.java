@@ -0,0 +1,76 @@
+package uk.gov.hmcts.reform.cpo.repository;
+
+import org.hibernate.envers.RevisionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import uk.gov.hmcts.reform.BaseTest;
+import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
+import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrdersFilterException;
+import uk.gov.hmcts.reform.cpo.validators.ValidationError;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class CasePaymentOrderRevisionCursorTest implements BaseTest {
+
+    @Test
+    void shouldRoundTripCursorBuiltFromRevision() {
+        final CasePaymentOrderEntity entity = createCasePaymentOrderEntity();
+        // NB: the id is generated on save, so has no setter
+        ReflectionTestUtils.setField(entity, "id", UUID.fromString(CPO_ID_VALID_1));
+        final CasePaymentOrderRevision revision =
+            new CasePaymentOrderRevision(entity, 42, LocalDateTime.now(), RevisionType.MOD, Set.of());
+
+        final CasePaymentOrderRevisionCursor cursor = CasePaymentOrderRevisionCursor.decode(
+            CasePaymentOrderRevisionCursor.from(revision).encode());
+
+        assertThat(cursor.getRevision(), is(42));
+        assertThat(cursor.getId(), is(UUID.fromString(CPO_ID_VALID_1)));
+    }
+
+    @Test
+    void shouldEncodeAsUrlSafeValue() {
+        final String encoded = new CasePaymentOrderRevisionCursor(Integer.MAX_VALUE, UUID.randomUUID()).encode();
+
+        assertThat(encoded.matches("[A-Za-z0-9_-]+"), is(true));
+    }
+
+    @Test
+    void shouldFailToDecodeMalformedValue() {
+        assertThatThrownBy(() -> CasePaymentOrderRevisionCursor.decode("not a cursor"))
+            .isInstanceOf(CasePaymentOrdersFilterException.class)
+            .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+    }
+
+    @Test
+    void shouldFailToDecodeValueWithoutRevision() {
+        assertThatThrownBy(() -> CasePaymentOrderRevisionCursor.decode(encode(":" + CPO_ID_VALID_1)))
+            .isInstanceOf(CasePaymentOrdersFilterException.class)
+            .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+    }
+
+    @Test
+    void shouldFailToDecodeValueWithNonNumericRevision() {
+        assertThatThrownBy(() -> CasePaymentOrderRevisionCursor.decode(encode("abc:" + CPO_ID_VALID_1)))
+            .isInstanceOf(CasePaymentOrdersFilterException.class)
+            .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+    }
+
+    @Test
+    void shouldFailToDecodeValueWithInvalidId() {
+        assertThatThrownBy(() -> CasePaymentOrderRevisionCursor.decode(encode("42:" + CPO_ID_INVALID_1)))
+            .isInstanceOf(CasePaymentOrdersFilterException.class)
+            .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,14 @@
 package uk.gov.hmcts.reform.cpo.repository;
 
 import org.apache.commons.lang3.RandomUtils;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.envers.boot.internal.EnversService;
+import org.hibernate.envers.internal.synchronization.AuditProcess;
+import org.hibernate.envers.internal.synchronization.work.AddWorkUnit;
+import org.hibernate.envers.internal.synchronization.work.AuditWorkUnit;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,9 +17,12 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrderCouldNotBeFoundException;
 
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,11 +33,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.cpo.config.CacheConfiguration.CASE_PAYMENT_ORDERS_CHANNEL;
+import static uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersRepositoryImpl.MAX_CASE_IDS_PER_NOTIFICATION;
 
 @ExtendWith(MockitoExtension.class)
 class CasePaymentOrdersRepositoryImplTest {
@@ -34,7 +49,7 @@ class CasePaymentOrdersRepositoryImplTest {
     private CasePaymentOrdersJpaRepository casePaymentOrdersJpaRepository;
 
     @Mock
-    private CasePaymentOrdersAuditJpaRepository casePaymentOrdersAuditJpaRepository;
+    private EntityManager entityManager;
 
     @InjectMocks
     private CasePaymentOrdersRepositoryImpl casePaymentOrdersRepository;
@@ -51,26 +66,41 @@ class CasePaymentOrdersRepositoryImplTest {
 
     @Test
     void testDeleteByUuids() {
-        when(casePaymentOrdersJpaRepository.deleteByIdIsIn(anyList())).thenReturn(UUIDS.size());
-        when(casePaymentOrdersJpaRepository.existsById(UUIDS.get(0)))
-                .thenReturn(true);
-        when(casePaymentOrdersJpaRepository.existsById(UUIDS.get(1)))
-                .thenReturn(true);
+        when(casePaymentOrdersJpaRepository.deleteWithHistoryByIdIn(anyList()))
+            .thenReturn(List.of(deleted(UUIDS.get(0), CASE_IDS.get(0)), deleted(UUIDS.get(1), CASE_IDS.get(0))));
 
-        casePaymentOrdersRepository.deleteByUuids(UUIDS);
+        List<Long> deletedCaseIds = casePaymentOrdersRepository.deleteByUuids(UUIDS);
 
-        verify(casePaymentOrdersJpaRepository).deleteByIdIsIn(casePaymentOrderUuidsCaptor.capture());
+        verify(casePaymentOrdersJpaRepository).deleteWithHistoryByIdIn(casePaymentOrderUuidsCaptor.capture());
         assertTrue(casePaymentOrderUuidsCaptor.getValue().containsAll(UUIDS));
+        assertEquals(List.of(CASE_IDS.get(0)), deletedCaseIds);
+        verify(casePaymentOrdersJpaRepository, never()).findExistingIds(anyList());
     }
 
     @Test
-    void testDeleteAuditByUuids() {
-        when(casePaymentOrdersAuditJpaRepository.deleteByIdIn(anyList())).thenReturn(UUIDS.size());
+    @DisplayName("Should notify the distinct case ids in payloads small enough for postgres")
+    void shouldNotifyCaseIdsChangedInChunks() {
+        List<Long> caseIds = new ArrayList<>();
+        for (long caseId = 1; caseId <= MAX_CASE_IDS_PER_NOTIFICATION + 1; caseId++) {
+            caseIds.add(caseId);
+        }
+        caseIds.add(1L);
+
+        casePaymentOrdersRepository.notifyCaseIdsChanged(caseIds);
+
+        ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+        verify(casePaymentOrdersJpaRepository, times(2))
+            .notifyChannel(eq(CASE_PAYMENT_ORDERS_CHANNEL), payloadCaptor.capture());
+        assertEquals(MAX_CASE_IDS_PER_NOTIFICATION, payloadCaptor.getAllValues().get(0).split(",").length);
+        assertTrue(payloadCaptor.getAllValues().get(0).startsWith("1,2,3,"));
+        assertEquals(String.valueOf(MAX_CASE_IDS_PER_NOTIFICATION + 1), payloadCaptor.getAllValues().get(1));
+    }
 
-        casePaymentOrdersRepository.deleteAuditEntriesByUuids(UUIDS);
+    @Test
+    void shouldNotNotifyWhenNoCaseIdsChanged() {
+        casePaymentOrdersRepository.notifyCaseIdsChanged(List.of());
 
-        verify(casePaymentOrdersAuditJpaRepository).deleteByIdIn(casePaymentOrderUuidsCaptor.capture());
-        assertTrue(casePaymentOrderUuidsCaptor.getValue().containsAll(UUIDS));
+        verify(casePaymentOrdersJpaRepository, never()).notifyChannel(any(), any());
     }
 
     @Test
@@ -83,30 +113,31 @@ class CasePaymentOrdersRepositoryImplTest {
 
         assertTrue(uuids.stream().map(UUID::toString)
                 .allMatch(casePaymentOrderCouldNotBeFoundException.getMessage()::contains));
-
-        verify(casePaymentOrdersJpaRepository, never()).deleteByIdIsIn(anyList());
     }
 
     @Test
-    void testDeleteByCaseIds() {
-        when(casePaymentOrdersJpaRepository.deleteByCaseIdIsIn(anyList())).thenReturn(CASE_IDS.size());
-        when(casePaymentOrdersJpaRepository.existsByCaseId(anyLong()))
-                .thenReturn(true);
+    @DisplayName("Should report only the ids the delete did not find")
+    void testDeleteByUuidsReportsOnlyMissingUuids() {
+        when(casePaymentOrdersJpaRepository.deleteWithHistoryByIdIn(UUIDS))
+            .thenReturn(List.of(deleted(UUIDS.get(0), CASE_IDS.get(0))));
 
-        casePaymentOrdersRepository.deleteByCaseIds(CASE_IDS);
+        CasePaymentOrderCouldNotBeFoundException exception =
+                assertThrows(CasePaymentOrderCouldNotBeFoundException.class,
+                    () -> casePaymentOrdersRepository.deleteByUuids(UUIDS));
 
-        verify(casePaymentOrdersJpaRepository).deleteByCaseIdIsIn(casePaymentOrderCaseIdCaptor.capture());
-        assertTrue(casePaymentOrderCaseIdCaptor.getValue().containsAll(CASE_IDS));
+        assertTrue(exception.getMessage().endsWith(UUIDS.get(1).toString()));
     }
 
     @Test
-    void testDeleteAuditByCaseIds() {
-        when(casePaymentOrdersAuditJpaRepository.deleteByCaseIdIn(anyList())).thenReturn(CASE_IDS.size());
+    void testDeleteByCaseIds() {
+        when(casePaymentOrdersJpaRepository.deleteWithHistoryByCaseIdIn(anyList()))
+            .thenReturn(List.of(deleted(UUIDS.get(0), CASE_IDS.get(0)), deleted(UUIDS.get(1), CASE_IDS.get(1))));
 
-        casePaymentOrdersRepository.deleteAuditEntriesByCaseIds(CASE_IDS);
+        casePaymentOrdersRepository.deleteByCaseIds(CASE_IDS);
 
-        verify(casePaymentOrdersAuditJpaRepository).deleteByCaseIdIn(casePaymentOrderCaseIdCaptor.capture());
+        verify(casePaymentOrdersJpaRepository).deleteWithHistoryByCaseIdIn(casePaymentOrderCaseIdCaptor.capture());
         assertTrue(casePaymentOrderCaseIdCaptor.getValue().containsAll(CASE_IDS));
+        verify(casePaymentOrdersJpaRepository, never()).findExistingCaseIds(anyList());
     }
 
     @Test
@@ -120,22 +151,48 @@ class CasePaymentOrdersRepositoryImplTest {
         assertTrue(caseIds.stream()
                 .map(Object::toString)
                 .allMatch(casePaymentOrderCouldNotBeFoundException.getMessage()::contains));
-
-        verify(casePaymentOrdersJpaRepository, never()).deleteByCaseIdIsIn(anyList());
     }
 
     @Test
     void testDeleteByCaseIdsMixOfExistingAndNonExistentCaseIds() {
         // Simulate 3 records existing with case id
-        when(casePaymentOrdersJpaRepository.existsByCaseId(anyLong()))
-                .thenReturn(true);
-        when(casePaymentOrdersJpaRepository.deleteByCaseIdIsIn(anyList())).thenReturn(3);
+        Long caseIdToDelete = RandomUtils.nextLong();
+        when(casePaymentOrdersJpaRepository.deleteWithHistoryByCaseIdIn(anyList()))
+                .thenReturn(List.of(deleted(UUID.randomUUID(), caseIdToDelete),
+                                    deleted(UUID.randomUUID(), caseIdToDelete),
+                                    deleted(UUID.randomUUID(), caseIdToDelete)));
+
+        CasePaymentOrderCouldNotBeFoundException exception =
+                assertThrows(CasePaymentOrderCouldNotBeFoundException.class,
+                    () -> casePaymentOrdersRepository.deleteByCaseIds(List.of(caseIdToDelete, 123L)));
+
+        assertTrue(exception.getMessage().endsWith("123"));
+    }
+
+    @Test
+    @DisplayName("Should validate all case ids using a single lookup and report only those missing")
+    void testFindByCaseIdInReportsOnlyMissingCaseIds() {
+        List<Long> caseIds = List.of(123L, 456L, 789L);
+        when(casePaymentOrdersJpaRepository.findExistingCaseIds(caseIds)).thenReturn(List.of(456L));
 
-        List<Long> caseIdToDelete = List.of(RandomUtils.nextLong());
-        casePaymentOrdersRepository.deleteByCaseIds(caseIdToDelete);
+        CasePaymentOrderCouldNotBeFoundException exception =
+                assertThrows(CasePaymentOrderCouldNotBeFoundException.class,
+                    () -> casePaymentOrdersRepository.findByCaseIdIn(caseIds, Pageable.unpaged()));
 
-        verify(casePaymentOrdersJpaRepository).deleteByCaseIdIsIn(casePaymentOrderCaseIdCaptor.capture());
-        assertTrue(casePaymentOrderCaseIdCaptor.getValue().containsAll(caseIdToDelete));
+        assertTrue(exception.getMessage().endsWith("123,789"));
+        verify(casePaymentOrdersJpaRepository, times(1)).findExistingCaseIds(caseIds);
+        verify(casePaymentOrdersJpaRepository, never()).findByCaseIdIn(anyList(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should validate all ids using a single lookup before finding them")
+    void testFindByIdInValidatesUsingSingleLookup() {
+        when(casePaymentOrdersJpaRepository.findExistingIds(UUIDS)).thenReturn(UUIDS);
+
+        casePaymentOrdersRepository.findByIdIn(UUIDS, Pageable.unpaged());
+
+        verify(casePaymentOrdersJpaRepository, times(1)).findExistingIds(UUIDS);
+        verify(casePaymentOrdersJpaRepository).findByIdIn(UUIDS, Pageable.unpaged());
     }
 
     @Test
@@ -179,4 +236,76 @@ class CasePaymentOrdersRepositoryImplTest {
         assertEquals(expectedEntity, response);
     }
 
+    @Test
+    @DisplayName("insertIfAbsent should not record a revision when the case id and order reference already exist")
+    void testInsertIfAbsentReturnsEmptyOnConflict() {
+        when(casePaymentOrdersJpaRepository.insertIfAbsent(any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Optional.empty());
+
+        Optional<CasePaymentOrderEntity> result = casePaymentOrdersRepository.insertIfAbsent(createEntity());
+
+        assertTrue(result.isEmpty());
+        verify(entityManager, never()).unwrap(any());
+    }
+
+    @Test
+    @DisplayName("insertIfAbsent should hand envers an ADD of the inserted row, as a persist would")
+    void testInsertIfAbsentRecordsRevision() {
+        CasePaymentOrderEntity entity = createEntity();
+        ArgumentCaptor<UUID> insertedId = ArgumentCaptor.forClass(UUID.class);
+        when(casePaymentOrdersJpaRepository.insertIfAbsent(insertedId.capture(), any(), eq(entity.getCaseId()),
+                                                           eq(entity.getAction()), eq(entity.getResponsibleParty()),
+                                                           eq(entity.getOrderReference()), eq(entity.getCreatedBy())))
+            .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        EventSource session = mock(EventSource.class);
+        EntityPersister persister = mock(EntityPersister.class);
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        ServiceRegistryImplementor serviceRegistry = mock(ServiceRegistryImplementor.class);
+        EnversService enversService = mock(EnversService.class, RETURNS_DEEP_STUBS);
+        AuditProcess auditProcess = mock(AuditProcess.class);
+        when(entityManager.unwrap(EventSource.class)).thenReturn(session);
+        when(session.getEntityPersister(null, entity)).thenReturn(persister);
+        when(persister.getEntityName()).thenReturn(CasePaymentOrderEntity.class.getName());
+        when(persister.getValues(entity)).thenReturn(new Object[0]);
+        when(session.getFactory()).thenReturn(sessionFactory);
+        when(sessionFactory.getServiceRegistry()).thenReturn(serviceRegistry);
+        when(serviceRegistry.getService(EnversService.class)).thenReturn(enversService);
+        when(enversService.getAuditProcessManager().get(session)).thenReturn(auditProcess);
+
+        Optional<CasePaymentOrderEntity> result = casePaymentOrdersRepository.insertIfAbsent(entity);
+
+        assertEquals(Optional.of(entity), result);
+        assertNotNull(entity.getCreatedTimestamp());
+        verify(persister).setIdentifier(entity, insertedId.getValue(), session);
+        ArgumentCaptor<AuditWorkUnit> workUnit = ArgumentCaptor.forClass(AuditWorkUnit.class);
+        verify(auditProcess).addWorkUnit(workUnit.capture());
+        assertTrue(workUnit.getValue() instanceof AddWorkUnit);
+        assertEquals(insertedId.getValue(), workUnit.getValue().getEntityId());
+        assertEquals(CasePaymentOrderEntity.class.getName(), workUnit.getValue().getEntityName());
+    }
+
+    private CasePaymentOrderEntity createEntity() {
+        CasePaymentOrderEntity entity = new CasePaymentOrderEntity();
+        entity.setCaseId(RandomUtils.nextLong());
+        entity.setAction("action");
+        entity.setResponsibleParty("responsible party");
+        entity.setOrderReference("2021-1122334455667");
+        entity.setCreatedBy("created by");
+        return entity;
+    }
+
+    private static DeletedCasePaymentOrder deleted(UUID id, Long caseId) {
+        return new DeletedCasePaymentOrder() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Long getCaseId() {
+                return caseId;
+            }
+        };
+    }
 }
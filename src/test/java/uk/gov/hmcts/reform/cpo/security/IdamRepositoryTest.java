@@ -1,31 +1,60 @@
 package uk.gov.hmcts.reform.cpo.security;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import uk.gov.hmcts.reform.cpo.config.CacheConfiguration.UserInfoExpiry;
 import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static uk.gov.hmcts.reform.cpo.config.CacheConfiguration.USER_INFO_CACHE;
+import static uk.gov.hmcts.reform.cpo.security.JwtGrantedAuthoritiesConverter.BEARER;
 
 class IdamRepositoryTest {
 
     private static final String TEST_BEAR_TOKEN = "TestBearToken";
 
+    private static final Duration MAX_TIME_TO_LIVE = Duration.ofMinutes(30);
+    private static final Duration REFRESH_AHEAD = Duration.ofSeconds(60);
+
     @Mock
     private IdamClient idamClient;
 
-    @InjectMocks
     private IdamRepository idamRepository;
 
+    private final AtomicLong ticker = new AtomicLong();
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        idamRepository = createIdamRepository();
     }
 
     @Test
@@ -36,4 +65,122 @@ class IdamRepositoryTest {
         UserInfo result = idamRepository.getUserInfo(TEST_BEAR_TOKEN);
         assertThat(result).isSameAs(userInfo);
     }
+
+    @Test
+    @DisplayName("Should call IDAM for every lookup when caching is switched off")
+    void shouldCallIdamEveryTimeWhenCachingIsSwitchedOff() {
+        idamRepository = new IdamRepository(idamClient, new NoOpCacheManager(), ForkJoinPool.commonPool(),
+                                            MAX_TIME_TO_LIVE, REFRESH_AHEAD, Clock.systemUTC());
+        given(idamClient.getUserInfo(TEST_BEAR_TOKEN)).willReturn(UserInfo.builder().build());
+
+        idamRepository.getUserInfo(TEST_BEAR_TOKEN);
+        idamRepository.getUserInfo(TEST_BEAR_TOKEN);
+
+        verify(idamClient, times(2)).getUserInfo(TEST_BEAR_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated lookup from the cache")
+    void shouldServeRepeatedLookupFromCache() {
+        UserInfo userInfo = UserInfo.builder().build();
+        given(idamClient.getUserInfo(TEST_BEAR_TOKEN)).willReturn(userInfo);
+
+        idamRepository.getUserInfo(TEST_BEAR_TOKEN);
+        UserInfo result = idamRepository.getUserInfo(TEST_BEAR_TOKEN);
+
+        assertThat(result).isSameAs(userInfo);
+        verify(idamClient, times(1)).getUserInfo(TEST_BEAR_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should share a single IDAM call between concurrent lookups for the same token")
+    void shouldShareSingleIdamCallBetweenConcurrentLookups() throws Exception {
+        UserInfo userInfo = UserInfo.builder().build();
+        CountDownLatch idamCalled = new CountDownLatch(1);
+        CountDownLatch idamResponds = new CountDownLatch(1);
+        given(idamClient.getUserInfo(TEST_BEAR_TOKEN)).willAnswer(invocation -> {
+            idamCalled.countDown();
+            idamResponds.await(5, TimeUnit.SECONDS);
+            return userInfo;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserInfo>> lookups = new ArrayList<>();
+            lookups.add(executor.submit(() -> idamRepository.getUserInfo(TEST_BEAR_TOKEN)));
+            // NB: the first lookup is now in flight, so every later lookup finds it in the cache
+            assertThat(idamCalled.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                lookups.add(executor.submit(() -> idamRepository.getUserInfo(TEST_BEAR_TOKEN)));
+            }
+            idamResponds.countDown();
+
+            for (Future<UserInfo> lookup : lookups) {
+                assertThat(lookup.get(5, TimeUnit.SECONDS)).isSameAs(userInfo);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(idamClient, times(1)).getUserInfo(TEST_BEAR_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should not cache an IDAM error")
+    void shouldNotCacheIdamError() {
+        UserInfo userInfo = UserInfo.builder().build();
+        given(idamClient.getUserInfo(TEST_BEAR_TOKEN))
+            .willThrow(new IllegalStateException("IDAM error"))
+            .willReturn(userInfo);
+
+        assertThatThrownBy(() -> idamRepository.getUserInfo(TEST_BEAR_TOKEN))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("IDAM error");
+        assertThat(idamRepository.getUserInfo(TEST_BEAR_TOKEN)).isSameAs(userInfo);
+    }
+
+    @Test
+    @DisplayName("Should reload user info in the background shortly before the entry expires")
+    void shouldRefreshAheadOfExpiry() {
+        String bearerToken = createBearerToken(Instant.now().plus(Duration.ofHours(8)));
+        UserInfo userInfo = UserInfo.builder().uid("first").build();
+        UserInfo refreshedUserInfo = UserInfo.builder().uid("refreshed").build();
+        given(idamClient.getUserInfo(bearerToken)).willReturn(userInfo, refreshedUserInfo);
+
+        idamRepository.getUserInfo(bearerToken);
+        // NB: move to 30 seconds before the entry reaches its max time to live
+        ticker.addAndGet(MAX_TIME_TO_LIVE.minusSeconds(30).toNanos());
+        UserInfo result = idamRepository.getUserInfo(bearerToken);
+
+        assertThat(result).isSameAs(userInfo);
+        verify(idamClient, timeout(1000).times(2)).getUserInfo(bearerToken);
+    }
+
+    @Test
+    @DisplayName("Should not reload user info when the token expires before a fresh entry would")
+    void shouldNotRefreshWhenTokenIsAboutToExpire() {
+        String bearerToken = createBearerToken(Instant.now().plus(Duration.ofSeconds(20)));
+        given(idamClient.getUserInfo(bearerToken)).willReturn(UserInfo.builder().build());
+
+        idamRepository.getUserInfo(bearerToken);
+        idamRepository.getUserInfo(bearerToken);
+
+        verify(idamClient, after(200).times(1)).getUserInfo(bearerToken);
+    }
+
+    private IdamRepository createIdamRepository() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USER_INFO_CACHE, Caffeine.newBuilder()
+            .expireAfter(new UserInfoExpiry(Clock.systemUTC(), MAX_TIME_TO_LIVE))
+            .ticker(ticker::get)
+            .buildAsync());
+        return new IdamRepository(idamClient, cacheManager, ForkJoinPool.commonPool(), MAX_TIME_TO_LIVE, REFRESH_AHEAD,
+                                  Clock.systemUTC());
+    }
+
+    private String createBearerToken(Instant expiresAt) {
+        return BEARER + JWT.create()
+            .withSubject("user")
+            .withExpiresAt(expiresAt)
+            .sign(Algorithm.HMAC256("secret"));
+    }
 }
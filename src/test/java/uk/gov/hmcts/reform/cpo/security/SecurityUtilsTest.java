@@ -4,6 +4,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,21 +15,31 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import uk.gov.hmcts.reform.BaseTest;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.cpo.security.Permission.CREATE;
 import static uk.gov.hmcts.reform.cpo.security.Permission.DELETE;
 import static uk.gov.hmcts.reform.cpo.security.Permission.READ;
 import static uk.gov.hmcts.reform.cpo.security.Permission.UPDATE;
+import static uk.gov.hmcts.reform.cpo.security.SecurityUtils.BEARER;
 import static uk.gov.hmcts.reform.cpo.security.SecurityUtils.SERVICE_AUTHORIZATION;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +67,11 @@ class SecurityUtilsTest implements BaseTest {
         securityUtils = new SecurityUtils(idamRepository, serviceAuthorizationConfig);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     private void setS2SToken(String serviceName) {
         MockHttpServletRequest request = new MockHttpServletRequest();
         if (serviceName != null) {
@@ -102,6 +118,27 @@ class SecurityUtilsTest implements BaseTest {
         assertNull(response, "Service name should match value from token:");
     }
 
+    @Test
+    @DisplayName("Should read user info from the authentication without looking it up again")
+    void shouldGetUserInfoFromAuthentication() {
+        UserInfo userInfo = UserInfo.builder().uid("uid").build();
+        SecurityContextHolder.getContext().setAuthentication(
+            new UserInfoJwtAuthenticationToken(createJwt(), List.of(), userInfo));
+
+        assertSame(userInfo, securityUtils.getUserInfo());
+        verify(idamRepository, never()).getUserInfo(anyString());
+    }
+
+    @Test
+    @DisplayName("Should look up user info when the authentication does not carry it")
+    void shouldLookUpUserInfoWhenNotOnAuthentication() {
+        UserInfo userInfo = UserInfo.builder().uid("uid").build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(createJwt()));
+        when(idamRepository.getUserInfo(BEARER + "token")).thenReturn(userInfo);
+
+        assertSame(userInfo, securityUtils.getUserInfo());
+    }
+
     @Test
     void testHasCreateAccessReturnsFalseWhenServiceAuthorizationHeaderIsNull() {
         setS2SToken(null);
@@ -161,6 +198,13 @@ class SecurityUtilsTest implements BaseTest {
         }
     }
 
+    private static Jwt createJwt() {
+        return Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject("user")
+            .build();
+    }
+
     private static String generateDummyS2SToken(String serviceName) {
         return Jwts.builder()
                 .setSubject(serviceName)
@@ -9,7 +9,10 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.gov.hmcts.reform.cpo.security.Permission.CREATE;
@@ -66,4 +69,28 @@ class ServiceAuthorizationConfigTest {
             () -> assertTrue(serviceAuthorizationConfig.hasPermissions(USER_INTERFACE_WEBAPP, DELETE))
         );
     }
+
+    @Test
+    void testGetBulkheadLimits_ReturnsDefaults_ForServiceWithoutOwnLimits() {
+        ServiceBulkheadLimits limits = serviceAuthorizationConfig.getBulkheadLimits(TAKE_MY_MONEY_APP);
+
+        assertAll(
+            () -> assertTrue(limits.isEnabled()),
+            () -> assertEquals(5, limits.getMaxConcurrentRequests()),
+            () -> assertEquals(Duration.ofMillis(250), limits.getMaxQueueWait()),
+            // NB: not configured at all, so falls back to the built in default
+            () -> assertEquals(100, limits.getMaxQueuedRequests())
+        );
+    }
+
+    @Test
+    void testGetBulkheadLimits_ReturnsOwnLimitsOverDefaults_ForServiceWithOwnLimits() {
+        ServiceBulkheadLimits limits = serviceAuthorizationConfig.getBulkheadLimits(USER_INTERFACE_WEBAPP);
+
+        assertAll(
+            () -> assertTrue(limits.isEnabled()),
+            () -> assertEquals(100, limits.getMaxConcurrentRequests()),
+            () -> assertEquals(Duration.ofMillis(250), limits.getMaxQueueWait())
+        );
+    }
 }
@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.cpo.security.SecurityUtils.SERVICE_AUTHORIZATION;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceBulkheadFilterTest {
+
+    private static final String SERVICE_NAME = "noisy_service";
+    private static final String S2S_TOKEN = "Bearer s2s-token";
+
+    @Mock
+    private ServiceBulkheads serviceBulkheads;
+
+    @Mock
+    private SecurityUtils securityUtils;
+
+    @Mock
+    private ServiceBulkhead bulkhead;
+
+    private ServiceBulkheadFilter filter;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ServiceBulkheadFilter(serviceBulkheads, securityUtils, new ObjectMapper().findAndRegisterModules());
+
+        request = new MockHttpServletRequest("GET", "/case-payment-orders");
+        request.addHeader(SERVICE_AUTHORIZATION, S2S_TOKEN);
+        response = new MockHttpServletResponse();
+
+        when(securityUtils.getServiceNameFromS2SToken(S2S_TOKEN)).thenReturn(SERVICE_NAME);
+    }
+
+    @Test
+    @DisplayName("Should hold the request in the service's bulkhead while it is handled")
+    void shouldHoldRequestInBulkhead() throws Exception {
+        when(serviceBulkheads.forService(SERVICE_NAME)).thenReturn(Optional.of(bulkhead));
+        when(bulkhead.tryAcquire()).thenReturn(true);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        verify(bulkhead).release();
+    }
+
+    @Test
+    @DisplayName("Should release the bulkhead when handling the request fails")
+    void shouldReleaseBulkheadWhenRequestFails() throws Exception {
+        when(serviceBulkheads.forService(SERVICE_NAME)).thenReturn(Optional.of(bulkhead));
+        when(bulkhead.tryAcquire()).thenReturn(true);
+        FilterChain filterChain = mock(FilterChain.class);
+        doThrow(new IllegalStateException("boom")).when(filterChain).doFilter(any(), any());
+
+        try {
+            filter.doFilter(request, response, filterChain);
+        } catch (IllegalStateException expected) {
+            // NB: only checking the bulkhead is released
+        }
+
+        verify(bulkhead).release();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After when the service has too many requests in flight")
+    void shouldAnswerTooManyRequestsWhenBulkheadFull() throws Exception {
+        when(serviceBulkheads.forService(SERVICE_NAME)).thenReturn(Optional.of(bulkhead));
+        when(bulkhead.tryAcquire()).thenReturn(false);
+        when(bulkhead.getRetryAfterSeconds()).thenReturn(2L);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains(AuthError.TOO_MANY_S2S_SERVICE_REQUESTS);
+        verify(bulkhead, never()).release();
+    }
+
+    @Test
+    @DisplayName("Should pass the request straight on when the service is not limited")
+    void shouldPassRequestOnWhenServiceNotLimited() throws Exception {
+        when(serviceBulkheads.forService(SERVICE_NAME)).thenReturn(Optional.empty());
+        MockFilterChain filterChain = new MockFilterChain();
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+}
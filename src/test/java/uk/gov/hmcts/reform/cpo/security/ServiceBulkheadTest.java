@@ -0,0 +1,153 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceBulkheadTest {
+
+    private static final String SERVICE_NAME = "noisy_service";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should let requests in up to the limit and count them as in flight")
+    void shouldLetRequestsInUpToLimit() throws InterruptedException {
+        ServiceBulkhead bulkhead = createBulkhead(2, 0, Duration.ZERO);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(gauge(ServiceBulkhead.IN_FLIGHT_METRIC)).isEqualTo(2);
+
+        bulkhead.release();
+        assertThat(gauge(ServiceBulkhead.IN_FLIGHT_METRIC)).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceBulkhead.QUEUE_WAIT_METRIC).timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should turn requests away straight away when the queue is full")
+    void shouldTurnRequestsAwayWhenQueueFull() throws InterruptedException {
+        ServiceBulkhead bulkhead = createBulkhead(1, 0, Duration.ofSeconds(TIMEOUT_SECONDS));
+        bulkhead.tryAcquire();
+
+        long start = System.nanoTime();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should turn queued requests away when the wait runs out")
+    void shouldTurnQueuedRequestsAwayWhenWaitRunsOut() throws InterruptedException {
+        ServiceBulkhead bulkhead = createBulkhead(1, 1, Duration.ofMillis(50));
+        bulkhead.tryAcquire();
+
+        assertThat(bulkhead.tryAcquire()).isFalse();
+
+        assertThat(rejected()).isEqualTo(1);
+        assertThat(gauge(ServiceBulkhead.QUEUED_METRIC)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should let queued requests in, in the order they arrived, as others finish")
+    void shouldLetQueuedRequestsInInOrder() throws Exception {
+        int queuedRequests = 5;
+        ServiceBulkhead bulkhead = createBulkhead(1, queuedRequests, Duration.ofSeconds(TIMEOUT_SECONDS));
+        bulkhead.tryAcquire();
+
+        List<Integer> order = new ArrayList<>();
+        List<Future<Boolean>> requests = new ArrayList<>();
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            for (int i = 0; i < queuedRequests; i++) {
+                int request = i;
+                CountDownLatch started = new CountDownLatch(1);
+                requests.add(executor.submit(() -> {
+                    started.countDown();
+                    boolean acquired = bulkhead.tryAcquire();
+                    synchronized (order) {
+                        order.add(request);
+                    }
+                    bulkhead.release();
+                    return acquired;
+                }));
+                started.await();
+                // NB: make sure each request is queued before the next one arrives
+                waitUntilQueued(i + 1);
+            }
+
+            bulkhead.release();
+            for (Future<Boolean> request : requests) {
+                assertThat(request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+
+        assertThat(order).containsExactly(0, 1, 2, 3, 4);
+        assertThat(rejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should tag metrics with the service name")
+    void shouldTagMetricsWithServiceName() {
+        createBulkhead(1, 1, Duration.ZERO);
+
+        assertThat(meterRegistry.find(ServiceBulkhead.REJECTED_METRIC)
+                       .tag(ServiceBulkhead.SERVICE_TAG, SERVICE_NAME)
+                       .counter()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should round the retry after up to whole seconds")
+    void shouldRoundRetryAfterUpToWholeSeconds() {
+        ServiceBulkheadLimits limits = limits(1, 1, Duration.ZERO);
+        limits.setRetryAfter(Duration.ofMillis(1500));
+
+        assertThat(new ServiceBulkhead(SERVICE_NAME, limits, meterRegistry).getRetryAfterSeconds()).isEqualTo(2);
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        Instant deadline = Instant.now().plusSeconds(TIMEOUT_SECONDS);
+        while (gauge(ServiceBulkhead.QUEUED_METRIC) < expected && Instant.now().isBefore(deadline)) {
+            Thread.sleep(5);
+        }
+        // NB: the count goes up just before the request starts waiting on the semaphore
+        Thread.sleep(20);
+    }
+
+    private ServiceBulkhead createBulkhead(int maxConcurrent, int maxQueued, Duration maxQueueWait) {
+        return new ServiceBulkhead(SERVICE_NAME, limits(maxConcurrent, maxQueued, maxQueueWait), meterRegistry);
+    }
+
+    private ServiceBulkheadLimits limits(int maxConcurrent, int maxQueued, Duration maxQueueWait) {
+        ServiceBulkheadLimits limits = new ServiceBulkheadLimits();
+        limits.setEnabled(true);
+        limits.setMaxConcurrentRequests(maxConcurrent);
+        limits.setMaxQueuedRequests(maxQueued);
+        limits.setMaxQueueWait(maxQueueWait);
+        limits.setRetryAfter(Duration.ofSeconds(1));
+        return limits;
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double rejected() {
+        return meterRegistry.get(ServiceBulkhead.REJECTED_METRIC).counter().count();
+    }
+
+}
@@ -0,0 +1,67 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ServiceBulkheadsTest {
+
+    private static final String LIMITED_SERVICE = "limited_service";
+    private static final String UNLIMITED_SERVICE = "unlimited_service";
+
+    @Mock
+    private ServiceAuthorizationConfig serviceAuthorizationConfig;
+
+    private ServiceBulkheads serviceBulkheads;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        given(serviceAuthorizationConfig.getBulkheadLimits(LIMITED_SERVICE)).willReturn(limits(true));
+        given(serviceAuthorizationConfig.getBulkheadLimits(UNLIMITED_SERVICE)).willReturn(limits(false));
+        serviceBulkheads = new ServiceBulkheads(serviceAuthorizationConfig, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should hand out the same bulkhead each time a limited service calls in")
+    void shouldKeepBulkheadOfLimitedService() {
+        ServiceBulkhead bulkhead = serviceBulkheads.forService(LIMITED_SERVICE).orElseThrow();
+
+        assertThat(serviceBulkheads.forService(LIMITED_SERVICE)).containsSame(bulkhead);
+        verify(serviceAuthorizationConfig, times(1)).getBulkheadLimits(LIMITED_SERVICE);
+    }
+
+    @Test
+    @DisplayName("Should hand out no bulkhead for a service whose requests are not limited")
+    void shouldNotLimitUnlimitedService() {
+        assertThat(serviceBulkheads.forService(UNLIMITED_SERVICE)).isEmpty();
+        assertThat(serviceBulkheads.forService(UNLIMITED_SERVICE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should hand out no bulkhead when there is no service name")
+    void shouldNotLimitWithoutServiceName() {
+        assertThat(serviceBulkheads.forService(null)).isEmpty();
+    }
+
+    private ServiceBulkheadLimits limits(boolean enabled) {
+        ServiceBulkheadLimits limits = new ServiceBulkheadLimits();
+        limits.setEnabled(enabled);
+        limits.setMaxConcurrentRequests(1);
+        limits.setMaxQueuedRequests(0);
+        limits.setMaxQueueWait(Duration.ZERO);
+        limits.setRetryAfter(Duration.ofSeconds(1));
+        return limits;
+    }
+
+}
@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.cpo.security.JwtGrantedAuthoritiesConverter.BEARER;
+
+class UserInfoCacheKeyTest {
+
+    private static final Instant NOW = Instant.parse("2021-03-01T10:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+    private static final Duration MAX_TIME_TO_LIVE = Duration.ofMinutes(30);
+
+    @Test
+    @DisplayName("Should key on a fixed size digest of the token")
+    void shouldKeyOnFixedSizeDigest() {
+        String token = BEARER + createToken(NOW.plusSeconds(60)) + "x".repeat(4096);
+
+        UserInfoCacheKey key = UserInfoCacheKey.of(token);
+
+        assertThat(key.getTokenHash()).hasSize(64).doesNotContain(token);
+        assertThat(key).isEqualTo(UserInfoCacheKey.of(token));
+        assertThat(key).isNotEqualTo(UserInfoCacheKey.of(BEARER + createToken(NOW.plusSeconds(61))));
+    }
+
+    @Test
+    @DisplayName("Should live until the token expires")
+    void shouldLiveUntilTokenExpires() {
+        UserInfoCacheKey key = UserInfoCacheKey.of(BEARER + createToken(NOW.plusSeconds(90)));
+
+        assertThat(key.timeToLive(CLOCK, MAX_TIME_TO_LIVE)).isEqualTo(Duration.ofSeconds(90));
+    }
+
+    @Test
+    @DisplayName("Should live no longer than the maximum time to live")
+    void shouldLiveNoLongerThanMaximum() {
+        UserInfoCacheKey key = UserInfoCacheKey.of(BEARER + createToken(NOW.plus(Duration.ofHours(8))));
+
+        assertThat(key.timeToLive(CLOCK, MAX_TIME_TO_LIVE)).isEqualTo(MAX_TIME_TO_LIVE);
+    }
+
+    @Test
+    @DisplayName("Should not live at all once the token has expired")
+    void shouldNotLiveOnceTokenHasExpired() {
+        UserInfoCacheKey key = UserInfoCacheKey.of(BEARER + createToken(NOW.minusSeconds(1)));
+
+        assertThat(key.timeToLive(CLOCK, MAX_TIME_TO_LIVE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should live for the maximum time to live when the token cannot be decoded")
+    void shouldUseMaximumWhenTokenCannotBeDecoded() {
+        UserInfoCacheKey key = UserInfoCacheKey.of("TestBearToken");
+
+        assertThat(key.getExpiresAt()).isNull();
+        assertThat(key.timeToLive(CLOCK, MAX_TIME_TO_LIVE)).isEqualTo(MAX_TIME_TO_LIVE);
+    }
+
+    private String createToken(Instant expiresAt) {
+        return JWT.create()
+            .withSubject("user")
+            .withExpiresAt(expiresAt)
+            .sign(Algorithm.HMAC256("secret"));
+    }
+}
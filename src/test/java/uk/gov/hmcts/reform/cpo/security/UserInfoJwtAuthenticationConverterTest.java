@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.cpo.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class UserInfoJwtAuthenticationConverterTest {
+
+    @Mock
+    private JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
+
+    private UserInfoJwtAuthenticationConverter converter;
+
+    private final Jwt jwt = Jwt.withTokenValue("token")
+        .header("alg", "none")
+        .subject("user")
+        .build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        converter = new UserInfoJwtAuthenticationConverter(jwtGrantedAuthoritiesConverter);
+    }
+
+    @Test
+    @DisplayName("Should attach the user info to the authentication")
+    void shouldAttachUserInfoToAuthentication() {
+        UserInfo userInfo = UserInfo.builder().uid("uid").roles(List.of("caseworker")).build();
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("caseworker"));
+        given(jwtGrantedAuthoritiesConverter.getUserInfo(jwt)).willReturn(userInfo);
+        given(jwtGrantedAuthoritiesConverter.extractAuthorities(userInfo)).willReturn(authorities);
+
+        AbstractAuthenticationToken authentication = converter.convert(jwt);
+
+        assertThat(authentication).isInstanceOf(UserInfoJwtAuthenticationToken.class);
+        assertThat(((UserInfoJwtAuthenticationToken) authentication).getUserInfo()).isSameAs(userInfo);
+        assertThat(authentication.getAuthorities()).containsExactlyElementsOf(authorities);
+        assertThat(authentication.getName()).isEqualTo("user");
+        verify(jwtGrantedAuthoritiesConverter, times(1)).getUserInfo(jwt);
+    }
+}
@@ -0,0 +1,183 @@
+package uk.gov.hmcts.reform.cpo.service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.BaseTest;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasePaymentOrdersCacheTest implements BaseTest {
+
+    private static final Long CASE_ID_1 = Long.parseLong(CASE_ID_VALID_1);
+    private static final Long CASE_ID_2 = Long.parseLong(CASE_ID_VALID_2);
+
+    private final List<Set<Long>> loaderCalls = new ArrayList<>();
+
+    private CasePaymentOrdersCache casePaymentOrdersCache;
+
+    @BeforeEach
+    void setUp() {
+        casePaymentOrdersCache = new CasePaymentOrdersCache(new ConcurrentMapCacheManager());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load all misses with a single call and serve repeat reads from the cache")
+    void shouldLoadMissesOnceAndServeHitsFromCache() {
+        Map<Long, List<CasePaymentOrder>> first = casePaymentOrdersCache.getAll(List.of(CASE_ID_1, CASE_ID_2),
+                                                                                this::load);
+        Map<Long, List<CasePaymentOrder>> second = casePaymentOrdersCache.getAll(List.of(CASE_ID_1, CASE_ID_2),
+                                                                                 this::load);
+
+        assertEquals(List.of(Set.of(CASE_ID_1, CASE_ID_2)), loaderCalls);
+        assertEquals(first, second);
+        assertEquals(1, second.get(CASE_ID_1).size());
+        assertTrue(second.get(CASE_ID_2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should only load the case IDs not already cached")
+    void shouldOnlyLoadMisses() {
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), this::load);
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1, CASE_ID_2), this::load);
+
+        assertEquals(List.of(Set.of(CASE_ID_1), Set.of(CASE_ID_2)), loaderCalls);
+    }
+
+    @Test
+    @DisplayName("Should reload a case ID once it has been evicted")
+    void shouldReloadAfterEvict() {
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1, CASE_ID_2), this::load);
+
+        casePaymentOrdersCache.evict(List.of(CASE_ID_1));
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1, CASE_ID_2), this::load);
+
+        assertEquals(List.of(Set.of(CASE_ID_1, CASE_ID_2), Set.of(CASE_ID_1)), loaderCalls);
+    }
+
+    @Test
+    @DisplayName("Should evict again once the transaction completes")
+    void shouldEvictAgainAfterTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        casePaymentOrdersCache.evict(List.of(CASE_ID_1));
+        // a read racing the write repopulates the cache before the commit
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), this::load);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), this::load);
+
+        assertEquals(List.of(Set.of(CASE_ID_1), Set.of(CASE_ID_1)), loaderCalls);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that started before a write committed and was evicted")
+    void shouldNotCacheLoadOvertakenByEvictionAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        casePaymentOrdersCache.evict(List.of(CASE_ID_1));
+
+        // the read loads the rows from before the write, which then commits and evicts before the read stores them
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), caseIds -> {
+            Map<Long, List<CasePaymentOrder>> loaded = load(caseIds);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(
+                    TransactionSynchronization.STATUS_COMMITTED));
+            return loaded;
+        });
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), this::load);
+
+        assertEquals(List.of(Set.of(CASE_ID_1), Set.of(CASE_ID_1)), loaderCalls);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load overtaken by an eviction from another instance")
+    void shouldNotCacheLoadOvertakenByLocalEviction() {
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1, CASE_ID_2), caseIds -> {
+            Map<Long, List<CasePaymentOrder>> loaded = load(caseIds);
+            casePaymentOrdersCache.evictLocal(List.of(CASE_ID_1));
+            return loaded;
+        });
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1, CASE_ID_2), this::load);
+
+        assertEquals(List.of(Set.of(CASE_ID_1, CASE_ID_2), Set.of(CASE_ID_1)), loaderCalls);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load overtaken by clearing the cache")
+    void shouldNotCacheLoadOvertakenByClear() {
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), caseIds -> {
+            Map<Long, List<CasePaymentOrder>> loaded = load(caseIds);
+            casePaymentOrdersCache.clear();
+            return loaded;
+        });
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), this::load);
+
+        assertEquals(List.of(Set.of(CASE_ID_1), Set.of(CASE_ID_1)), loaderCalls);
+    }
+
+    @Test
+    @DisplayName("Should still return what was loaded when it is not cached")
+    void shouldReturnLoadOvertakenByEviction() {
+        Map<Long, List<CasePaymentOrder>> result = casePaymentOrdersCache.getAll(List.of(CASE_ID_1), caseIds -> {
+            Map<Long, List<CasePaymentOrder>> loaded = load(caseIds);
+            casePaymentOrdersCache.evict(List.of(CASE_ID_1));
+            return loaded;
+        });
+
+        assertEquals(1, result.get(CASE_ID_1).size());
+    }
+
+    @Test
+    @DisplayName("Should store nothing when the loader finds too many to cache")
+    void shouldNotCacheWhenLoaderFindsTooMany() {
+        Map<Long, List<CasePaymentOrder>> result = casePaymentOrdersCache.getAll(List.of(CASE_ID_1), caseIds -> {
+            loaderCalls.add(Set.copyOf(caseIds));
+            return null;
+        });
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), this::load);
+
+        assertNull(result);
+        assertEquals(List.of(Set.of(CASE_ID_1), Set.of(CASE_ID_1)), loaderCalls);
+    }
+
+    @Test
+    @DisplayName("Should call the loader for every read when caching is switched off")
+    void shouldAlwaysLoadWhenCachingIsSwitchedOff() {
+        casePaymentOrdersCache = new CasePaymentOrdersCache(new NoOpCacheManager());
+
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), this::load);
+        casePaymentOrdersCache.getAll(List.of(CASE_ID_1), this::load);
+
+        assertEquals(2, loaderCalls.size());
+    }
+
+    private Map<Long, List<CasePaymentOrder>> load(Set<Long> caseIds) {
+        loaderCalls.add(Set.copyOf(caseIds));
+        Map<Long, List<CasePaymentOrder>> loaded = new HashMap<>();
+        caseIds.forEach(caseId -> loaded.put(caseId, CASE_ID_1.equals(caseId)
+            ? List.of(createCasePaymentOrder())
+            : List.of()));
+        return loaded;
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.cpo.service.impl;
 
+import org.hibernate.envers.RevisionType;
 import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,22 +11,35 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 import uk.gov.hmcts.reform.BaseTest;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderCreateResult;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderCursorPage;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderHistoryPage;
 import uk.gov.hmcts.reform.cpo.exception.CaseIdOrderReferenceUniqueConstraintException;
 import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrderCouldNotBeFoundException;
 import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrdersFilterException;
 import uk.gov.hmcts.reform.cpo.exception.IdAMIdCannotBeRetrievedException;
 import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.payload.UpdateCasePaymentOrderRequest;
+import uk.gov.hmcts.reform.cpo.repository.CaseIdOrderReference;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderCursor;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderQueryFilter;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderRevision;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderRevisionCursor;
 import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersRepository;
 import uk.gov.hmcts.reform.cpo.security.SecurityUtils;
+import uk.gov.hmcts.reform.cpo.service.cache.CasePaymentOrdersCache;
 import uk.gov.hmcts.reform.cpo.service.mapper.CasePaymentOrderMapperImpl;
 import uk.gov.hmcts.reform.cpo.validators.ValidationError;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
@@ -35,15 +49,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -54,6 +73,8 @@ import static uk.gov.hmcts.reform.cpo.validators.ValidationError.IDAM_ID_RETRIEV
 
 class CasePaymentOrdersServiceImplTest implements BaseTest {
 
+    private static final int MAX_ORDERS_PER_CACHE_LOAD = 1000;
+
     @InjectMocks
     private CasePaymentOrdersServiceImpl casePaymentOrdersService;
 
@@ -66,6 +87,9 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
     @Mock
     private SecurityUtils securityUtils;
 
+    @Spy
+    private CasePaymentOrdersCache casePaymentOrdersCache = new CasePaymentOrdersCache(new ConcurrentMapCacheManager());
+
     @Captor
     ArgumentCaptor<List<UUID>> uuidArgumentCaptor;
 
@@ -75,6 +99,7 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(casePaymentOrdersService, "maxOrdersPerCacheLoad", MAX_ORDERS_PER_CACHE_LOAD);
     }
 
     @Nested
@@ -105,20 +130,22 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
         @DisplayName("Should create CasePaymentOrder successfully")
         void shouldCreateCasePaymentOrder() {
             given(mapper.toEntity(createCasePaymentOrderRequest, CREATED_BY)).willReturn(requestEntity);
-            given(casePaymentOrdersRepository.saveAndFlush(requestEntity)).willReturn(savedEntity);
+            given(casePaymentOrdersRepository.insertIfAbsent(requestEntity)).willReturn(Optional.of(savedEntity));
             given(mapper.toDomainModel(savedEntity)).willReturn(casePaymentOrderIncoming);
             CasePaymentOrder caseOrderReturn = casePaymentOrdersService
                 .createCasePaymentOrder(createCasePaymentOrderRequest);
             assertThat("UUID does not match expected", caseOrderReturn.getId().toString().equals(CPO_ID_VALID_1));
             assertThat("Returned entity does not match expected", caseOrderReturn.equals(casePaymentOrderIncoming));
             assertEquals(HISTORY_EXISTS_DEFAULT, caseOrderReturn.isHistoryExists());
+            verify(casePaymentOrdersCache).evict(List.of(savedEntity.getCaseId()));
+            verify(casePaymentOrdersRepository).notifyCaseIdsChanged(List.of(savedEntity.getCaseId()));
         }
 
         @Test
         @DisplayName("Should successfully set fields when creating CasePaymentOrder")
         void shouldSetFieldsWhenCreatingCasePayment() {
             given(mapper.toEntity(createCasePaymentOrderRequest, CREATED_BY)).willReturn(requestEntity);
-            given(casePaymentOrdersRepository.saveAndFlush(requestEntity)).willReturn(savedEntity);
+            given(casePaymentOrdersRepository.insertIfAbsent(requestEntity)).willReturn(Optional.of(savedEntity));
             given(mapper.toDomainModel(savedEntity)).willReturn(casePaymentOrderIncoming);
 
             CasePaymentOrder caseOrderReturn = casePaymentOrdersService
@@ -129,7 +156,8 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
                 ArgumentCaptor.forClass(CasePaymentOrderEntity.class);
 
             // THEN
-            verify(casePaymentOrdersRepository, times(1)).saveAndFlush(captor.capture());
+            verify(casePaymentOrdersRepository, times(1)).insertIfAbsent(captor.capture());
+            verify(casePaymentOrdersRepository, times(0)).saveAndFlush(any());
             assertEquals(HISTORY_EXISTS_DEFAULT, caseOrderReturn.isHistoryExists());
         }
 
@@ -137,14 +165,7 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
         @DisplayName("Should throw error when request has non-unique order reference and case id pairing")
         void shouldErrorWhenNonUniquePairing() {
             given(mapper.toEntity(createCasePaymentOrderRequest, CREATED_BY)).willReturn(requestEntity);
-            ConstraintViolationException exception =
-                new ConstraintViolationException(
-                    "",
-                    null,
-                    UNIQUE_CASE_ID_ORDER_REF_CONSTRAINT
-                );
-            given(casePaymentOrdersRepository.saveAndFlush(requestEntity)).willThrow(
-                new DataIntegrityViolationException("", exception));
+            given(casePaymentOrdersRepository.insertIfAbsent(requestEntity)).willReturn(Optional.empty());
             assertThatThrownBy(() -> casePaymentOrdersService.createCasePaymentOrder(createCasePaymentOrderRequest))
                 .isInstanceOf(CaseIdOrderReferenceUniqueConstraintException.class)
                 .hasMessageContaining(CASE_ID_ORDER_REFERENCE_UNIQUE);
@@ -160,6 +181,125 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("Create Case Payment Orders")
+    class CreateCasePaymentOrders {
+
+        private static final String ORDER_REFERENCE_OTHER = "2021-1122334455668";
+
+        @BeforeEach
+        public void setUp() {
+
+            setupSecurityUtilsMock();
+
+            given(mapper.toEntity(any(CreateCasePaymentOrderRequest.class), eq(CREATED_BY))).willAnswer(invocation -> {
+                CreateCasePaymentOrderRequest request = invocation.getArgument(0);
+                CasePaymentOrderEntity entity = createCasePaymentOrderEntity();
+                entity.setCaseId(Long.parseLong(request.getCaseId()));
+                entity.setOrderReference(request.getOrderReference());
+                return entity;
+            });
+            given(mapper.toDomainModel(any(CasePaymentOrderEntity.class))).willReturn(createCasePaymentOrder());
+        }
+
+        @Test
+        @DisplayName("Should save all new case payment orders with a single flush")
+        void shouldSaveAllNewCasePaymentOrdersTogether() {
+            given(casePaymentOrdersRepository.findCaseIdOrderReferencesByCaseIdIn(any()))
+                .willReturn(Collections.emptyList());
+
+            List<CasePaymentOrderCreateResult> results = casePaymentOrdersService.createCasePaymentOrders(List.of(
+                createRequest(CASE_ID_VALID_1, ORDER_REFERENCE_VALID),
+                createRequest(CASE_ID_VALID_1, ORDER_REFERENCE_OTHER)
+            ));
+
+            ArgumentCaptor<List<CasePaymentOrderEntity>> captor = ArgumentCaptor.captor();
+            verify(casePaymentOrdersRepository, times(1)).saveAllAndFlush(captor.capture());
+            verify(casePaymentOrdersRepository, times(0)).saveAndFlush(any());
+            verify(securityUtils, times(1)).getUserInfo();
+
+            assertEquals(2, captor.getValue().size());
+            assertEquals(2, results.size());
+            results.forEach(result -> {
+                assertEquals(CasePaymentOrderCreateResult.Status.CREATED, result.getStatus());
+                assertEquals(HISTORY_EXISTS_DEFAULT, result.getCasePaymentOrder().isHistoryExists());
+            });
+        }
+
+        @Test
+        @DisplayName("Should report conflicts with existing and repeated order references without saving them")
+        void shouldReportConflictsPerItem() {
+            given(casePaymentOrdersRepository.findCaseIdOrderReferencesByCaseIdIn(any()))
+                .willReturn(List.of(createCaseIdOrderReference(Long.parseLong(CASE_ID_VALID_1),
+                                                               ORDER_REFERENCE_VALID)));
+
+            List<CasePaymentOrderCreateResult> results = casePaymentOrdersService.createCasePaymentOrders(List.of(
+                createRequest(CASE_ID_VALID_1, ORDER_REFERENCE_VALID),
+                createRequest(CASE_ID_VALID_2, ORDER_REFERENCE_VALID),
+                createRequest(CASE_ID_VALID_2, ORDER_REFERENCE_VALID)
+            ));
+
+            ArgumentCaptor<List<CasePaymentOrderEntity>> captor = ArgumentCaptor.captor();
+            verify(casePaymentOrdersRepository, times(1)).saveAllAndFlush(captor.capture());
+            assertEquals(1, captor.getValue().size());
+            assertEquals(Long.parseLong(CASE_ID_VALID_2), captor.getValue().get(0).getCaseId());
+
+            assertEquals(CasePaymentOrderCreateResult.Status.CONFLICT, results.get(0).getStatus());
+            assertEquals(CASE_ID_ORDER_REFERENCE_UNIQUE, results.get(0).getError());
+            assertEquals(CasePaymentOrderCreateResult.Status.CREATED, results.get(1).getStatus());
+            assertEquals(CasePaymentOrderCreateResult.Status.CONFLICT, results.get(2).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should not save anything when every item conflicts")
+        void shouldNotSaveWhenAllConflict() {
+            given(casePaymentOrdersRepository.findCaseIdOrderReferencesByCaseIdIn(any()))
+                .willReturn(List.of(createCaseIdOrderReference(Long.parseLong(CASE_ID_VALID_1),
+                                                               ORDER_REFERENCE_VALID)));
+
+            List<CasePaymentOrderCreateResult> results = casePaymentOrdersService.createCasePaymentOrders(List.of(
+                createRequest(CASE_ID_VALID_1, ORDER_REFERENCE_VALID)
+            ));
+
+            verify(casePaymentOrdersRepository, times(0)).saveAllAndFlush(anyList());
+            assertEquals(CasePaymentOrderCreateResult.Status.CONFLICT, results.get(0).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should throw error when a conflicting order is saved concurrently")
+        void shouldErrorWhenUniqueConstraintFiresOnFlush() {
+            given(casePaymentOrdersRepository.findCaseIdOrderReferencesByCaseIdIn(any()))
+                .willReturn(Collections.emptyList());
+            given(casePaymentOrdersRepository.saveAllAndFlush(anyList())).willThrow(
+                new DataIntegrityViolationException("", new ConstraintViolationException(
+                    "", null, UNIQUE_CASE_ID_ORDER_REF_CONSTRAINT)));
+
+            List<CreateCasePaymentOrderRequest> requests = List.of(createRequest(CASE_ID_VALID_1,
+                                                                                 ORDER_REFERENCE_VALID));
+            assertThatThrownBy(() -> casePaymentOrdersService.createCasePaymentOrders(requests))
+                .isInstanceOf(CaseIdOrderReferenceUniqueConstraintException.class)
+                .hasMessageContaining(CASE_ID_ORDER_REFERENCE_UNIQUE);
+        }
+
+        private CreateCasePaymentOrderRequest createRequest(String caseId, String orderReference) {
+            return new CreateCasePaymentOrderRequest(caseId, ACTION, RESPONSIBLE_PARTY, orderReference);
+        }
+
+        private CaseIdOrderReference createCaseIdOrderReference(Long caseId, String orderReference) {
+            return new CaseIdOrderReference() {
+                @Override
+                public Long getCaseId() {
+                    return caseId;
+                }
+
+                @Override
+                public String getOrderReference() {
+                    return orderReference;
+                }
+            };
+        }
+    }
+
 
     @Nested
     @DisplayName("Delete Case Payment Order")
@@ -176,16 +316,12 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
         @BeforeEach
         void beforeEachTest() {
             uuidFilter = CasePaymentOrderQueryFilter.builder()
-                .cpoIds(uuidsToDelete.stream()
-                            .map(UUID::toString)
-                            .collect(Collectors.toList()))
+                .cpoIds(uuidsToDelete)
                 .caseIds(Collections.emptyList())
                 .build();
             caseIdFilter = CasePaymentOrderQueryFilter.builder()
                 .cpoIds(Collections.emptyList())
-                .caseIds(caseIdsToDelete.stream()
-                             .map(Object::toString)
-                             .collect(Collectors.toList()))
+                .caseIds(caseIdsToDelete)
                 .build();
         }
 
@@ -195,9 +331,16 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
 
             verify(casePaymentOrdersRepository).deleteByUuids(uuidArgumentCaptor.capture());
             assertEquals(uuidsToDelete, uuidArgumentCaptor.getValue());
+        }
 
-            verify(casePaymentOrdersRepository).deleteAuditEntriesByUuids(uuidArgumentCaptor.capture());
-            assertEquals(uuidsToDelete, uuidArgumentCaptor.getValue());
+        @Test
+        void deleteCasePaymentOrdersByIdShouldEvictDeletedCases() {
+            when(casePaymentOrdersRepository.deleteByUuids(uuidsToDelete)).thenReturn(caseIdsToDelete);
+
+            casePaymentOrdersService.deleteCasePaymentOrders(uuidFilter);
+
+            verify(casePaymentOrdersCache).evict(caseIdsToDelete);
+            verify(casePaymentOrdersRepository).notifyCaseIdsChanged(caseIdsToDelete);
         }
 
         @Test
@@ -207,8 +350,8 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
             verify(casePaymentOrdersRepository).deleteByCaseIds(caseIdsArgumentCaptor.capture());
             assertEquals(caseIdsArgumentCaptor.getValue(), caseIdsToDelete);
 
-            verify(casePaymentOrdersRepository).deleteAuditEntriesByCaseIds(caseIdsArgumentCaptor.capture());
-            assertEquals(caseIdsArgumentCaptor.getValue(), caseIdsToDelete);
+            verify(casePaymentOrdersCache).evict(caseIdsToDelete);
+            verify(casePaymentOrdersRepository).notifyCaseIdsChanged(caseIdsToDelete);
         }
     }
 
@@ -217,11 +360,11 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
     @DisplayName("Get Case Payment Order")
     class GetCasePaymentOrder {
 
-        private final List<String> casesIds = List.of("1609243447569251", "1609243447569252", "1609243447569253");
+        private final List<Long> casesIds = List.of(1609243447569251L, 1609243447569252L, 1609243447569253L);
 
-        private final List<String> ids = List.of("df54651b-3227-4067-9f23-6ffb32e2c6bd",
-                                                 "d702ef36-0ca7-46e9-8a00-ef044d78453e",
-                                                 "d702ef36-0ca7-46e9-8a00-ef044d78453e");
+        private final List<UUID> ids = List.of(UUID.fromString("df54651b-3227-4067-9f23-6ffb32e2c6bd"),
+                                               UUID.fromString("d702ef36-0ca7-46e9-8a00-ef044d78453e"),
+                                               UUID.fromString("d702ef36-0ca7-46e9-8a00-ef044d78453e"));
 
         @Test
         void passForListIds() {
@@ -242,37 +385,106 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
 
         @Test
         void passForListCasesIds() {
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+                .cpoIds(Collections.emptyList())
+                .caseIds(casesIds)
+                .pageable(PageRequest.of(0, PAGE_SIZE))
+                .build();
+
+            setupFindAllByCaseIdIn(createListOfCasePaymentOrderEntity());
+
+            final Page<CasePaymentOrder> pages = casePaymentOrdersService.getCasePaymentOrders(
+                casePaymentOrderQueryFilter);
+
+            assertTrue("The getNumberOfElements should be 3.", pages.getNumberOfElements() == 3);
+            assertEquals(3, pages.getTotalElements());
+            assertEquals(List.of("action1", "B action2", "C action3"),
+                         pages.map(CasePaymentOrder::getOrderReference).getContent());
+        }
+
+        @Test
+        @DisplayName("Should serve a repeated case ID search from the cache")
+        void passForListCasesIdsFromCache() {
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+                .cpoIds(Collections.emptyList())
+                .caseIds(casesIds)
+                .pageable(PageRequest.of(0, PAGE_SIZE))
+                .build();
+
+            setupFindAllByCaseIdIn(createListOfCasePaymentOrderEntity());
+
+            casePaymentOrdersService.getCasePaymentOrders(casePaymentOrderQueryFilter);
+            final Page<CasePaymentOrder> pages = casePaymentOrdersService.getCasePaymentOrders(
+                casePaymentOrderQueryFilter);
+
+            assertEquals(3, pages.getNumberOfElements());
+            verify(casePaymentOrdersRepository, times(1)).findAllByCaseIdIn(any(), eq(MAX_ORDERS_PER_CACHE_LOAD + 1));
+            verify(casePaymentOrdersRepository, never()).findByCaseIdIn(anyList(), any());
+        }
+
+        @Test
+        @DisplayName("Should list every case ID without case payment orders in the not found error")
+        void failForListCasesIdsWhenCaseIdsNotFound() {
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+                .cpoIds(Collections.emptyList())
+                .caseIds(casesIds)
+                .pageable(PageRequest.of(0, PAGE_SIZE))
+                .build();
+
+            setupFindAllByCaseIdIn(createListOfCasePaymentOrderEntity().subList(0, 1));
+
+            assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrders(casePaymentOrderQueryFilter))
+                .isInstanceOf(CasePaymentOrderCouldNotBeFoundException.class)
+                .hasMessage(ValidationError.CPOS_NOT_FOUND + "1609243447569252,1609243447569253");
+        }
+
+        @Test
+        @DisplayName("Should list the case IDs without case payment orders as given in the not found error")
+        void failForListCasesIdsWhenRepeatedCaseIdsNotFound() {
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+                .cpoIds(Collections.emptyList())
+                .caseIds(List.of(1609243447569253L, 1609243447569251L, 1609243447569253L))
+                .pageable(PageRequest.of(0, PAGE_SIZE))
+                .build();
+
+            setupFindAllByCaseIdIn(createListOfCasePaymentOrderEntity().subList(0, 1));
+
+            assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrders(casePaymentOrderQueryFilter))
+                .isInstanceOf(CasePaymentOrderCouldNotBeFoundException.class)
+                .hasMessage(ValidationError.CPOS_NOT_FOUND + "1609243447569253,1609243447569253");
+        }
+
+        @Test
+        @DisplayName("Should read only the page asked for and cache nothing when there are too many to cache")
+        void passForListCasesIdsWhenTooManyToCache() {
             final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
                 .cpoIds(Collections.emptyList())
                 .caseIds(casesIds)
                 .pageable(getPageRequest())
                 .build();
 
-            when(casePaymentOrdersRepository.findByCaseIdIn(anyList(), any())).thenReturn(
-                getEntityPages());
+            ReflectionTestUtils.setField(casePaymentOrdersService, "maxOrdersPerCacheLoad", 2);
+            setupFindAllByCaseIdIn(createListOfCasePaymentOrderEntity());
+            when(casePaymentOrdersRepository.findByCaseIdIn(anyList(), any())).thenReturn(getEntityPages());
 
+            casePaymentOrdersService.getCasePaymentOrders(casePaymentOrderQueryFilter);
             final Page<CasePaymentOrder> pages = casePaymentOrdersService.getCasePaymentOrders(
                 casePaymentOrderQueryFilter);
 
-            assertTrue("The getNumberOfElements should be 0.", pages.getNumberOfElements() == 3);
+            assertEquals(3, pages.getNumberOfElements());
+            verify(casePaymentOrdersRepository, times(2)).findAllByCaseIdIn(any(), eq(3));
+            verify(casePaymentOrdersRepository, times(2)).findByCaseIdIn(casesIds, getPageRequest());
         }
 
         @Test
         void failForListCasesIds() {
-            final ArrayList<CasePaymentOrderEntity> casePaymentOrders = new ArrayList<>();
-            final Page<CasePaymentOrderEntity> pageImpl = new PageImpl<>(
-                casePaymentOrders,
-                getPageRequest(),
-                3
-            );
             final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
                 .cpoIds(Collections.emptyList())
                 .caseIds(casesIds)
                 .pageable(getPageRequest())
                 .build();
 
-            when(casePaymentOrdersRepository.findByCaseIdIn(anyList(), any())).thenReturn(
-                pageImpl);
+            setupFindAllByCaseIdIn(createListOfCasePaymentOrderEntity());
 
             assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrders(casePaymentOrderQueryFilter))
                 .isInstanceOf(CasePaymentOrderCouldNotBeFoundException.class)
@@ -304,13 +516,76 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
                 .caseIds(casesIds)
                 .build();
 
-            when(casePaymentOrdersRepository.findByCaseIdIn(anyList(), any())).thenThrow(
+            when(casePaymentOrdersRepository.findAllByCaseIdIn(any(), anyInt())).thenThrow(
                 new IllegalArgumentException());
 
             assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrders(casePaymentOrderQueryFilter))
                 .isInstanceOf(CasePaymentOrdersFilterException.class);
         }
 
+        @Test
+        @DisplayName("Should return a slice without counting when totals are not required")
+        void passForListCasesIdsWithoutTotals() {
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+                .cpoIds(Collections.emptyList())
+                .caseIds(casesIds)
+                .pageable(getPageRequest())
+                .build();
+
+            when(casePaymentOrdersRepository.findSliceByCaseIdIn(anyList(), any())).thenReturn(
+                new SliceImpl<>(createListOfCasePaymentOrderEntity(), getPageRequest(), true));
+
+            final Slice<CasePaymentOrder> slice = casePaymentOrdersService.getCasePaymentOrdersSlice(
+                casePaymentOrderQueryFilter);
+
+            assertEquals(3, slice.getNumberOfElements());
+            assertTrue("The slice should report a next slice.", slice.hasNext());
+            verify(casePaymentOrdersRepository, times(0)).findByCaseIdIn(anyList(), any());
+        }
+
+        @Test
+        @DisplayName("Should return a slice for ids without counting when totals are not required")
+        void passForListIdsWithoutTotals() {
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+                .cpoIds(ids)
+                .caseIds(Collections.emptyList())
+                .pageable(getPageRequest())
+                .build();
+
+            when(casePaymentOrdersRepository.findSliceByIdIn(anyList(), any())).thenReturn(
+                new SliceImpl<>(createListOfCasePaymentOrderEntity(), getPageRequest(), false));
+
+            final Slice<CasePaymentOrder> slice = casePaymentOrdersService.getCasePaymentOrdersSlice(
+                casePaymentOrderQueryFilter);
+
+            assertEquals(3, slice.getNumberOfElements());
+            verify(casePaymentOrdersRepository, times(0)).findByIdIn(anyList(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw CasePaymentOrderCouldNotBeFoundException when the slice is empty")
+        void failForEmptySlice() {
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = CasePaymentOrderQueryFilter.builder()
+                .cpoIds(Collections.emptyList())
+                .caseIds(casesIds)
+                .pageable(getPageRequest())
+                .build();
+
+            when(casePaymentOrdersRepository.findSliceByCaseIdIn(anyList(), any())).thenReturn(
+                new SliceImpl<>(Collections.emptyList(), getPageRequest(), false));
+
+            assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrdersSlice(casePaymentOrderQueryFilter))
+                .isInstanceOf(CasePaymentOrderCouldNotBeFoundException.class)
+                .hasMessageContaining(ValidationError.CPO_NOT_FOUND);
+        }
+
+        private void setupFindAllByCaseIdIn(List<CasePaymentOrderEntity> entities) {
+            final CasePaymentOrderMapperImpl realMapper = new CasePaymentOrderMapperImpl();
+            given(casePaymentOrdersRepository.findAllByCaseIdIn(any(), anyInt())).willReturn(entities);
+            given(mapper.toDomainModel(any(CasePaymentOrderEntity.class)))
+                .willAnswer(invocation -> realMapper.toDomainModel(invocation.getArgument(0)));
+        }
+
         private Page<CasePaymentOrderEntity> getEntityPages() {
             final PageRequest pageRequest = getPageRequest();
             return new PageImpl<>(createListOfCasePaymentOrderEntity(), pageRequest, 3);
@@ -351,6 +626,184 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
 
     }
 
+    @Nested
+    @DisplayName("Get Case Payment Orders By Cursor")
+    class GetCasePaymentOrdersByCursor {
+
+        private final List<Long> casesIds = List.of(1609243447569251L, 1609243447569252L);
+
+        @Test
+        @DisplayName("Should request one row more than the page size and return a next cursor when it is present")
+        void shouldReturnNextCursorWhenMoreRowsExist() {
+            final List<CasePaymentOrderEntity> entities = createEntities(PAGE_SIZE + 1);
+            when(casePaymentOrdersRepository.findKeysetPageByCaseIdIn(anyList(), isNull(), eq(PAGE_SIZE + 1)))
+                .thenReturn(entities);
+
+            final CasePaymentOrderCursorPage page = casePaymentOrdersService.getCasePaymentOrdersByCursor(
+                createFilter(null));
+
+            assertEquals(PAGE_SIZE, page.getContent().size());
+            assertEquals(CasePaymentOrderCursor.from(entities.get(PAGE_SIZE - 1)).encode(), page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should seek after the decoded cursor and return no next cursor on the last page")
+        void shouldSeekAfterCursorAndReturnNoNextCursorOnLastPage() {
+            final CasePaymentOrderCursor after = new CasePaymentOrderCursor(1609243447569251L, "action1");
+            when(casePaymentOrdersRepository.findKeysetPageByCaseIdIn(anyList(), eq(after), anyInt()))
+                .thenReturn(createEntities(1));
+
+            final CasePaymentOrderCursorPage page = casePaymentOrdersService.getCasePaymentOrdersByCursor(
+                createFilter(after.encode()));
+
+            assertEquals(1, page.getContent().size());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should return an empty page when seeking past the last row")
+        void shouldReturnEmptyPageWhenSeekingPastLastRow() {
+            final CasePaymentOrderCursor after = new CasePaymentOrderCursor(1609243447569252L, "action9");
+            when(casePaymentOrdersRepository.findKeysetPageByCaseIdIn(anyList(), eq(after), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+            final CasePaymentOrderCursorPage page = casePaymentOrdersService.getCasePaymentOrdersByCursor(
+                createFilter(after.encode()));
+
+            assertTrue("The content should be empty.", page.getContent().isEmpty());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should throw CasePaymentOrderCouldNotBeFoundException when the first page is empty")
+        void shouldFailWhenFirstPageIsEmpty() {
+            when(casePaymentOrdersRepository.findKeysetPageByCaseIdIn(anyList(), isNull(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = createFilter(null);
+            assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrdersByCursor(
+                casePaymentOrderQueryFilter))
+                .isInstanceOf(CasePaymentOrderCouldNotBeFoundException.class)
+                .hasMessageContaining(ValidationError.CPO_NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("Should throw CasePaymentOrdersFilterException when the cursor cannot be decoded")
+        void shouldFailWhenCursorIsInvalid() {
+            final CasePaymentOrderQueryFilter casePaymentOrderQueryFilter = createFilter("not a cursor");
+            assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrdersByCursor(
+                casePaymentOrderQueryFilter))
+                .isInstanceOf(CasePaymentOrdersFilterException.class)
+                .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+        }
+
+        private CasePaymentOrderQueryFilter createFilter(String cursor) {
+            return CasePaymentOrderQueryFilter.builder()
+                .cpoIds(Collections.emptyList())
+                .caseIds(casesIds)
+                .pageable(getPageRequest())
+                .cursor(cursor)
+                .build();
+        }
+
+        private List<CasePaymentOrderEntity> createEntities(int count) {
+            final List<CasePaymentOrderEntity> entities = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                final CasePaymentOrderEntity entity = createCasePaymentOrderEntity();
+                entity.setOrderReference(ORDER_REFERENCE_VALID + i);
+                entities.add(entity);
+            }
+            return entities;
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Case Payment Order History")
+    class GetCasePaymentOrderHistory {
+
+        private final UUID id = UUID.fromString(CPO_ID_VALID_1);
+
+        private final Long caseId = Long.parseLong(CASE_ID_VALID_1);
+
+        @Test
+        @DisplayName("Should request one revision more than the page size and return a next cursor when it is present")
+        void shouldReturnNextCursorWhenMoreRevisionsExist() {
+            final List<CasePaymentOrderRevision> revisions = createRevisions(PAGE_SIZE + 1);
+            when(casePaymentOrdersRepository.findRevisionsById(eq(id), isNull(), eq(PAGE_SIZE + 1)))
+                .thenReturn(revisions);
+
+            final CasePaymentOrderHistoryPage page =
+                casePaymentOrdersService.getCasePaymentOrderHistory(id, "", PAGE_SIZE);
+
+            assertEquals(PAGE_SIZE, page.getContent().size());
+            assertEquals(CasePaymentOrderRevisionCursor.from(revisions.get(PAGE_SIZE - 1)).encode(),
+                         page.getNextCursor());
+            verify(mapper, times(PAGE_SIZE)).toHistoryEntry(any(CasePaymentOrderRevision.class));
+        }
+
+        @Test
+        @DisplayName("Should seek after the decoded cursor and return no next cursor on the last page")
+        void shouldSeekAfterCursorAndReturnNoNextCursorOnLastPage() {
+            final CasePaymentOrderRevisionCursor after = new CasePaymentOrderRevisionCursor(3, id);
+            when(casePaymentOrdersRepository.findRevisionsByCaseId(eq(caseId), eq(after), anyInt()))
+                .thenReturn(createRevisions(1));
+
+            final CasePaymentOrderHistoryPage page =
+                casePaymentOrdersService.getCasePaymentOrderHistoryByCaseId(caseId, after.encode(), PAGE_SIZE);
+
+            assertEquals(1, page.getContent().size());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should return an empty page when seeking past the last revision")
+        void shouldReturnEmptyPageWhenSeekingPastLastRevision() {
+            final CasePaymentOrderRevisionCursor after = new CasePaymentOrderRevisionCursor(9, id);
+            when(casePaymentOrdersRepository.findRevisionsById(eq(id), eq(after), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+            final CasePaymentOrderHistoryPage page =
+                casePaymentOrdersService.getCasePaymentOrderHistory(id, after.encode(), PAGE_SIZE);
+
+            assertTrue("The content should be empty.", page.getContent().isEmpty());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should throw CasePaymentOrderCouldNotBeFoundException when the first page is empty")
+        void shouldFailWhenFirstPageIsEmpty() {
+            when(casePaymentOrdersRepository.findRevisionsByCaseId(eq(caseId), isNull(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+            assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrderHistoryByCaseId(caseId, null,
+                                                                                               PAGE_SIZE))
+                .isInstanceOf(CasePaymentOrderCouldNotBeFoundException.class)
+                .hasMessageContaining(ValidationError.CPO_NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("Should throw CasePaymentOrdersFilterException when the cursor cannot be decoded")
+        void shouldFailWhenCursorIsInvalid() {
+            assertThatThrownBy(() -> casePaymentOrdersService.getCasePaymentOrderHistory(id, "not a cursor",
+                                                                                       PAGE_SIZE))
+                .isInstanceOf(CasePaymentOrdersFilterException.class)
+                .hasMessageContaining(ValidationError.CPO_CURSOR_INVALID);
+        }
+
+        private List<CasePaymentOrderRevision> createRevisions(int count) {
+            final CasePaymentOrderEntity entity = createCasePaymentOrderEntity();
+            // NB: the id is generated on save, so has no setter
+            ReflectionTestUtils.setField(entity, "id", id);
+            final List<CasePaymentOrderRevision> revisions = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                revisions.add(new CasePaymentOrderRevision(entity, i + 1, LocalDateTime.now(),
+                                                           i == 0 ? RevisionType.ADD : RevisionType.MOD,
+                                                           Set.of(CasePaymentOrderEntity.ACTION)));
+            }
+            return revisions;
+        }
+    }
+
 
     @Nested
     @DisplayName("Update Case Payment Order")
@@ -401,6 +854,7 @@ class CasePaymentOrdersServiceImplTest implements BaseTest {
             assertThat("UUID should match expected", response.getId().equals(id));
             assertThat("Returned model should match expected", response.equals(casePaymentOrderResponse));
             assertEquals(HISTORY_EXISTS_UPDATED, casePaymentOrderEntity.isHistoryExists());
+            verify(casePaymentOrdersCache).evict(Set.of(Long.parseLong(CASE_ID_VALID_1)));
         }
 
         @Test
@@ -0,0 +1,195 @@
+package uk.gov.hmcts.reform.cpo.service.limiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.CannotCreateTransactionException;
+import uk.gov.hmcts.reform.cpo.exception.CasePaymentOrderCouldNotBeFoundException;
+import uk.gov.hmcts.reform.cpo.exception.ServiceOverloadedException;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderQueryFilter;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrdersRepository;
+import uk.gov.hmcts.reform.cpo.service.CasePaymentOrdersService;
+import uk.gov.hmcts.reform.cpo.validators.ValidationError;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitAspectTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static final Long CASE_ID = 1609243447569251L;
+    private static final UUID CPO_ID = UUID.fromString("df54651b-3227-4067-9f23-6ffb32e2c6bd");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private CasePaymentOrdersService casePaymentOrdersService;
+
+    @Mock
+    private VegasLimit limit;
+
+    @Mock
+    private CasePaymentOrdersRepository casePaymentOrdersRepository;
+
+    private CasePaymentOrdersService serviceProxy;
+
+    private CasePaymentOrdersRepository repositoryProxy;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitAspect aspect = new ConcurrencyLimitAspect(
+            new ConcurrencyLimiter(callType -> limit, meterRegistry));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(casePaymentOrdersService);
+        proxyFactory.addInterface(CasePaymentOrdersService.class);
+        proxyFactory.addAspect(aspect);
+        serviceProxy = proxyFactory.getProxy();
+
+        AspectJProxyFactory repositoryProxyFactory = new AspectJProxyFactory(casePaymentOrdersRepository);
+        repositoryProxyFactory.addInterface(CasePaymentOrdersRepository.class);
+        repositoryProxyFactory.addAspect(aspect);
+        repositoryProxy = repositoryProxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should feed the time taken by each call into the limit")
+    void shouldFeedCallTimesIntoLimit() {
+        when(limit.getLimit()).thenReturn(1);
+
+        serviceProxy.deleteCasePaymentOrders(null);
+
+        verify(casePaymentOrdersService).deleteCasePaymentOrders(null);
+        verify(limit).onSample(anyLong(), eq(1), eq(false));
+        assertThat(gauge(ConcurrencyLimiter.IN_FLIGHT_METRIC)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave reads by case ID to the cache and only limit the loads of its misses")
+    void shouldOnlyLimitCacheMissLoadsOfReadsByCaseId() {
+        CasePaymentOrderQueryFilter filter = CasePaymentOrderQueryFilter.builder()
+            .cpoIds(List.of())
+            .caseIds(List.of(CASE_ID))
+            .build();
+
+        serviceProxy.getCasePaymentOrders(filter);
+
+        verify(casePaymentOrdersService).getCasePaymentOrders(filter);
+        verifyNoInteractions(limit);
+
+        when(limit.getLimit()).thenReturn(1);
+        repositoryProxy.findAllByCaseIdIn(List.of(CASE_ID), 1);
+
+        verify(limit).onSample(anyLong(), eq(1), eq(false));
+        assertThat(meterRegistry.get(ConcurrencyLimiter.LIMIT_METRIC)
+                       .tag(ConcurrencyLimiter.CALL_TAG, "findAllByCaseIdIn").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should limit reads by ID as a call type of their own")
+    void shouldLimitReadsById() {
+        when(limit.getLimit()).thenReturn(1);
+        CasePaymentOrderQueryFilter filter = CasePaymentOrderQueryFilter.builder()
+            .cpoIds(List.of(CPO_ID))
+            .caseIds(List.of())
+            .build();
+
+        serviceProxy.getCasePaymentOrders(filter);
+
+        verify(limit).onSample(anyLong(), eq(1), eq(false));
+        assertThat(meterRegistry.get(ConcurrencyLimiter.LIMIT_METRIC)
+                       .tag(ConcurrencyLimiter.CALL_TAG, "getCasePaymentOrders").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should turn calls away once the limit is reached")
+    void shouldTurnCallsAwayOnceLimitReached() throws Exception {
+        when(limit.getLimit()).thenReturn(1);
+        CountDownLatch inService = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(casePaymentOrdersService.getCasePaymentOrders(any())).thenAnswer(invocation -> {
+            inService.countDown();
+            finish.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return null;
+        });
+
+        CompletableFuture<Void> firstCall = CompletableFuture.runAsync(() -> serviceProxy.getCasePaymentOrders(null));
+        assertThat(inService.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> serviceProxy.getCasePaymentOrders(null))
+            .isInstanceOf(ServiceOverloadedException.class)
+            .hasMessage(ValidationError.SERVICE_OVERLOADED);
+        assertThat(meterRegistry.get(ConcurrencyLimiter.REJECTED_METRIC).counter().count()).isEqualTo(1);
+        assertThat(gauge(ConcurrencyLimiter.IN_FLIGHT_METRIC)).isEqualTo(1);
+
+        finish.countDown();
+        firstCall.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(gauge(ConcurrencyLimiter.IN_FLIGHT_METRIC)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count calls that time out waiting on the database as dropped")
+    void shouldCountDatabaseTimeoutsAsDropped() {
+        when(limit.getLimit()).thenReturn(1);
+        when(casePaymentOrdersService.getCasePaymentOrders(any()))
+            .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        assertThatThrownBy(() -> serviceProxy.getCasePaymentOrders(null))
+            .isInstanceOf(CannotCreateTransactionException.class);
+
+        verify(limit).onSample(anyLong(), eq(1), eq(true));
+    }
+
+    @Test
+    @DisplayName("Should count calls that fail with the service's own errors as normal calls")
+    void shouldCountServiceErrorsAsNormalCalls() {
+        when(limit.getLimit()).thenReturn(1);
+        when(casePaymentOrdersService.getCasePaymentOrders(any()))
+            .thenThrow(new CasePaymentOrderCouldNotBeFoundException(ValidationError.CPO_NOT_FOUND));
+
+        assertThatThrownBy(() -> serviceProxy.getCasePaymentOrders(null))
+            .isInstanceOf(CasePaymentOrderCouldNotBeFoundException.class);
+
+        verify(limit).onSample(anyLong(), eq(1), eq(false));
+    }
+
+    @Test
+    @DisplayName("Should leave the limit alone for calls that fail unexpectedly")
+    void shouldIgnoreUnexpectedFailures() {
+        when(limit.getLimit()).thenReturn(1);
+        when(casePaymentOrdersService.getCasePaymentOrders(any())).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> serviceProxy.getCasePaymentOrders(null))
+            .isInstanceOf(IllegalStateException.class);
+
+        verify(limit, never()).onSample(anyLong(), anyInt(), anyBoolean());
+        assertThat(gauge(ConcurrencyLimiter.IN_FLIGHT_METRIC)).isZero();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+}
@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.cpo.service.limiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    private static final long CACHE_HIT_RTT = 20_000L;
+    private static final long DATABASE_RTT = 10_000_000L;
+
+    private static final int INITIAL_LIMIT = 20;
+    private static final int MIN_LIMIT = 5;
+    private static final int MAX_LIMIT = 200;
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private static final String FAST_CALL = "getCasePaymentOrders";
+    private static final String SLOW_CALL = "createCasePaymentOrders";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+        meterRegistry, INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT, PROBE_MULTIPLIER);
+
+    @Test
+    @DisplayName("Should hold the limit of slow calls steady while fast calls of another type come and go")
+    void shouldHoldLimitSteadyWithMixedFastAndSlowCalls() {
+        runMixedLoad(FAST_CALL, SLOW_CALL);
+
+        assertThat(limiter.getLimit(SLOW_CALL)).isGreaterThanOrEqualTo(INITIAL_LIMIT);
+        assertThat(limiter.getLimit(FAST_CALL)).isGreaterThanOrEqualTo(INITIAL_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should collapse the limit if fast and slow calls were sampled as one type")
+    void shouldCollapseLimitWhenFastAndSlowCallsShareOneType() {
+        runMixedLoad(SLOW_CALL, SLOW_CALL);
+
+        // NB: the reason each call type has a limit of its own, the slow calls all look queued behind the fast ones
+        assertThat(limiter.getLimit(SLOW_CALL)).isEqualTo(MIN_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should tag the metrics with the call type")
+    void shouldTagMetricsWithCallType() {
+        sample(FAST_CALL, CACHE_HIT_RTT);
+        sample(SLOW_CALL, DATABASE_RTT);
+
+        assertThat(meterRegistry.get(ConcurrencyLimiter.LIMIT_METRIC)
+                       .tag(ConcurrencyLimiter.CALL_TAG, SLOW_CALL).gauge().value()).isEqualTo(INITIAL_LIMIT);
+        assertThat(meterRegistry.get(ConcurrencyLimiter.RTT_NO_LOAD_METRIC)
+                       .tag(ConcurrencyLimiter.CALL_TAG, FAST_CALL).timeGauge().value())
+            .isLessThan(meterRegistry.get(ConcurrencyLimiter.RTT_NO_LOAD_METRIC)
+                            .tag(ConcurrencyLimiter.CALL_TAG, SLOW_CALL).timeGauge().value());
+    }
+
+    /**
+     * Runs one fast call for every nine slow ones, the slow ones varying by up to 10%, with each limit fully in use.
+     */
+    private void runMixedLoad(String fastCallType, String slowCallType) {
+        for (int round = 0; round < 300; round++) {
+            sample(fastCallType, CACHE_HIT_RTT);
+            for (int call = 1; call < 10; call++) {
+                sample(slowCallType, DATABASE_RTT + (call % 2) * DATABASE_RTT / 10);
+            }
+        }
+    }
+
+    private void sample(String callType, long rttNanos) {
+        int inFlight = limiter.getLimit(callType);
+        assertThat(limiter.tryAcquire(callType)).isPositive();
+        limiter.release(callType, rttNanos, inFlight, ConcurrencyLimiter.Outcome.SUCCESS);
+    }
+
+}
@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.cpo.service.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VegasLimitTest {
+
+    private static final long NO_LOAD_RTT = 10_000_000L;
+
+    private static final int INITIAL_LIMIT = 20;
+    private static final int MIN_LIMIT = 5;
+    private static final int MAX_LIMIT = 100;
+    private static final int PROBE_MULTIPLIER = 1000;
+
+    private final VegasLimit limit = new VegasLimit(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT, PROBE_MULTIPLIER);
+
+    @Test
+    @DisplayName("Should raise the limit while calls take no longer than with nothing queued")
+    void shouldRaiseLimitWhileNothingQueued() {
+        limit.onSample(NO_LOAD_RTT, INITIAL_LIMIT, false);
+
+        limit.onSample(NO_LOAD_RTT, INITIAL_LIMIT, false);
+
+        assertThat(limit.getLimit()).isGreaterThan(INITIAL_LIMIT);
+        assertThat(limit.getRttNoLoadNanos()).isEqualTo(NO_LOAD_RTT);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit once calls take much longer than with nothing queued")
+    void shouldLowerLimitOnceCallsQueue() {
+        limit.onSample(NO_LOAD_RTT, INITIAL_LIMIT, false);
+
+        limit.onSample(NO_LOAD_RTT * 4, INITIAL_LIMIT, false);
+
+        assertThat(limit.getLimit()).isLessThan(INITIAL_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should not raise the limit while most of it is unused")
+    void shouldNotRaiseLimitWhileMostlyUnused() {
+        limit.onSample(NO_LOAD_RTT, 1, false);
+
+        limit.onSample(NO_LOAD_RTT, 1, false);
+
+        assertThat(limit.getLimit()).isEqualTo(INITIAL_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should back off when calls time out")
+    void shouldBackOffWhenCallsTimeOut() {
+        limit.onSample(NO_LOAD_RTT, INITIAL_LIMIT, true);
+
+        assertThat(limit.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit within its bounds")
+    void shouldKeepLimitWithinBounds() {
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(NO_LOAD_RTT, 1, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(MIN_LIMIT);
+
+        limit.onSample(NO_LOAD_RTT, MAX_LIMIT, false);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(NO_LOAD_RTT, MAX_LIMIT, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(MAX_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should reset the time taken with nothing queued every so often")
+    void shouldResetNoLoadRttOnProbe() {
+        VegasLimit probingLimit = new VegasLimit(MIN_LIMIT, MIN_LIMIT, MAX_LIMIT, 1);
+        probingLimit.onSample(NO_LOAD_RTT, 1, false);
+
+        long slowerRtt = NO_LOAD_RTT * 2;
+        for (int i = 0; i < MIN_LIMIT; i++) {
+            probingLimit.onSample(slowerRtt, 1, false);
+        }
+
+        assertThat(probingLimit.getRttNoLoadNanos()).isEqualTo(slowerRtt);
+    }
+
+}
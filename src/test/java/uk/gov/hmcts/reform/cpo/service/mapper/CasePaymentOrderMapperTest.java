@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.cpo.service.mapper;
 
+import org.hibernate.envers.RevisionType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,10 +9,15 @@ import org.mockito.MockitoAnnotations;
 import uk.gov.hmcts.reform.BaseTest;
 import uk.gov.hmcts.reform.cpo.data.CasePaymentOrderEntity;
 import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrder;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderChanges;
+import uk.gov.hmcts.reform.cpo.domain.CasePaymentOrderHistoryEntry;
 import uk.gov.hmcts.reform.cpo.payload.CreateCasePaymentOrderRequest;
 import uk.gov.hmcts.reform.cpo.payload.UpdateCasePaymentOrderRequest;
+import uk.gov.hmcts.reform.cpo.repository.CasePaymentOrderRevision;
 
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.springframework.test.util.AssertionErrors.assertEquals;
@@ -159,4 +165,34 @@ class CasePaymentOrderMapperTest implements BaseTest {
 
     }
 
+    @DisplayName("should map a revision to a history entry with only the changed properties")
+    @Test
+    void successfulHistoryEntryMapping() {
+
+        // GIVEN
+        CasePaymentOrderEntity entity = createCasePaymentOrderEntity();
+        LocalDateTime revisionTimestamp = LocalDateTime.now();
+        CasePaymentOrderRevision revision = new CasePaymentOrderRevision(
+            entity, 7, revisionTimestamp, RevisionType.MOD,
+            Set.of(CasePaymentOrderEntity.ACTION, CasePaymentOrderEntity.HISTORY_EXISTS));
+
+        // WHEN
+        CasePaymentOrderHistoryEntry historyEntry = mapper.toHistoryEntry(revision);
+
+        // THEN
+        assertEquals("History entry case id should always be populated",
+                     entity.getCaseId(), historyEntry.getCaseId());
+        assertEquals("History entry revision should equal revision number", 7, historyEntry.getRevision());
+        assertEquals("History entry revision type should equal revision type",
+                     RevisionType.MOD, historyEntry.getRevisionType());
+        assertEquals("History entry revision timestamp should equal revision timestamp",
+                     revisionTimestamp, historyEntry.getRevisionTimestamp());
+        assertEquals("History entry changes should only hold the changed properties",
+                     CasePaymentOrderChanges.builder()
+                         .action(entity.getAction())
+                         .historyExists(entity.isHistoryExists())
+                         .build(),
+                     historyEntry.getChanges());
+    }
+
 }
@@ -0,0 +1,260 @@
+package uk.gov.hmcts.reform.cpo.service.retention;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartition;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartitionRepository;
+import uk.gov.hmcts.reform.cpo.repository.AuditPartitionedTable;
+import uk.gov.hmcts.reform.cpo.service.retention.AuditPartitionMaintenance.RetentionAction;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static uk.gov.hmcts.reform.cpo.repository.AuditPartitionedTable.CASE_PAYMENT_ORDERS_AUDIT;
+import static uk.gov.hmcts.reform.cpo.repository.AuditPartitionedTable.REVINFO;
+
+class AuditPartitionMaintenanceTest {
+
+    private static final Clock FIXED_CLOCK = Clock.fixed(Instant.parse("2026-10-18T14:42:32Z"), ZoneOffset.UTC);
+
+    private static final LocalDateTime OCTOBER = LocalDateTime.of(2026, 10, 1, 0, 0);
+    private static final LocalDateTime NOVEMBER = OCTOBER.plusMonths(1);
+    private static final LocalDateTime DECEMBER = OCTOBER.plusMonths(2);
+    private static final LocalDateTime JANUARY = OCTOBER.plusMonths(3);
+
+    private static final int MONTHS_AHEAD = 2;
+    private static final int RETENTION_MONTHS = 84;
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private AuditPartitionRepository auditPartitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        given(auditPartitionRepository.tryMaintenanceLock()).willReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should create partitions carrying on from the legacy partition up to the months ahead")
+    void shouldCreatePartitionsFromLegacyPartition() {
+        givenPartitions(CASE_PAYMENT_ORDERS_AUDIT, new AuditPartition("case_payment_orders_audit_legacy", NOVEMBER));
+        givenPartitions(REVINFO, new AuditPartition("revinfo_legacy", NOVEMBER));
+
+        maintenance(false, RetentionAction.DETACH).maintainPartitions();
+
+        verify(auditPartitionRepository)
+            .createPartition(CASE_PAYMENT_ORDERS_AUDIT, "case_payment_orders_audit_p202611", NOVEMBER, DECEMBER);
+        verify(auditPartitionRepository)
+            .createPartition(CASE_PAYMENT_ORDERS_AUDIT, "case_payment_orders_audit_p202612", DECEMBER, JANUARY);
+        verify(auditPartitionRepository).createPartition(REVINFO, "revinfo_p202611", NOVEMBER, DECEMBER);
+        verify(auditPartitionRepository).createPartition(REVINFO, "revinfo_p202612", DECEMBER, JANUARY);
+    }
+
+    @Test
+    @DisplayName("Should not create partitions that already exist")
+    void shouldNotCreateExistingPartitions() {
+        givenPartitions(CASE_PAYMENT_ORDERS_AUDIT,
+                        new AuditPartition("case_payment_orders_audit_legacy", NOVEMBER),
+                        new AuditPartition("case_payment_orders_audit_p202612", JANUARY),
+                        new AuditPartition("case_payment_orders_audit_p202611", DECEMBER));
+        givenPartitions(REVINFO, new AuditPartition("revinfo_legacy", NOVEMBER),
+                        new AuditPartition("revinfo_p202611", DECEMBER));
+
+        maintenance(false, RetentionAction.DETACH).maintainPartitions();
+
+        verify(auditPartitionRepository, never())
+            .createPartition(eq(CASE_PAYMENT_ORDERS_AUDIT), anyString(), any(), any());
+        verify(auditPartitionRepository).createPartition(REVINFO, "revinfo_p202612", DECEMBER, JANUARY);
+    }
+
+    @Test
+    @DisplayName("Should start from this month when a table has no partitions but its default")
+    void shouldStartFromThisMonthWithoutPartitions() {
+        givenPartitions(CASE_PAYMENT_ORDERS_AUDIT);
+        givenPartitions(REVINFO);
+
+        maintenance(false, RetentionAction.DETACH).maintainPartitions();
+
+        verify(auditPartitionRepository)
+            .createPartition(CASE_PAYMENT_ORDERS_AUDIT, "case_payment_orders_audit_p202610", OCTOBER, NOVEMBER);
+        verify(auditPartitionRepository).createPartition(REVINFO, "revinfo_p202610", OCTOBER, NOVEMBER);
+        verify(auditPartitionRepository).createPartition(REVINFO, "revinfo_p202612", DECEMBER, JANUARY);
+    }
+
+    @Test
+    @DisplayName("Should carry on creating partitions once rows have been moved out of the default partition")
+    void shouldCarryOnAfterMovingRowsOutOfDefaultPartition() {
+        givenPartitions(CASE_PAYMENT_ORDERS_AUDIT, new AuditPartition("case_payment_orders_audit_legacy", NOVEMBER));
+        givenPartitions(REVINFO, new AuditPartition("revinfo_legacy", NOVEMBER));
+        given(auditPartitionRepository.createPartition(any(), anyString(), eq(NOVEMBER), eq(DECEMBER)))
+            .willReturn(3);
+
+        maintenance(false, RetentionAction.DETACH).maintainPartitions();
+
+        verify(auditPartitionRepository)
+            .createPartition(CASE_PAYMENT_ORDERS_AUDIT, "case_payment_orders_audit_p202612", DECEMBER, JANUARY);
+        verify(auditPartitionRepository).createPartition(REVINFO, "revinfo_p202612", DECEMBER, JANUARY);
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when another instance holds the maintenance lock")
+    void shouldSkipWithoutLock() {
+        given(auditPartitionRepository.tryMaintenanceLock()).willReturn(false);
+
+        maintenance(true, RetentionAction.DROP).maintainPartitions();
+
+        verify(auditPartitionRepository).tryMaintenanceLock();
+        verifyNoMoreInteractions(auditPartitionRepository);
+    }
+
+    @Test
+    @DisplayName("Should not throw when maintenance fails")
+    void shouldNotThrowWhenMaintenanceFails() {
+        givenPartitions(CASE_PAYMENT_ORDERS_AUDIT);
+        willThrow(new DataIntegrityViolationException("updated partition constraint for default partition"))
+            .given(auditPartitionRepository).createPartition(any(), anyString(), any(), any());
+
+        AuditPartitionMaintenance maintenance = maintenance(false, RetentionAction.DETACH);
+
+        assertThatNoException().isThrownBy(maintenance::maintainPartitions);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should bound how long the partition changes wait for their locks")
+    void shouldSetLockTimeoutBeforeChangingPartitions() {
+        givenPartitions(CASE_PAYMENT_ORDERS_AUDIT);
+        givenPartitions(REVINFO);
+
+        maintenance(false, RetentionAction.DETACH).maintainPartitions();
+
+        InOrder inOrder = inOrder(auditPartitionRepository);
+        inOrder.verify(auditPartitionRepository).tryMaintenanceLock();
+        inOrder.verify(auditPartitionRepository).setLockTimeout(LOCK_TIMEOUT);
+        inOrder.verify(auditPartitionRepository).createPartition(eq(CASE_PAYMENT_ORDERS_AUDIT), anyString(), any(),
+                                                                 any());
+    }
+
+    @Test
+    @DisplayName("Should roll back and not throw when a partition change times out waiting for its lock")
+    void shouldRollBackWhenLockTimesOut() {
+        givenExpiringPartitions();
+        willThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+            .given(auditPartitionRepository).detachPartition(any(), anyString());
+
+        AuditPartitionMaintenance maintenance = maintenance(true, RetentionAction.DETACH);
+
+        assertThatNoException().isThrownBy(maintenance::maintainPartitions);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should detach partitions past retention, a month from every table at a time")
+    void shouldDetachExpiredPartitions() {
+        givenExpiringPartitions();
+
+        maintenance(true, RetentionAction.DETACH).maintainPartitions();
+
+        InOrder inOrder = inOrder(auditPartitionRepository);
+        inOrder.verify(auditPartitionRepository)
+            .detachPartition(CASE_PAYMENT_ORDERS_AUDIT, "case_payment_orders_audit_legacy");
+        inOrder.verify(auditPartitionRepository).detachPartition(REVINFO, "revinfo_legacy");
+        inOrder.verify(auditPartitionRepository)
+            .detachPartition(CASE_PAYMENT_ORDERS_AUDIT, "case_payment_orders_audit_p201909");
+        inOrder.verify(auditPartitionRepository).detachPartition(REVINFO, "revinfo_p201909");
+        verify(auditPartitionRepository, never())
+            .detachPartition(CASE_PAYMENT_ORDERS_AUDIT, "case_payment_orders_audit_p201910");
+        verify(auditPartitionRepository, never()).detachPartition(REVINFO, "revinfo_p201910");
+        verify(auditPartitionRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("Should drop partitions past retention, a month from every table at a time")
+    void shouldDropExpiredPartitions() {
+        givenExpiringPartitions();
+
+        maintenance(true, RetentionAction.DROP).maintainPartitions();
+
+        InOrder inOrder = inOrder(auditPartitionRepository);
+        inOrder.verify(auditPartitionRepository).dropPartition("case_payment_orders_audit_legacy");
+        inOrder.verify(auditPartitionRepository).dropPartition("revinfo_legacy");
+        inOrder.verify(auditPartitionRepository).dropPartition("case_payment_orders_audit_p201909");
+        inOrder.verify(auditPartitionRepository).dropPartition("revinfo_p201909");
+        verify(auditPartitionRepository, never()).dropPartition("case_payment_orders_audit_p201910");
+        verify(auditPartitionRepository, never()).dropPartition("revinfo_p201910");
+        verify(auditPartitionRepository, never()).detachPartition(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should remove an expired month from a table even if another table no longer has it")
+    void shouldRemoveExpiredMonthMissingFromAnotherTable() {
+        LocalDateTime cutoff = OCTOBER.minusMonths(RETENTION_MONTHS);
+        givenPartitions(CASE_PAYMENT_ORDERS_AUDIT, new AuditPartition("case_payment_orders_audit_p202612", JANUARY));
+        givenPartitions(REVINFO,
+                        new AuditPartition("revinfo_p201909", cutoff),
+                        new AuditPartition("revinfo_p202612", JANUARY));
+
+        maintenance(true, RetentionAction.DROP).maintainPartitions();
+
+        verify(auditPartitionRepository).dropPartition("revinfo_p201909");
+    }
+
+    @Test
+    @DisplayName("Should keep partitions past retention while it is disabled")
+    void shouldKeepExpiredPartitionsWhenRetentionDisabled() {
+        givenExpiringPartitions();
+
+        maintenance(false, RetentionAction.DROP).maintainPartitions();
+
+        verify(auditPartitionRepository, never()).dropPartition(anyString());
+        verify(auditPartitionRepository, never()).detachPartition(any(), anyString());
+    }
+
+    private void givenExpiringPartitions() {
+        LocalDateTime cutoff = OCTOBER.minusMonths(RETENTION_MONTHS);
+        for (AuditPartitionedTable table : AuditPartitionedTable.values()) {
+            givenPartitions(table,
+                            new AuditPartition(table.getTableName() + "_p201909", cutoff),
+                            new AuditPartition(table.getTableName() + "_legacy", cutoff.minusMonths(1)),
+                            new AuditPartition(table.getTableName() + "_p201910", cutoff.plusMonths(1)),
+                            new AuditPartition(table.getPartitionName(DECEMBER), JANUARY));
+        }
+    }
+
+    private void givenPartitions(AuditPartitionedTable table, AuditPartition... partitions) {
+        given(auditPartitionRepository.findPartitions(table)).willReturn(List.of(partitions));
+    }
+
+    private AuditPartitionMaintenance maintenance(boolean retentionEnabled, RetentionAction retentionAction) {
+        return new AuditPartitionMaintenance(auditPartitionRepository, transactionManager, FIXED_CLOCK,
+                                             MONTHS_AHEAD, retentionEnabled, RETENTION_MONTHS, retentionAction,
+                                             LOCK_TIMEOUT);
+    }
+
+}
@@ -0,0 +1,141 @@
+package uk.gov.hmcts.reform.cpo.validators;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.gov.hmcts.reform.BaseTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.apache.commons.validator.routines.checkdigit.LuhnCheckDigit.LUHN_CHECK_DIGIT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CaseIdFormatTest implements BaseTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    @DisplayName("Should accept valid case IDs from any CharSequence")
+    void shouldAcceptValidCaseIds() {
+        assertThat(CaseIdFormat.isValid(CASE_ID_VALID_1)).isTrue();
+        assertThat(CaseIdFormat.isValid(CASE_ID_VALID_2)).isTrue();
+        assertThat(CaseIdFormat.isValid(new StringBuilder(CASE_ID_VALID_3))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        CASE_ID_INVALID_NON_NUMERIC,
+        CASE_ID_INVALID_LUHN,
+        CASE_ID_INVALID_LENGTH,
+        "95114250435888230",
+        "951142504358882",
+        "0000000000000000",
+        "951142504358882a",
+        " 951142504358882",
+        "95114250435888\u0662\u0663" // NB: Arabic-Indic digits, which \d does not match either
+    })
+    @DisplayName("Should reject invalid case IDs")
+    void shouldRejectInvalidCaseIds(String caseId) {
+        assertThat(CaseIdFormat.isValid(caseId)).isFalse();
+        assertThat(CaseIdFormat.parse(caseId)).isEqualTo(CaseIdFormat.INVALID);
+    }
+
+    @Test
+    @DisplayName("Should reject a null case ID")
+    void shouldRejectNullCaseId() {
+        assertThat(CaseIdFormat.isValid(null)).isFalse();
+        assertThat(CaseIdFormat.parse(null)).isEqualTo(CaseIdFormat.INVALID);
+    }
+
+    @Test
+    @DisplayName("Should parse case IDs to the same number as Long.parseLong")
+    void shouldParseSameAsParseLong() {
+        assertThat(CaseIdFormat.parse(CASE_ID_VALID_1)).isEqualTo(Long.parseLong(CASE_ID_VALID_1));
+        assertThat(CaseIdFormat.parse(new StringBuilder(CASE_ID_VALID_2))).isEqualTo(Long.parseLong(CASE_ID_VALID_2));
+        assertThat(CaseId.valueOf(CASE_ID_VALID_3).toLong()).isEqualTo(Long.parseLong(CASE_ID_VALID_3));
+    }
+
+    @Test
+    @DisplayName("Should keep a bound case ID as given")
+    void shouldKeepBoundCaseIdAsGiven() {
+        CaseId caseId = CaseId.valueOf(CASE_ID_VALID_1);
+
+        assertThat(caseId.isValid()).isTrue();
+        assertThat(caseId).hasToString(CASE_ID_VALID_1);
+        assertThat(CaseId.valueOf(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw when converting an invalid case ID")
+    void shouldThrowWhenConvertingInvalidCaseId() {
+        CaseId caseId = CaseId.valueOf(CASE_ID_INVALID_LUHN);
+
+        assertThat(caseId.isValid()).isFalse();
+        assertThatThrownBy(caseId::toLong)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(CASE_ID_INVALID_LUHN);
+    }
+
+    @Test
+    @DisplayName("Should agree with the regex and commons-validator Luhn check")
+    void shouldAgreeWithRegexAndCommonsValidator() {
+        Random random = new Random(42);
+        int valid = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            String caseId = randomCaseId(random);
+            boolean expected = caseId.matches("\\d{16}") && LUHN_CHECK_DIGIT.isValid(caseId);
+
+            assertThat(CaseIdFormat.isValid(caseId)).as(caseId).isEqualTo(expected);
+            assertThat(CaseIdFormat.parse(caseId)).as(caseId)
+                .isEqualTo(expected ? Long.parseLong(caseId) : CaseIdFormat.INVALID);
+            valid += expected ? 1 : 0;
+        }
+
+        // NB: make sure both sides were covered
+        assertThat(valid).isBetween(SAMPLES / 20, SAMPLES / 5);
+    }
+
+    @Test
+    @DisplayName("Should not allocate while checking case IDs")
+    void shouldNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMxBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMxBean.isThreadAllocatedMemorySupported() && threadMxBean.isThreadAllocatedMemoryEnabled());
+        String[] caseIds = {CASE_ID_VALID_1, CASE_ID_INVALID_LUHN, CASE_ID_INVALID_NON_NUMERIC};
+
+        int valid = 0;
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMxBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < SAMPLES; i++) {
+            valid += CaseIdFormat.isValid(caseIds[i % caseIds.length]) ? 1 : 0;
+        }
+        long allocated = threadMxBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(valid).isEqualTo((SAMPLES + 2) / 3);
+        // NB: leaves room for the odd allocation by the JIT or the measurement itself, but not one per call
+        assertThat(allocated).isLessThan(SAMPLES);
+    }
+
+    /**
+     * Mostly 16 digits, some of which pass the Luhn check, with the odd wrong length or non-digit thrown in.
+     */
+    private static String randomCaseId(Random random) {
+        int length = random.nextInt(20) == 0 ? random.nextInt(20) : CaseIdFormat.CASE_ID_LENGTH;
+        StringBuilder caseId = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            caseId.append((char) ('0' + random.nextInt(10)));
+        }
+        if (length > 0 && random.nextInt(20) == 0) {
+            caseId.setCharAt(random.nextInt(length), (char) ('/' + random.nextInt(2) * 11));
+        }
+        return caseId.toString();
+    }
+
+}
@@ -34,15 +34,19 @@ class CaseIdsTest implements BaseTest {
 
     @Test
     void passForValidCasesIds() {
-        final String[] testedData = {CASE_ID_VALID_1, CASE_ID_VALID_2, CASE_ID_VALID_3};
-        final Optional<List<String>> valuesToBeTested = createInitialValuesList(testedData);
+        final CaseId[] testedData = {
+            CaseId.valueOf(CASE_ID_VALID_1),
+            CaseId.valueOf(CASE_ID_VALID_2),
+            CaseId.valueOf(CASE_ID_VALID_3)
+        };
+        final Optional<List<CaseId>> valuesToBeTested = createInitialValuesList(testedData);
         final boolean result = caseIdsValidator.isValid(valuesToBeTested, constraintValidatorContext);
         assertTrue("The values: " + Arrays.toString(testedData) + " should be valid", result);
     }
 
     @Test
     void passForEmptyCasesIds() {
-        final Optional<List<String>> valuesToBeTested = Optional.empty();
+        final Optional<List<CaseId>> valuesToBeTested = Optional.empty();
         final boolean result = caseIdsValidator.isValid(valuesToBeTested, constraintValidatorContext);
         assertTrue("The empty value should be valid", result);
     }
@@ -50,15 +54,19 @@ class CaseIdsTest implements BaseTest {
     @Test
     void passForOneCasesId() {
         final List<String> errors = new ArrayList<String>();
-        final String valueToBeTested = CASE_ID_VALID_1;
+        final CaseId valueToBeTested = CaseId.valueOf(CASE_ID_VALID_1);
         caseIdsValidator.validate(valueToBeTested, errors);
         assertTrue("There should not be any error for " + valueToBeTested + " value.", errors.isEmpty());
     }
 
     @Test
     void failForInvalidCasesIds() {
-        final String[] testedData = {CASE_ID_INVALID_NON_NUMERIC, CASE_ID_INVALID_LUHN, CASE_ID_INVALID_LENGTH};
-        final Optional<List<String>> valuesToBeTested = createInitialValuesList(testedData);
+        final CaseId[] testedData = {
+            CaseId.valueOf(CASE_ID_INVALID_NON_NUMERIC),
+            CaseId.valueOf(CASE_ID_INVALID_LUHN),
+            CaseId.valueOf(CASE_ID_INVALID_LENGTH)
+        };
+        final Optional<List<CaseId>> valuesToBeTested = createInitialValuesList(testedData);
         when(constraintValidatorContext.buildConstraintViolationWithTemplate(anyString())).thenReturn(
             constraintViolationBuilder);
         final boolean result = caseIdsValidator.isValid(valuesToBeTested, constraintValidatorContext);
@@ -68,7 +76,7 @@ class CaseIdsTest implements BaseTest {
     @Test
     void failForOneCasesId() {
         final List<String> errors = new ArrayList<String>();
-        final String valueToBeTested = CASE_ID_INVALID_LENGTH;
+        final CaseId valueToBeTested = CaseId.valueOf(CASE_ID_INVALID_LENGTH);
         caseIdsValidator.validate(valueToBeTested, errors);
         assertTrue("There should be any error for " + valueToBeTested + " value.", !errors.isEmpty());
     }
@@ -0,0 +1,117 @@
+package uk.gov.hmcts.reform.cpo.validators;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.gov.hmcts.reform.BaseTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CpoIdFormatTest implements BaseTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    @DisplayName("Should accept valid CPO IDs in either case from any CharSequence")
+    void shouldAcceptValidCpoIds() {
+        assertThat(CpoIdFormat.isValid(CPO_ID_VALID_1)).isTrue();
+        assertThat(CpoIdFormat.isValid(CPO_ID_VALID_2.toUpperCase(Locale.ROOT))).isTrue();
+        assertThat(CpoIdFormat.isValid(new StringBuilder(CPO_ID_VALID_3))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        CPO_ID_INVALID_NON_NUMERIC,
+        CPO_ID_INVALID_1,
+        CPO_ID_INVALID_2,
+        "df54651b-3227-4067-9f23-6ffb32e2c6b",
+        "df54651b-3227-4067-9f23-6ffb32e2c6bdd",
+        "df54651b3-227-4067-9f23-6ffb32e2c6bd",
+        "df54651b-3227-4067-9f23_6ffb32e2c6bd",
+        "df54651g-3227-4067-9f23-6ffb32e2c6bd",
+        " f54651b-3227-4067-9f23-6ffb32e2c6bd",
+        "df54651b-3227-4067-9f23-6ffb32e2c6\uFF11\uFF12", // NB: fullwidth digits
+        "1-2-3-4-5" // NB: accepted by UUID.fromString
+    })
+    @DisplayName("Should reject invalid CPO IDs")
+    void shouldRejectInvalidCpoIds(String cpoId) {
+        assertThat(CpoIdFormat.isValid(cpoId)).isFalse();
+        assertThat(CpoIdFormat.parse(cpoId)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a null CPO ID")
+    void shouldRejectNullCpoId() {
+        assertThat(CpoIdFormat.isValid(null)).isFalse();
+        assertThat(CpoIdFormat.parse(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should parse CPO IDs to the same UUID as UUID.fromString")
+    void shouldParseSameAsUuidFromString() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            UUID expected = new UUID(random.nextLong(), random.nextLong());
+            String cpoId = random.nextBoolean() ? expected.toString() : expected.toString().toUpperCase(Locale.ROOT);
+
+            assertThat(CpoIdFormat.parse(cpoId)).as(cpoId).isEqualTo(expected);
+            assertThat(CpoId.valueOf(cpoId).toUuid()).as(cpoId).isEqualTo(UUID.fromString(cpoId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a bound CPO ID as given and only parse it once")
+    void shouldKeepBoundCpoIdAsGiven() {
+        CpoId cpoId = CpoId.valueOf(CPO_ID_VALID_1.toUpperCase(Locale.ROOT));
+
+        assertThat(cpoId.isValid()).isTrue();
+        assertThat(cpoId).hasToString(CPO_ID_VALID_1.toUpperCase(Locale.ROOT));
+        assertThat(cpoId.toUuid()).isSameAs(cpoId.toUuid()).isEqualTo(UUID.fromString(CPO_ID_VALID_1));
+        assertThat(CpoId.valueOf(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw when converting an invalid CPO ID")
+    void shouldThrowWhenConvertingInvalidCpoId() {
+        CpoId cpoId = CpoId.valueOf(CPO_ID_INVALID_1);
+
+        assertThat(cpoId.isValid()).isFalse();
+        assertThatThrownBy(cpoId::toUuid)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(CPO_ID_INVALID_1);
+    }
+
+    @Test
+    @DisplayName("Should not allocate while rejecting CPO IDs")
+    void shouldNotAllocateWhenRejecting() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMxBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMxBean.isThreadAllocatedMemorySupported() && threadMxBean.isThreadAllocatedMemoryEnabled());
+        // NB: a valid ID allocates the UUID it parses to, see CpoId for how each is only parsed once
+        String[] cpoIds = {CPO_ID_VALID_1.substring(0, 35) + "g", CPO_ID_INVALID_1, CPO_ID_INVALID_NON_NUMERIC};
+
+        int valid = 0;
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMxBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < SAMPLES; i++) {
+            valid += CpoIdFormat.isValid(cpoIds[i % cpoIds.length]) ? 1 : 0;
+        }
+        long allocated = threadMxBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(valid).isZero();
+        // NB: leaves room for the odd allocation by the JIT or the measurement itself, but not one per call
+        assertThat(allocated).isLessThan(SAMPLES);
+    }
+
+}
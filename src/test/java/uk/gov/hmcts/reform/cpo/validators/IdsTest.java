@@ -33,16 +33,20 @@ class IdsTest implements BaseTest {
 
     @Test
     void passForValidIds() {
-        final String[] testedData = {CPO_ID_VALID_1, CPO_ID_VALID_2, CPO_ID_VALID_3};
+        final CpoId[] testedData = {
+            CpoId.valueOf(CPO_ID_VALID_1),
+            CpoId.valueOf(CPO_ID_VALID_2),
+            CpoId.valueOf(CPO_ID_VALID_3)
+        };
 
-        final Optional<List<String>> valuesToBeTested = createInitialValuesList(testedData);
+        final Optional<List<CpoId>> valuesToBeTested = createInitialValuesList(testedData);
         final boolean result = idsValidator.isValid(valuesToBeTested, constraintValidatorContext);
         assertTrue("The values: " + Arrays.toString(testedData) + " should be valid", result);
     }
 
     @Test
     void passForEmptyIds() {
-        final Optional<List<String>> valuesToBeTested = Optional.empty();
+        final Optional<List<CpoId>> valuesToBeTested = Optional.empty();
         final boolean result = idsValidator.isValid(valuesToBeTested, constraintValidatorContext);
         assertTrue("The empty value should be valid", result);
     }
@@ -50,15 +54,19 @@ class IdsTest implements BaseTest {
     @Test
     void passForOneId() {
         final List<String> errors = new ArrayList<String>();
-        final String valueToBeTested = CPO_ID_VALID_1;
+        final CpoId valueToBeTested = CpoId.valueOf(CPO_ID_VALID_1);
         idsValidator.validate(valueToBeTested, errors);
         assertTrue("There should not be any error for " + valueToBeTested + " value.", errors.isEmpty());
     }
 
     @Test
     void failForInvalidIds() {
-        final String[] testedData = {CPO_ID_INVALID_NON_NUMERIC, CPO_ID_INVALID_1, CPO_ID_INVALID_2};
-        final Optional<List<String>> valuesToBeTested = createInitialValuesList(testedData);
+        final CpoId[] testedData = {
+            CpoId.valueOf(CPO_ID_INVALID_NON_NUMERIC),
+            CpoId.valueOf(CPO_ID_INVALID_1),
+            CpoId.valueOf(CPO_ID_INVALID_2)
+        };
+        final Optional<List<CpoId>> valuesToBeTested = createInitialValuesList(testedData);
         when(constraintValidatorContext.buildConstraintViolationWithTemplate(anyString())).thenReturn(
             constraintViolationBuilder);
         final boolean result = idsValidator.isValid(valuesToBeTested, constraintValidatorContext);
@@ -68,7 +76,7 @@ class IdsTest implements BaseTest {
     @Test
     void failForOneId() {
         final List<String> errors = new ArrayList<String>();
-        final String valueToBeTested = CPO_ID_INVALID_1;
+        final CpoId valueToBeTested = CpoId.valueOf(CPO_ID_INVALID_1);
         idsValidator.validate(valueToBeTested, errors);
         assertTrue("There should be any error for " + valueToBeTested + " value.", !errors.isEmpty());
     }
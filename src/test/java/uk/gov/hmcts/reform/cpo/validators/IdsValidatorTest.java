@@ -38,7 +38,8 @@ class IdsValidatorTest {
     @Test
     void testIsValidReturnsTrueWhenIdsAllValid() {
         assertTrue(idsValidator.isValid(
-                Optional.of(List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString())),
+                Optional.of(List.of(CpoId.valueOf(UUID.randomUUID().toString()),
+                                    CpoId.valueOf(UUID.randomUUID().toString()))),
                 constraintValidatorContext));
     }
 
@@ -47,20 +48,21 @@ class IdsValidatorTest {
         when(constraintValidatorContext.buildConstraintViolationWithTemplate(anyString()))
                 .thenReturn(constraintViolationBuilder);
         assertFalse(idsValidator.isValid(
-                Optional.of(List.of(UUID.randomUUID().toString(), INVALID_UUID)), constraintValidatorContext));
+                Optional.of(List.of(CpoId.valueOf(UUID.randomUUID().toString()), CpoId.valueOf(INVALID_UUID))),
+                constraintValidatorContext));
     }
 
     @Test
     void testValidateReturnsListOfErrorsWhenIdIsInvalid() {
         List<String> errors = new ArrayList<>();
-        idsValidator.validate(INVALID_UUID, errors);
+        idsValidator.validate(CpoId.valueOf(INVALID_UUID), errors);
         assertEquals(1, errors.size());
     }
 
     @Test
     void testValidateReturnsEmptyListOfErrorsWhenIdIsValid() {
         List<String> errors = new ArrayList<>();
-        idsValidator.validate(UUID.randomUUID().toString(), errors);
+        idsValidator.validate(CpoId.valueOf(UUID.randomUUID().toString()), errors);
         assertTrue(errors.isEmpty());
     }
 
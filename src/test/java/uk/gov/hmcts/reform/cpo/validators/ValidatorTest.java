@@ -30,6 +30,14 @@ class ValidatorTest implements BaseTest, Validator<String> {
             );
         }
 
+        @DisplayName("uses the parse result of a bound Case ID")
+        @Test
+        void usesParseResultOfBoundCaseId() {
+            assertTrue("Bound valid Case ID should validate as true", isValidCaseId(CaseId.valueOf(CASE_ID_VALID_1)));
+            assertFalse("Bound invalid Case ID should validate as false",
+                        isValidCaseId(CaseId.valueOf(CASE_ID_INVALID_LUHN)));
+        }
+
         @DisplayName("successfully flags null Case ID as invalid")
         @Test
         void successfullyFlagsNullCaseIdAsInvalid() {
@@ -90,6 +98,14 @@ class ValidatorTest implements BaseTest, Validator<String> {
             );
         }
 
+        @DisplayName("uses the parse result of a bound CPO ID")
+        @Test
+        void usesParseResultOfBoundCpoId() {
+            assertTrue("Bound valid CPO ID should validate as true", isValidCpoId(CpoId.valueOf(CPO_ID_VALID_1)));
+            assertFalse("Bound invalid CPO ID should validate as false",
+                        isValidCpoId(CpoId.valueOf(CPO_ID_INVALID_1)));
+        }
+
         @DisplayName("successfully flags null CPO ID as invalid")
         @Test
         void successfullyFlagsNullCpoIdAsInvalid() {